@@ -0,0 +1,93 @@
+package benchmarks;
+
+import models.configs.BoardFactory;
+import models.configs.GameConfig;
+import models.configs.GameConfigFactory;
+import models.configs.GameEngine;
+import models.interfaces.GeneralException;
+import models.interfaces.IBoard;
+import models.patterns.RandomUtils;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Engine, board size and starting pattern of a benchmark. Every GameEngine pairing is listed;
+// GridV1 has no working ruleset and is not one of them. Narrow the sweep with -p, e.g.
+// -p engine=V3,V4 -p size=large -p workload=random-0.3
+@State(Scope.Thread)
+public class BoardWorkload {
+
+  private static final long SEED = 42;
+
+  @Param({"V2", "V3", "V4", "V4_STRIPED", "V4_BLOCK_TABLE", "V5", "V6", "V7", "V8", "V8_SIMD",
+      "V9", "V10"})
+  public String engine;
+
+  // the CliArgs --size presets, then two boards beyond them
+  @Param({"small", "medium", "large", "fullscreen", "4k", "8k"})
+  public String size;
+
+  @Param({"random-0.1", "random-0.3", "random-0.5", "glider", "pulsar", "gospel-gun"})
+  public String workload;
+
+  // Builds a fresh board; the same parameters always give the same starting cells.
+  public Game newGame() throws GeneralException {
+    RandomUtils.setSeed(SEED);
+    GameConfig gameConfig = buildConfig(rows(), columns(), GameEngine.valueOf(engine));
+    return new Game(gameConfig, BoardFactory.createBoard(gameConfig));
+  }
+
+  private GameConfig buildConfig(int rows, int columns, GameEngine gameEngine) {
+    switch (workload) {
+      case "glider":
+        return GameConfigFactory.gliderConfig(0.5, rows, columns, 30, gameEngine);
+      case "pulsar":
+        return GameConfigFactory.pulsarConfig(0.5, rows, columns, 30, gameEngine);
+      case "gospel-gun":
+        return GameConfigFactory.simpleGospelGunConfig(0.5, rows, columns, 30, gameEngine);
+      default:
+        double density = Double.parseDouble(workload.substring("random-".length()));
+        return GameConfigFactory.simpleRandomConfig(density, rows, columns, 30, gameEngine);
+    }
+  }
+
+  private int rows() {
+    return dimensions()[0];
+  }
+
+  private int columns() {
+    return dimensions()[1];
+  }
+
+  private int[] dimensions() {
+    switch (size) {
+      case "small":      return new int[]{54, 96};
+      case "medium":     return new int[]{180, 320};
+      case "large":      return new int[]{360, 640};
+      case "fullscreen": return new int[]{540, 960};
+      case "4k":         return new int[]{1080, 1920};
+      default:           return new int[]{2160, 3840};
+    }
+  }
+
+  // Close it once measured: the striped engine's pool and V9's off-heap chunks are only freed then.
+  public static class Game implements AutoCloseable {
+    public final GameConfig gameConfig;
+    public final IBoard board;
+
+    Game(GameConfig gameConfig, IBoard board) {
+      this.gameConfig = gameConfig;
+      this.board = board;
+    }
+
+    public int step() {
+      return gameConfig.getRuleset().updateState(board).size();
+    }
+
+    @Override
+    public void close() {
+      gameConfig.getRuleset().close();
+      board.close();
+    }
+  }
+}
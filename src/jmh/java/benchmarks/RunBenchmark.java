@@ -0,0 +1,53 @@
+package benchmarks;
+
+import benchmarks.BoardWorkload.Game;
+import java.util.concurrent.TimeUnit;
+import models.interfaces.GeneralException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Time of N generations from the same starting board, rebuilt (untimed) before every invocation,
+// so soups that settle over the run are measured the same way every time.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RunBenchmark {
+
+  @Param({"100"})
+  public int generations;
+
+  private Game game;
+
+  @Setup(Level.Invocation)
+  public void setUp(BoardWorkload workload) throws GeneralException {
+    game = workload.newGame();
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() {
+    game.close();
+  }
+
+  @Benchmark
+  public long runGenerations() {
+    long flips = 0;
+    for (int generation = 0; generation < generations; generation++) {
+      flips += game.step();
+    }
+    return flips;
+  }
+}
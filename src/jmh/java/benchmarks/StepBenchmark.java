@@ -0,0 +1,45 @@
+package benchmarks;
+
+import benchmarks.BoardWorkload.Game;
+import java.util.concurrent.TimeUnit;
+import models.interfaces.GeneralException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Time of a single generation. The board is rebuilt before every iteration, so each iteration
+// measures the first generations of the workload rather than a board that has long settled.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StepBenchmark {
+
+  private Game game;
+
+  @Setup(Level.Iteration)
+  public void setUp(BoardWorkload workload) throws GeneralException {
+    game = workload.newGame();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    game.close();
+  }
+
+  @Benchmark
+  public int stepOneGeneration() {
+    return game.step();
+  }
+}
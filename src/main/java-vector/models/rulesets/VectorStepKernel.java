@@ -0,0 +1,83 @@
+package models.rulesets;
+
+import java.util.Arrays;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Steps {@code SPECIES.length()} cells per iteration (32 on AVX2, 64 on AVX-512). The eight
+ * neighbour rows are loaded as unaligned byte vectors and summed lane-wise, and the rule is
+ * applied with one lane-wise compare per birth or survival count taken from the table. Only
+ * built by the {@code vector} Maven profile; see {@link StepKernels}.
+ */
+public class VectorStepKernel implements StepKernel {
+
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+  private final ScalarStepKernel tail;
+  private final byte[] birthCounts;
+  private final byte[] survivalCounts;
+
+  public VectorStepKernel(byte[] nextStateTable) {
+    if (SPECIES.length() > 64) {
+      // flipped lanes are read back through VectorMask.toLong()
+      throw new UnsupportedOperationException("More than 64 byte lanes: " + SPECIES.length());
+    }
+    tail = new ScalarStepKernel(nextStateTable);
+    birthCounts = countsLeadingTo(nextStateTable, 0);
+    survivalCounts = countsLeadingTo(nextStateTable, 9);
+  }
+
+  @Override
+  public int stepRow(byte[] cells, byte[] nextCells, int rowStart, int length, int stride,
+      int[] flippedIndexes, int flippedCount) {
+    int lanes = SPECIES.length();
+    int vectorEnd = rowStart + SPECIES.loopBound(length);
+    int i = rowStart;
+    for (; i < vectorEnd; i += lanes) {
+      int above = i - stride, below = i + stride;
+      ByteVector liveNeighbours = ByteVector.fromArray(SPECIES, cells, above - 1)
+          .add(ByteVector.fromArray(SPECIES, cells, above))
+          .add(ByteVector.fromArray(SPECIES, cells, above + 1))
+          .add(ByteVector.fromArray(SPECIES, cells, i - 1))
+          .add(ByteVector.fromArray(SPECIES, cells, i + 1))
+          .add(ByteVector.fromArray(SPECIES, cells, below - 1))
+          .add(ByteVector.fromArray(SPECIES, cells, below))
+          .add(ByteVector.fromArray(SPECIES, cells, below + 1));
+      ByteVector state = ByteVector.fromArray(SPECIES, cells, i);
+      VectorMask<Byte> alive = state.compare(VectorOperators.NE, 0);
+      VectorMask<Byte> next = anyEqual(liveNeighbours, survivalCounts).and(alive)
+          .or(anyEqual(liveNeighbours, birthCounts).andNot(alive));
+      ByteVector.zero(SPECIES).blend(1, next).intoArray(nextCells, i);
+      long flipped = next.eq(alive).not().toLong();
+      while (flipped != 0) {
+        flippedIndexes[flippedCount++] = i + Long.numberOfTrailingZeros(flipped);
+        flipped &= flipped - 1;
+      }
+    }
+    return tail.stepRow(cells, nextCells, i, rowStart + length - i, stride,
+        flippedIndexes, flippedCount);
+  }
+
+  private static VectorMask<Byte> anyEqual(ByteVector liveNeighbours, byte[] counts) {
+    VectorMask<Byte> mask = SPECIES.maskAll(false);
+    for (byte count : counts) {
+      mask = mask.or(liveNeighbours.compare(VectorOperators.EQ, count));
+    }
+    return mask;
+  }
+
+  // The neighbour counts whose table entry at offset + count is alive.
+  private static byte[] countsLeadingTo(byte[] nextStateTable, int offset) {
+    int found = 0;
+    byte[] counts = new byte[9];
+    for (int count = 0; count <= 8; count++) {
+      if (nextStateTable[offset + count] != 0) {
+        counts[found++] = (byte) count;
+      }
+    }
+    return Arrays.copyOf(counts, found);
+  }
+}
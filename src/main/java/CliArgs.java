@@ -1,3 +1,9 @@
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import models.configs.GameEngine;
+import models.grid.Topology;
+import models.rulesets.Rule;
+
 public class CliArgs {
 
     public final String pattern;  // random | glider | pulsar | gospel-gun
@@ -7,8 +13,28 @@ public class CliArgs {
     public final int cols;
     public final int rows;
     public final String colors;   // classic | matrix | fire | ice
+    public final String onCycle;  // run | stop | replay
+    public final String render;   // full | dirty
+    public final int generationsPerFrame;  // 0 = as fast as the engine goes
+    public final String display;  // window | braille | half-block
+    public final String load;     // .rle, .mc or .ckpt file to start from, or null
+    public final String save;     // .rle, .mc or .ckpt file --headless writes the final board to, or null
+    public final long checkpointEvery;  // 0 = only at the end
+    public final String record;   // .flips file every generation's flips are logged to, or null
+    public final String replay;   // .flips file to play back instead of simulating, or null
+    public final long replayFrom; // generation of the log to start playing at
+    public final Rule rule;
+    public final Topology topology;  // null = bounded, or the checkpoint's with --load file.ckpt
+    public final GameEngine engine;
+    public final boolean headless;
+    public final long generations;
+    public final int latencyEvery;  // 0 = only on exit
 
-    private CliArgs(String pattern, double density, int fps, String size, int cols, int rows, String colors) {
+    private CliArgs(String pattern, double density, int fps, String size, int cols, int rows, String colors,
+                    String onCycle, String render, int generationsPerFrame, String display,
+                    String load, String save, long checkpointEvery, String record, String replay,
+                    long replayFrom, Rule rule, Topology topology, GameEngine engine, boolean headless, long generations,
+                    int latencyEvery) {
         this.pattern = pattern;
         this.density = density;
         this.fps = fps;
@@ -16,6 +42,22 @@ public class CliArgs {
         this.cols = cols;
         this.rows = rows;
         this.colors = colors;
+        this.onCycle = onCycle;
+        this.render = render;
+        this.generationsPerFrame = generationsPerFrame;
+        this.display = display;
+        this.load = load;
+        this.save = save;
+        this.checkpointEvery = checkpointEvery;
+        this.record = record;
+        this.replay = replay;
+        this.replayFrom = replayFrom;
+        this.rule = rule;
+        this.topology = topology;
+        this.engine = engine;
+        this.headless = headless;
+        this.generations = generations;
+        this.latencyEvery = latencyEvery;
     }
 
     public static CliArgs parse(String[] args) {
@@ -26,6 +68,22 @@ public class CliArgs {
         int cols = -1;
         int rows = -1;
         String colors = "classic";
+        String onCycle = "run";
+        String render = "full";
+        int generationsPerFrame = 1;
+        String display = "window";
+        String load = null;
+        String save = null;
+        long checkpointEvery = 0;
+        String record = null;
+        String replay = null;
+        long replayFrom = 0;
+        Rule rule = Rule.CONWAY;
+        Topology topology = null;
+        GameEngine engine = GameEngine.V3;
+        boolean headless = false;
+        long generations = 1000;
+        int latencyEvery = 0;
 
         for (int i = 0; i < args.length; i++) {
             String arg = args[i];
@@ -33,6 +91,10 @@ public class CliArgs {
                 printHelp();
                 System.exit(0);
             }
+            if (arg.equals("--headless")) {
+                headless = true;
+                continue;
+            }
             if (i + 1 >= args.length) {
                 System.err.println("Missing value for flag: " + arg);
                 System.exit(1);
@@ -53,6 +115,37 @@ public class CliArgs {
                     rows = parsePositiveInt(value, "--rows"); break;
                 case "--colors": case "-c":
                     colors = validateColors(value); break;
+                case "--rule": case "-r":
+                    rule = validateRule(value); break;
+                case "--topology": case "-t":
+                    topology = validateTopology(value); break;
+                case "--engine": case "-e":
+                    engine = validateEngine(value); break;
+                case "--generations": case "-g":
+                    generations = parsePositiveInt(value, "--generations"); break;
+                case "--on-cycle":
+                    onCycle = validateOnCycle(value); break;
+                case "--render":
+                    render = validateRender(value); break;
+                case "--display":
+                    display = validateDisplay(value); break;
+                case "--load":
+                    load = validatePatternFile(value); break;
+                case "--save":
+                    save = validatePatternFile(value); break;
+                case "--record":
+                    record = validateFlipLog(value); break;
+                case "--replay":
+                    replay = validateFlipLog(value); break;
+                case "--replay-from":
+                    replayFrom = parsePositiveInt(value, "--replay-from"); break;
+                case "--checkpoint-every":
+                    checkpointEvery = parsePositiveInt(value, "--checkpoint-every"); break;
+                case "--generations-per-frame":
+                    generationsPerFrame = value.equals("max")
+                        ? 0 : parsePositiveInt(value, "--generations-per-frame"); break;
+                case "--latency-every":
+                    latencyEvery = parsePositiveInt(value, "--latency-every"); break;
                 default:
                     System.err.println("Unknown flag: " + arg);
                     printHelp();
@@ -60,11 +153,26 @@ public class CliArgs {
             }
         }
 
+        if (!engine.supports(rule)) {
+            System.err.println("Rule " + rule + (rule.isTotalistic()
+                ? " turns empty space alive; --engine " + engineName(engine) + " only steps cells near activity."
+                : " depends on where the live neighbours are; --engine " + engineName(engine) + " only counts them.")
+                + " Use one of: " + engineNames(rule));
+            System.exit(1);
+        }
+        if (topology != null) {
+            requireSupported(engine, topology);
+        }
+        if (checkpointEvery > 0 && (save == null || !save.toLowerCase().endsWith(".ckpt"))) {
+            System.err.println("--checkpoint-every needs --save <file.ckpt>");
+            System.exit(1);
+        }
+
         int[] preset = sizePreset(size);
         if (cols == -1) cols = preset[0];
         if (rows == -1) rows = preset[1];
 
-        return new CliArgs(pattern, density, fps, size, cols, rows, colors);
+        return new CliArgs(pattern, density, fps, size, cols, rows, colors, onCycle, render, generationsPerFrame, display, load, save, checkpointEvery, record, replay, replayFrom, rule, topology, engine, headless, generations, latencyEvery);
     }
 
     private static String validatePattern(String v) {
@@ -116,6 +224,112 @@ public class CliArgs {
         }
     }
 
+    private static String validateOnCycle(String v) {
+        switch (v) {
+            case "run": case "stop": case "replay": return v;
+            default:
+                System.err.println("Invalid --on-cycle: " + v + ". Must be: run, stop, replay");
+                System.exit(1); return null;
+        }
+    }
+
+    private static String validateRender(String v) {
+        switch (v) {
+            case "full": case "dirty": return v;
+            default:
+                System.err.println("Invalid --render: " + v + ". Must be: full, dirty");
+                System.exit(1); return null;
+        }
+    }
+
+    private static String validateDisplay(String v) {
+        switch (v) {
+            case "window": case "braille": case "half-block": return v;
+            default:
+                System.err.println("Invalid --display: " + v + ". Must be: window, braille, half-block");
+                System.exit(1); return null;
+        }
+    }
+
+    private static String validatePatternFile(String v) {
+        String lower = v.toLowerCase();
+        if (!lower.endsWith(".rle") && !lower.endsWith(".mc") && !lower.endsWith(".ckpt")) {
+            System.err.println("Invalid pattern file: " + v + ". Must end in .rle, .mc or .ckpt");
+            System.exit(1); return null;
+        }
+        return v;
+    }
+
+    private static String validateFlipLog(String v) {
+        if (!v.toLowerCase().endsWith(".flips")) {
+            System.err.println("Invalid flip log: " + v + ". Must end in .flips");
+            System.exit(1); return null;
+        }
+        return v;
+    }
+
+    private static Rule validateRule(String v) {
+        try {
+            return Rule.parse(v);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid --rule: " + e.getMessage());
+            System.exit(1); return null;
+        }
+    }
+
+    // Exits unless the engine can run on the topology; Main also checks one read from a checkpoint.
+    static void requireSupported(GameEngine engine, Topology topology) {
+        if (!engine.supports(topology)) {
+            System.err.println("--engine " + engineName(engine) + " has hard edges and cannot run on a "
+                + topologyName(topology) + ". Use one of: " + engineNames(topology));
+            System.exit(1);
+        }
+    }
+
+    private static Topology validateTopology(String v) {
+        for (Topology topology : Topology.values()) {
+            if (topologyName(topology).equals(v)) return topology;
+        }
+        System.err.println("Invalid --topology: " + v + ". Must be: bounded, torus, klein-bottle");
+        System.exit(1); return null;
+    }
+
+    // Topology.KLEIN_BOTTLE is spelled klein-bottle on the command line
+    private static String topologyName(Topology topology) {
+        return topology.name().toLowerCase().replace('_', '-');
+    }
+
+    private static GameEngine validateEngine(String v) {
+        for (GameEngine engine : GameEngine.values()) {
+            if (engineName(engine).equals(v)) return engine;
+        }
+        System.err.println("Invalid --engine: " + v + ". Must be: " + engineNames());
+        System.exit(1); return null;
+    }
+
+    // GameEngine.V4_STRIPED is spelled v4-striped on the command line
+    private static String engineName(GameEngine engine) {
+        return engine.name().toLowerCase().replace('_', '-');
+    }
+
+    private static String engineNames() {
+        return engineNames(Rule.CONWAY);
+    }
+
+    private static String engineNames(Rule rule) {
+        return Arrays.stream(GameEngine.values())
+            .filter(engine -> engine.supports(rule))
+            .map(CliArgs::engineName)
+            .collect(Collectors.joining(", "));
+    }
+
+    private static String engineNames(Topology topology) {
+        return Arrays.stream(GameEngine.values())
+            .filter(engine -> engine.supports(topology))
+            .map(CliArgs::engineName)
+            .collect(Collectors.joining(", "));
+    }
+
     private static int parsePositiveInt(String v, String flag) {
         try {
             int n = Integer.parseInt(v);
@@ -142,14 +356,32 @@ public class CliArgs {
         System.out.println("Usage: Main [options]");
         System.out.println();
         System.out.println("Options:");
-        System.out.println("  -p, --pattern   <random|glider|pulsar|gospel-gun>  Starting pattern (default: random)");
-        System.out.println("  -d, --density   <0.0-1.0>                          Fraction of alive cells (default: 0.2)");
-        System.out.println("  -f, --fps       <1-120>                            Frames per second (default: 30)");
-        System.out.println("  -s, --size      <small|medium|large|fullscreen>    Grid size preset (default: fullscreen)");
-        System.out.println("      --cols      <int>                              Raw column count (overrides --size)");
-        System.out.println("      --rows      <int>                              Raw row count (overrides --size)");
-        System.out.println("  -c, --colors    <classic|matrix|fire|ice>          Colour theme (default: classic)");
-        System.out.println("  -h, --help                                         Show this help");
+        System.out.println("  -p, --pattern     <random|glider|pulsar|gospel-gun>  Starting pattern (default: random)");
+        System.out.println("  -d, --density     <0.0-1.0>                          Fraction of alive cells (default: 0.2)");
+        System.out.println("  -f, --fps         <1-120>                            Frames per second (default: 30)");
+        System.out.println("  -s, --size        <small|medium|large|fullscreen>    Grid size preset (default: fullscreen)");
+        System.out.println("      --cols        <int>                              Raw column count (overrides --size)");
+        System.out.println("      --rows        <int>                              Raw row count (overrides --size)");
+        System.out.println("  -c, --colors      <classic|matrix|fire|ice>          Colour theme (default: classic)");
+        System.out.println("  -e, --engine      <v2|v3|v4|...>                     Grid + ruleset pairing (default: v3)");
+        System.out.println("  -r, --rule        <B3/S23|B36/S23|B2-a/S12|...>      Birth/survival neighbour counts, optionally with");
+        System.out.println("                                                       Hensel letters (v8-isotropic only) (default: B3/S23)");
+        System.out.println("  -t, --topology    <bounded|torus|klein-bottle>       How the board edges join (default: bounded; torus and");
+        System.out.println("                                                       klein-bottle on v2, v3, v8, v8-simd, v8-isotropic, v10)");
+        System.out.println("      --headless                                       Run without a window or fps limit, then report throughput");
+        System.out.println("  -g, --generations <int>                              Generations to run with --headless (default: 1000)");
+        System.out.println("      --on-cycle    <run|stop|replay>                  When the board turns static or periodic (default: run)");
+        System.out.println("      --render      <full|dirty>                       Repaint every cell, or only flipped ones (default: full)");
+        System.out.println("      --display     <window|braille|half-block>        Draw in a window or the terminal (default: window)");
+        System.out.println("      --load        <file.rle|file.mc|file.ckpt>       Start from a pattern file or checkpoint (overrides --pattern)");
+        System.out.println("      --save        <file.rle|file.mc|file.ckpt>       With --headless, write the final board to a pattern file or checkpoint");
+        System.out.println("      --checkpoint-every <int>                         With --save file.ckpt, also checkpoint every n generations");
+        System.out.println("      --record      <file.flips>                       Log every generation's flipped cells");
+        System.out.println("      --replay      <file.flips>                       Play back a flip log instead of running the rules");
+        System.out.println("      --replay-from <int>                              Generation of the log to start playing at (default: 0)");
+        System.out.println("      --generations-per-frame <int|max>                Simulation speed relative to --fps (default: 1)");
+        System.out.println("      --latency-every <int>                            Print render/update latencies every n frames, not only on exit");
+        System.out.println("  -h, --help                                           Show this help");
         System.out.println();
         System.out.println("Size presets (cols x rows):");
         System.out.println("  small       96 x 54    (~20px cells at 1920x1080)");
@@ -163,10 +395,34 @@ public class CliArgs {
         System.out.println("  fire       Red, orange, yellow");
         System.out.println("  ice        Cyan, white, light blue");
         System.out.println();
+        System.out.println("Engines:");
+        System.out.println("  " + engineNames());
+        System.out.println("  (GridV1 has no working ruleset pairing and cannot be selected)");
+        System.out.println();
+        System.out.println("On cycle:");
+        System.out.println("  run        Keep stepping the engine");
+        System.out.println("  stop       Stop stepping and keep showing the last frame");
+        System.out.println("  replay     Stop stepping and loop the detected cycle (up to period 64)");
+        System.out.println();
         System.out.println("Examples:");
         System.out.println("  Main");
         System.out.println("  Main --pattern glider --size medium --fps 60");
         System.out.println("  Main -p random -d 0.5 -f 10 -c fire");
         System.out.println("  Main --pattern pulsar --size small -c matrix");
+        System.out.println("  Main -d 0.3 --on-cycle replay");
+        System.out.println("  Main --pattern glider --render dirty");
+        System.out.println("  Main --rule B36/S23 -d 0.1");
+        System.out.println("  Main --rule B3678/S34678 -d 0.5 --engine v8");
+        System.out.println("  Main --rule B2-a/S12 -d 0.05 --engine v8-isotropic");
+        System.out.println("  Main --pattern glider --topology torus --engine v8");
+        System.out.println("  Main --engine v4 --generations-per-frame max");
+        System.out.println("  Main --display braille --cols 160 --rows 96");
+        System.out.println("  Main --load breeder.rle --headless --generations 1000 --save breeder-1000.rle");
+        System.out.println("  Main --load metapixel.mc --engine v5 --headless --generations 4096 --save later.mc");
+        System.out.println("  Main --pattern gospel-gun --record demo.flips");
+        System.out.println("  Main --replay demo.flips --replay-from 5000 --generations-per-frame max");
+        System.out.println("  Main --headless --generations 1000000 --save run.ckpt --checkpoint-every 10000");
+        System.out.println("  Main --load run.ckpt --headless --generations 1000000 --save run.ckpt --checkpoint-every 10000");
+        System.out.println("  Main --headless --engine v4 --generations 5000 --size large");
     }
 }
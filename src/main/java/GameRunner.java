@@ -1,57 +1,158 @@
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
+import models.configs.BoardFactory;
+import models.configs.DisplayMode;
 import models.configs.GameConfig;
+import models.configs.OnCycle;
+import models.cycles.CycleDetector;
+import models.cycles.ZobristHash;
+import models.displays.GameDisplay;
 import models.displays.GridDisplay;
-import models.grid.GridV1;
-import models.grid.GridV2;
-import models.grid.GridV3;
+import models.displays.TerminalDisplay;
+import models.displays.TerminalDisplay.Glyphs;
+import models.events.GenerationEvent;
+import models.events.RenderEvent;
 import models.interfaces.GeneralException;
 import models.interfaces.GridCoordinate;
 import models.interfaces.IBoard;
-import utils.TimeUtil;
+import models.patterns.FlipLogReader;
+import models.patterns.FlipLogWriter;
+import utils.LatencyHistogram;
+import utils.TripleBuffer;
 
+// Runs the simulation on its own thread and renders on the calling one. The simulation steps as
+// fast as it can, or at a fixed number of generations per frame, and publishes every generation to
+// the display; the render loop wakes fps times a second and draws the newest published frame.
 public class GameRunner {
   private GameConfig gameConfig;
   private IBoard board;
-  private GridDisplay gameDisplay;
-  private TimeUtil runGameTimer;
-  private TimeUtil updateStateTimer;
-  private static boolean DEBUG_ENABLED = false;
+  private GameDisplay gameDisplay;
+  // stdout carries the frames when drawing in the terminal, so messages go to stderr then
+  private PrintStream messages = System.out;
+  // Copies of the simulation thread's histograms, published when a report is wanted. The render
+  // thread prints them next to its own, so neither reads a histogram the other is recording into.
+  private TripleBuffer<LatencyHistogram[]> simulationLatencies = new TripleBuffer<>(
+      () -> new LatencyHistogram[] {
+          new LatencyHistogram("update"), new LatencyHistogram("next frame")});
+  private volatile boolean latenciesWanted;
+  // set by the shutdown hook, and counted down once the render thread has printed its report
+  private volatile CountDownLatch exitReport;
+  // render thread
+  private LatencyHistogram renderLatency = new LatencyHistogram("render");
   private long framesRendered = 0;
   private long waitTimeBetweenFrames;
-
+  // simulation thread, from here down
+  private LatencyHistogram updateLatency = new LatencyHistogram("update");
+  private LatencyHistogram nextFrameLatency = new LatencyHistogram("next frame");
+  private long generation = 0;
+  private String engineName;
+  private long nanosPerFrame;
+  private long nanosPerGeneration;
+  private ZobristHash boardHash;
+  private CycleDetector cycleDetector;
+  // flips of the most recent generations, newest last, for replaying a detected cycle
+  private Deque<List<GridCoordinate>> recentFlips;
+  private List<List<GridCoordinate>> cycleFlips;
+  private int replayFrame;
+  private boolean stepping = true;
+  // set when replaying a flip log instead of stepping a board
+  private FlipLogReader replay;
+  // set while recording this run's flips
+  private FlipLogWriter recorder;
 
   public GameRunner(GameConfig gameConfig) throws GeneralException {
     this.gameConfig = gameConfig;
-    initializeGrid();
+    replay = gameConfig.getReplay();
+    if (replay == null) {
+      initializeGrid();
+      initializeRecorder();
+    }
     initializeDisplay();
-    runGameTimer = new TimeUtil();
-    updateStateTimer = new TimeUtil();
+    engineName = replay != null ? "replay" : gameConfig.getGridClass().getSimpleName() + " + "
+        + gameConfig.getRuleset().getClass().getSimpleName();
     waitTimeBetweenFrames = 1000/gameConfig.getFps();
+    nanosPerFrame = TimeUnit.SECONDS.toNanos(1) / gameConfig.getFps();
+    nanosPerGeneration = gameConfig.getGenerationsPerFrame() == 0
+        ? 0 : nanosPerFrame / gameConfig.getGenerationsPerFrame();
+    initializeCycleDetection();
+  }
+
+  private void initializeCycleDetection() {
+    if (gameConfig.getOnCycle() == OnCycle.RUN || replay != null) {
+      return;
+    }
+    boardHash = new ZobristHash();
+    boardHash.reset(board.getAliveCellsLocations());
+    cycleDetector = new CycleDetector();
+    cycleDetector.record(boardHash.getHash());
+    recentFlips = new ArrayDeque<>();
   }
 
   private void initializeDisplay() {
-    gameDisplay = new GridDisplay();
+    gameDisplay = newDisplay();
     gameDisplay.initialize(
         gameConfig.getRows(), gameConfig.getColumns(),
-        board.getAliveCellsLocations(),
+        replay != null ? replay.getCells() : board.getAliveCellsLocations(),
         gameConfig.getWidth(), gameConfig.getHeight());
   }
 
-  private void initializeGrid() throws GeneralException {
-    if (gameConfig.getGridClass().equals(GridV1.class)) {
-      board = new GridV1(gameConfig.getBoardConfig());
+  private GameDisplay newDisplay() {
+    if (gameConfig.getDisplayMode() == DisplayMode.WINDOW) {
+      return new GridDisplay(gameConfig.getRenderMode());
     }
-    else if (gameConfig.getGridClass().equals(GridV2.class)) {
-      board = new GridV2(gameConfig.getBoardConfig());
+    TerminalDisplay terminalDisplay = new TerminalDisplay(
+        gameConfig.getDisplayMode() == DisplayMode.BRAILLE ? Glyphs.BRAILLE : Glyphs.HALF_BLOCK,
+        new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16));
+    Runtime.getRuntime().addShutdownHook(new Thread(terminalDisplay::close));
+    messages = System.err;
+    return terminalDisplay;
+  }
+
+  private void initializeGrid() throws GeneralException {
+    board = BoardFactory.createBoard(gameConfig);
+    Runtime.getRuntime().addShutdownHook(new Thread(gameConfig.getRuleset()::close));
+  }
+
+  private void initializeRecorder() {
+    if (gameConfig.getRecordPath() == null) {
+      return;
     }
-    else if (gameConfig.getGridClass().equals(GridV3.class)) {
-      board = new GridV3(gameConfig.getBoardConfig());
+    try {
+      recorder = new FlipLogWriter(
+          new BufferedOutputStream(Files.newOutputStream(gameConfig.getRecordPath()), 1 << 16),
+          gameConfig.getRows(), gameConfig.getColumns(), FlipLogWriter.DEFAULT_KEYFRAME_INTERVAL);
+      recorder.start(board);
+    } catch (IOException e) {
+      throw new UncheckedIOException(gameConfig.getRecordPath() + ": " + e.getMessage(), e);
     }
-    gameConfig.getRuleset().initializeBoardState(board, gameConfig.getBoardConfig());
+    FlipLogWriter flushed = recorder;
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        flushed.flush();
+      } catch (IOException e) {
+        System.err.println("Recording not flushed: " + e.getMessage());
+      }
+    }));
   }
 
   public void runGame() {
+    Thread simulation = new Thread(this::runSimulation, "simulation");
+    simulation.setDaemon(true);
+    simulation.start();
     long endMs = 0, startMs;
     do {
       startMs = System.currentTimeMillis();
@@ -63,31 +164,183 @@ public class GameRunner {
           e.printStackTrace();
         }
       }
-      runGameTimer.tick();
-      gameDisplay.render();
-      if (shouldLogThisFrame()) {
-        runGameTimer.logTime("Time Elapsed to Render frame : ");
+      endMs = System.currentTimeMillis();
+      if (simulationLatencies.refresh()) {
+        printLatencies(simulationLatencies.getReadBuffer());
+      }
+      // JFR events are small and short-lived; with recording off, begin/end/shouldCommit are
+      // no-ops and the JIT drops the allocation. The histograms never allocate.
+      RenderEvent renderEvent = new RenderEvent();
+      renderEvent.begin();
+      long phaseStartNs = System.nanoTime();
+      if (!gameDisplay.render()) {
+        continue;
       }
-      runGameTimer.tick();
-      List<GridCoordinate> updatedLocations = gameConfig.getRuleset().updateState(board)
-          .stream().map(cell -> (GridCoordinate) cell)
-          .collect(Collectors.toList());
+      renderLatency.record(System.nanoTime() - phaseStartNs);
+      commitRenderEvent(renderEvent, "render", 0);
 
-      if (shouldLogThisFrame()) {
-        runGameTimer.logTime("Time Elapsed to Update Cells : ");
+      framesRendered++;
+      if (gameConfig.getLatencyEvery() > 0 && framesRendered % gameConfig.getLatencyEvery() == 0) {
+        latenciesWanted = true;
       }
-      runGameTimer.tick();
-      gameDisplay.updateNextFrame(updatedLocations);
+    } while (true);
+  }
+
+  private void runSimulation() {
+    long deadlineNs = System.nanoTime();
+    do {
+      long phaseStartNs = System.nanoTime();
+      List<GridCoordinate> updatedLocations = nextFlips();
+      long updatedNs = System.nanoTime();
+      updateLatency.record(updatedNs - phaseStartNs);
 
-      if (shouldLogThisFrame()) {
-      runGameTimer.logTime("Time Elapsed to Update Next Frame : ");
+      RenderEvent renderEvent = new RenderEvent();
+      renderEvent.begin();
+      gameDisplay.updateNextFrame(updatedLocations);
+      nextFrameLatency.record(System.nanoTime() - updatedNs);
+      commitRenderEvent(renderEvent, "next frame", updatedLocations.size());
+      if (latenciesWanted) {
+        publishLatencies();
       }
-      endMs = System.currentTimeMillis();
-      framesRendered++;
+
+      deadlineNs = waitForNextGeneration(deadlineNs);
     } while (true);
   }
 
-  private boolean shouldLogThisFrame() {
-    return DEBUG_ENABLED && framesRendered % (2) == 0;
+  // Sleeps until the next generation is due and returns its deadline. A replayed cycle, or a board
+  // that has stopped, advances once per frame; otherwise generations follow generationsPerFrame,
+  // with 0 meaning no wait at all. A simulation that falls behind does not try to catch up.
+  private long waitForNextGeneration(long deadlineNs) {
+    long intervalNs = stepping ? nanosPerGeneration : nanosPerFrame;
+    if (intervalNs == 0) {
+      return deadlineNs;
+    }
+    long nowNs = System.nanoTime();
+    long nextDeadlineNs = Math.max(deadlineNs + intervalNs, nowNs - intervalNs);
+    while (nowNs < nextDeadlineNs) {
+      LockSupport.parkNanos(nextDeadlineNs - nowNs);
+      nowNs = System.nanoTime();
+    }
+    return nextDeadlineNs;
+  }
+
+  private List<GridCoordinate> nextFlips() {
+    if (cycleFlips != null) {
+      return cycleFlips.get(replayFrame++ % cycleFlips.size());
+    }
+    if (!stepping) {
+      return Collections.emptyList();
+    }
+    if (replay != null) {
+      return nextReplayedFlips();
+    }
+    GenerationEvent event = new GenerationEvent();
+    event.begin();
+    List<GridCoordinate> flips = gameConfig.getRuleset().updateState(board)
+        .stream().map(cell -> (GridCoordinate) cell)
+        .collect(Collectors.toList());
+    event.end();
+    generation++;
+    if (event.shouldCommit()) {
+      event.generation = generation;
+      event.flippedCells = flips.size();
+      event.engine = engineName;
+      event.commit();
+    }
+    if (cycleDetector != null) {
+      detectCycle(flips);
+    }
+    if (recorder != null) {
+      record(flips);
+    }
+    return flips;
+  }
+
+  private List<GridCoordinate> nextReplayedFlips() {
+    List<GridCoordinate> flips = null;
+    try {
+      flips = replay.nextFlips();
+    } catch (IOException e) {
+      System.err.println("Replay stopped: " + e.getMessage());
+    }
+    if (flips == null) {
+      messages.println("Replay finished at generation " + replay.getGeneration());
+      stepping = false;
+      return Collections.emptyList();
+    }
+    return flips;
+  }
+
+  private void record(List<GridCoordinate> flips) {
+    try {
+      recorder.record(flips, board);
+    } catch (IOException e) {
+      System.err.println("Recording stopped: " + e.getMessage());
+      recorder = null;
+    }
+  }
+
+  private void detectCycle(List<GridCoordinate> flips) {
+    boardHash.update(flips);
+    recentFlips.addLast(flips);
+    if (recentFlips.size() > cycleDetector.getMaxPeriod()) {
+      recentFlips.removeFirst();
+    }
+    int period = cycleDetector.record(boardHash.getHash());
+    if (period == 0) {
+      return;
+    }
+    messages.println("Board is " + (period == 1 ? "static" : "periodic with period " + period)
+        + " after " + (cycleDetector.getGeneration() - 1) + " generations");
+    stepping = false;
+    if (gameConfig.getOnCycle() == OnCycle.REPLAY && period > 1) {
+      List<List<GridCoordinate>> history = new ArrayList<>(recentFlips);
+      cycleFlips = history.subList(history.size() - period, history.size());
+    }
+  }
+
+  private void commitRenderEvent(RenderEvent event, String phase, int flippedCells) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.frame = framesRendered;
+      event.phase = phase;
+      event.flippedCells = flippedCells;
+      event.commit();
+    }
+  }
+
+  // Shutdown hook: asks for one last report and gives the two threads a second to print it.
+  public void logLatencies() {
+    CountDownLatch printed = new CountDownLatch(1);
+    exitReport = printed;
+    latenciesWanted = true;
+    try {
+      if (!printed.await(1, TimeUnit.SECONDS)) {
+        messages.println("Latencies not reported: the game loop did not answer in time");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // simulation thread
+  private void publishLatencies() {
+    latenciesWanted = false;
+    LatencyHistogram[] copies = simulationLatencies.getWriteBuffer();
+    copies[0].copyFrom(updateLatency);
+    copies[1].copyFrom(nextFrameLatency);
+    simulationLatencies.publish();
+  }
+
+  // render thread
+  private void printLatencies(LatencyHistogram[] simulation) {
+    messages.println(renderLatency.summary());
+    for (LatencyHistogram histogram : simulation) {
+      messages.println(histogram.summary());
+    }
+    CountDownLatch printed = exitReport;
+    if (printed != null) {
+      printed.countDown();
+    }
   }
 }
@@ -0,0 +1,207 @@
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import models.configs.BoardFactory;
+import models.configs.GameConfig;
+import models.interfaces.GeneralException;
+import models.grid.GridConfig;
+import models.grid.GridV5;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.ICell;
+import models.patterns.CheckpointWriter;
+import models.patterns.FlipLogReader;
+import models.patterns.FlipLogWriter;
+import models.patterns.MacrocellWriter;
+import models.patterns.RleWriter;
+import models.rulesets.GameOfLifeRuleset;
+import utils.LatencyHistogram;
+
+// Steps the configured engine for a fixed number of generations as fast as it can, without a
+// display or frame throttle, and reports throughput and peak memory at the end.
+public class HeadlessRunner {
+  private final GameConfig gameConfig;
+  private final long generations;
+  // where the final board is written as RLE, macrocell or a checkpoint, or null
+  private final Path savePath;
+  // generations between checkpoints written to savePath along the way, 0 for none
+  private final long checkpointEvery;
+  // generation the board starts at, non-zero when it was loaded from a checkpoint or a macrocell
+  // file that records one
+  private final long firstGeneration;
+
+  public HeadlessRunner(GameConfig gameConfig, long generations) {
+    this(gameConfig, generations, null, 0);
+  }
+
+  public HeadlessRunner(GameConfig gameConfig, long generations, Path savePath) {
+    this(gameConfig, generations, savePath, 0);
+  }
+
+  public HeadlessRunner(GameConfig gameConfig, long generations, Path savePath, long checkpointEvery) {
+    this.gameConfig = gameConfig;
+    this.generations = generations;
+    this.savePath = savePath;
+    this.checkpointEvery = checkpointEvery;
+    GridConfig gridConfig = gameConfig.getBoardConfig() instanceof GridConfig
+        ? (GridConfig) gameConfig.getBoardConfig() : null;
+    this.firstGeneration = gridConfig != null ? gridConfig.getGeneration() : 0;
+  }
+
+  public void run() throws GeneralException, IOException {
+    if (gameConfig.getReplay() != null) {
+      runReplay();
+      return;
+    }
+    long setupStartNs = System.nanoTime();
+    try (GameOfLifeRuleset ruleset = gameConfig.getRuleset();
+        IBoard board = BoardFactory.createBoard(gameConfig)) {
+      runSimulation(ruleset, board, System.nanoTime() - setupStartNs);
+    }
+  }
+
+  private void runSimulation(GameOfLifeRuleset ruleset, IBoard board, long setupNs)
+      throws GeneralException, IOException {
+    resetPeakUsage();
+
+    LatencyHistogram generationLatency = new LatencyHistogram("Generation latency ");
+    long cellsFlipped = 0;
+    long startNs, generationStartNs;
+    try (FlipLogWriter recorder = startRecording(board)) {
+      startNs = System.nanoTime();
+      generationStartNs = startNs;
+      for (long generation = 0; generation < generations; generation++) {
+        Collection<ICell> flips = ruleset.updateState(board);
+        cellsFlipped += flips.size();
+        if (recorder != null) {
+          recorder.record(flips, board);
+        }
+        long generationEndNs = System.nanoTime();
+        generationLatency.record(generationEndNs - generationStartNs);
+        generationStartNs = generationEndNs;
+        if (checkpointEvery > 0 && (generation + 1) % checkpointEvery == 0) {
+          save(board, firstGeneration + generation + 1);
+          // the checkpoint is not part of the next generation's latency, or of the run's time
+          startNs += System.nanoTime() - generationEndNs;
+          generationStartNs = System.nanoTime();
+        }
+      }
+    }
+    double seconds = (generationStartNs - startNs) / 1e9;
+
+    System.out.println(String.format("Engine             : %s + %s",
+        gameConfig.getGridClass().getSimpleName(), ruleset.getClass().getSimpleName()));
+    System.out.println(String.format("Board              : %d x %d", gameConfig.getRows(), gameConfig.getColumns()));
+    System.out.println(String.format("Setup              : %.1f ms", setupNs / 1e6));
+    if (firstGeneration > 0) {
+      System.out.println(String.format("Restored at        : generation %d", firstGeneration));
+    }
+    System.out.println(String.format("Generations        : %d in %.3f s", generations, seconds));
+    System.out.println(String.format("Generations/sec    : %.1f", generations / seconds));
+    System.out.println(String.format("Cells flipped/sec  : %.0f (%d flips in total)", cellsFlipped / seconds, cellsFlipped));
+    System.out.println(generationLatency.summary());
+    System.out.println(String.format("Peak heap          : %.1f MB", peakUsage(MemoryType.HEAP) / 1e6));
+    System.out.println(String.format("Peak non-heap      : %.1f MB", peakUsage(MemoryType.NON_HEAP) / 1e6));
+    System.out.println(String.format("Direct buffers     : %.1f MB at the end", directBufferUsage() / 1e6));
+    if (gameConfig.getRecordPath() != null) {
+      System.out.println(String.format("Recorded           : %s", gameConfig.getRecordPath()));
+    }
+    if (savePath != null) {
+      save(board, firstGeneration + generations);
+      System.out.println(String.format("Saved              : %s", savePath));
+    }
+  }
+
+  private FlipLogWriter startRecording(IBoard board) throws IOException {
+    if (gameConfig.getRecordPath() == null) {
+      return null;
+    }
+    FlipLogWriter recorder = new FlipLogWriter(
+        new BufferedOutputStream(Files.newOutputStream(gameConfig.getRecordPath()), 1 << 16),
+        gameConfig.getRows(), gameConfig.getColumns(), FlipLogWriter.DEFAULT_KEYFRAME_INTERVAL);
+    recorder.start(board);
+    return recorder;
+  }
+
+  // Reads up to the given number of generations from the flip log as fast as it decodes, without
+  // a board or ruleset, and reports the playback rate.
+  private void runReplay() throws IOException {
+    FlipLogReader replay = gameConfig.getReplay();
+    long firstReplayed = replay.getGeneration();
+    long replayed = 0, cellsFlipped = 0;
+    long startNs = System.nanoTime();
+    for (List<GridCoordinate> flips; replayed < generations && (flips = replay.nextFlips()) != null; ) {
+      cellsFlipped += flips.size();
+      replayed++;
+    }
+    double seconds = (System.nanoTime() - startNs) / 1e9;
+
+    System.out.println(String.format("Replay             : generations %d to %d", firstReplayed, firstReplayed + replayed));
+    System.out.println(String.format("Board              : %d x %d", gameConfig.getRows(), gameConfig.getColumns()));
+    System.out.println(String.format("Generations/sec    : %.1f", replayed / seconds));
+    System.out.println(String.format("Cells flipped/sec  : %.0f (%d flips in total)", cellsFlipped / seconds, cellsFlipped));
+  }
+
+  // Writes next to savePath and renames over it, so an interrupted save leaves the previous file.
+  private void save(IBoard board, long generation) throws GeneralException, IOException {
+    Path partPath = savePath.resolveSibling(savePath.getFileName() + ".part");
+    if (savePath.toString().toLowerCase().endsWith(".ckpt")) {
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partPath))) {
+        new CheckpointWriter(out).write(board, gameConfig.getRows(), gameConfig.getColumns(),
+            ((GridConfig) gameConfig.getBoardConfig()).getTopology(), generation);
+      }
+    } else {
+      savePattern(board, partPath, generation);
+    }
+    Files.move(partPath, savePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void savePattern(IBoard board, Path path, long generation) throws GeneralException, IOException {
+    try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      if (!savePath.toString().toLowerCase().endsWith(".mc")) {
+        new RleWriter(out).write(RleWriter.cellsOf(board), gameConfig.getRows(), gameConfig.getColumns(), gameConfig.getRule().toString());
+      } else if (board instanceof GridV5) {
+        new MacrocellWriter(out).write((GridV5) board, generation, gameConfig.getRule().toString());
+      } else {
+        // other grids have no quadtree; build one from their live cells
+        new MacrocellWriter(out).write(new GridV5(GridConfig.builder()
+            .rows(gameConfig.getRows())
+            .columns(gameConfig.getColumns())
+            .aliveCells(new ArrayList<>(board.getAliveCellsLocations()))
+            .build()), generation, gameConfig.getRule().toString());
+      }
+    }
+  }
+
+  private static long directBufferUsage() {
+    return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+        .filter(pool -> pool.getName().equals("direct"))
+        .mapToLong(BufferPoolMXBean::getMemoryUsed)
+        .sum();
+  }
+
+  private static void resetPeakUsage() {
+    ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+  }
+
+  // Sum of the per-pool peaks, an upper bound on the peak of the total since the pools can peak
+  // at different times.
+  private static long peakUsage(MemoryType type) {
+    return ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == type)
+        .mapToLong(pool -> pool.getPeakUsage().getUsed())
+        .sum();
+  }
+}
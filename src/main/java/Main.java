@@ -1,27 +1,99 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import models.configs.DisplayMode;
 import models.configs.GameConfig;
 import models.configs.GameConfigFactory;
+import models.configs.OnCycle;
+import models.configs.RenderMode;
+import models.grid.GridConfig;
 import models.interfaces.GeneralException;
+import models.rulesets.Rule;
 import utils.ColorUtils;
 
 public class Main {
 
-  public static void main(String[] args) throws GeneralException {
+  public static void main(String[] args) throws GeneralException, IOException {
     CliArgs cli = CliArgs.parse(args);
     ColorUtils.setTheme(cli.colors);
-    GameRunner gameRunner = new GameRunner(buildConfig(cli));
+    GameConfig gameConfig = withRuleAndTopology(buildConfig(cli), cli).toBuilder()
+        .onCycle(OnCycle.valueOf(cli.onCycle.toUpperCase()))
+        .renderMode(RenderMode.valueOf(cli.render.toUpperCase()))
+        .generationsPerFrame(cli.generationsPerFrame)
+        .latencyEvery(cli.latencyEvery)
+        .displayMode(DisplayMode.valueOf(cli.display.toUpperCase().replace('-', '_')))
+        .recordPath(cli.record == null ? null : Paths.get(cli.record))
+        .build();
+    if (cli.headless) {
+      new HeadlessRunner(gameConfig, cli.generations,
+          cli.save == null ? null : Paths.get(cli.save), cli.checkpointEvery).run();
+      return;
+    }
+    GameRunner gameRunner = new GameRunner(gameConfig);
+    Runtime.getRuntime().addShutdownHook(new Thread(gameRunner::logLatencies));
     gameRunner.runGame();
   }
 
+  // A flip log is played back without a board or ruleset, so only simulations take the rule and
+  // topology. Without --topology the board keeps the one its loader chose: a checkpoint's own, or
+  // bounded.
+  private static GameConfig withRuleAndTopology(GameConfig gameConfig, CliArgs cli) {
+    if (gameConfig.getReplay() != null) {
+      return gameConfig;
+    }
+    GridConfig gridConfig = (GridConfig) gameConfig.getBoardConfig();
+    if (cli.topology != null) {
+      gridConfig.setTopology(cli.topology);
+    }
+    CliArgs.requireSupported(cli.engine, gridConfig.getTopology());
+    warnIfRuleDiffers(gridConfig.getFileRule(), cli);
+    // the loader's ruleset has never stepped, so this frees nothing it started
+    gameConfig.getRuleset().close();
+    return gameConfig.toBuilder()
+        .rule(cli.rule)
+        .ruleset(cli.engine.newRuleset(cli.rule))
+        .build();
+  }
+
+  // A pattern file names the rule it was made for. Running it under another one is allowed, but
+  // is rarely what was meant.
+  private static void warnIfRuleDiffers(String fileRule, CliArgs cli) {
+    if (fileRule == null) {
+      return;
+    }
+    try {
+      // without a bounded-grid suffix such as :T100,100
+      if (Rule.parse(fileRule.split(":", 2)[0]).equals(cli.rule)) {
+        return;
+      }
+    } catch (IllegalArgumentException e) {
+      // a rule outside B/S notation, which cannot match --rule
+    }
+    System.err.println("Warning: " + cli.load + " is for rule " + fileRule + " but is running under "
+        + cli.rule + "; pass --rule to change it");
+  }
+
   private static GameConfig buildConfig(CliArgs cli) {
+    if (cli.replay != null) {
+      return GameConfigFactory.replayConfig(Paths.get(cli.replay), cli.replayFrom, cli.fps);
+    }
+    if (cli.load != null && cli.load.toLowerCase().endsWith(".ckpt")) {
+      return GameConfigFactory.checkpointFileConfig(Paths.get(cli.load), cli.fps, cli.engine);
+    }
+    if (cli.load != null && cli.load.toLowerCase().endsWith(".mc")) {
+      return GameConfigFactory.macrocellFileConfig(Paths.get(cli.load), cli.rows, cli.cols, cli.fps, cli.engine);
+    }
+    if (cli.load != null) {
+      return GameConfigFactory.rleFileConfig(Paths.get(cli.load), cli.rows, cli.cols, cli.fps, cli.engine);
+    }
     switch (cli.pattern) {
       case "glider":
-        return GameConfigFactory.gliderConfig(0.5, cli.rows, cli.cols, cli.fps);
+        return GameConfigFactory.gliderConfig(0.5, cli.rows, cli.cols, cli.fps, cli.engine);
       case "pulsar":
-        return GameConfigFactory.pulsarConfig(0.5, cli.rows, cli.cols, cli.fps);
+        return GameConfigFactory.pulsarConfig(0.5, cli.rows, cli.cols, cli.fps, cli.engine);
       case "gospel-gun":
-        return GameConfigFactory.simpleGospelGunConfig(0.5, cli.rows, cli.cols, cli.fps);
+        return GameConfigFactory.simpleGospelGunConfig(0.5, cli.rows, cli.cols, cli.fps, cli.engine);
       default:
-        return GameConfigFactory.simpleRandomConfig(cli.density, cli.rows, cli.cols, cli.fps);
+        return GameConfigFactory.simpleRandomConfig(cli.density, cli.rows, cli.cols, cli.fps, cli.engine);
     }
   }
 }
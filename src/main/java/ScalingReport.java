@@ -0,0 +1,57 @@
+import models.generation.config.strategy.RandomConfigStrategy;
+import models.grid.GridConfig;
+import models.grid.GridV4;
+import models.interfaces.GeneralException;
+import models.rulesets.ClassicRulesetStriped;
+
+// Prints generations/sec of ClassicRulesetStriped on a random board for 1, 2, 4 ... 32 threads.
+// Usage: ScalingReport [rows] [cols] [generations]
+public class ScalingReport {
+
+  private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+  private static final int JIT_WARMUP_GENERATIONS = 300;
+  private static final int WARMUP_GENERATIONS = 30;
+
+  public static void main(String[] args) throws GeneralException {
+    int rows = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+    int cols = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+    int generations = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+    GridConfig gridConfig = RandomConfigStrategy.builder()
+        .aliveProbability(0.3)
+        .build()
+        .getConfig(rows, cols);
+
+    System.out.println("Board " + rows + " x " + cols + ", " + generations + " generations, "
+        + Runtime.getRuntime().availableProcessors() + " cores available");
+    System.out.println(String.format("%8s %14s %9s", "threads", "generations/s", "speedup"));
+    // one untimed pass so the first row is not also paying for JIT compilation
+    try (ClassicRulesetStriped ruleset = new ClassicRulesetStriped(1)) {
+      time(ruleset, gridConfig, JIT_WARMUP_GENERATIONS);
+    }
+    double baseline = 0;
+    for (int threads : THREADS) {
+      double rate;
+      try (ClassicRulesetStriped ruleset = new ClassicRulesetStriped(threads)) {
+        rate = time(ruleset, gridConfig, generations);
+      }
+      if (baseline == 0) {
+        baseline = rate;
+      }
+      System.out.println(String.format("%8d %14.1f %8.2fx", threads, rate, rate / baseline));
+    }
+  }
+
+  // generations/sec over the given number of generations, after a short warm-up on the same board
+  private static double time(ClassicRulesetStriped ruleset, GridConfig gridConfig, int generations)
+      throws GeneralException {
+    GridV4 grid = new GridV4(gridConfig);
+    for (int i = 0; i < WARMUP_GENERATIONS; i++) {
+      ruleset.step(grid);
+    }
+    long startNs = System.nanoTime();
+    for (int i = 0; i < generations; i++) {
+      ruleset.step(grid);
+    }
+    return generations / ((System.nanoTime() - startNs) / 1e9);
+  }
+}
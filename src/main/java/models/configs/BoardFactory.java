@@ -0,0 +1,58 @@
+package models.configs;
+
+import models.grid.GridException;
+import models.grid.GridV1;
+import models.grid.GridV10;
+import models.grid.GridV2;
+import models.grid.GridV3;
+import models.grid.GridV4;
+import models.grid.GridV5;
+import models.grid.GridV6;
+import models.grid.GridV7;
+import models.grid.GridV8;
+import models.grid.GridV9;
+import models.interfaces.GeneralException;
+import models.interfaces.IBoard;
+
+public class BoardFactory {
+
+  // Builds the configured grid and lets the ruleset put the initial cells on it.
+  public static IBoard createBoard(GameConfig gameConfig) throws GeneralException {
+    IBoard board = null;
+    if (gameConfig.getGridClass().equals(GridV1.class)) {
+      board = new GridV1(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV2.class)) {
+      board = new GridV2(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV3.class)) {
+      board = new GridV3(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV4.class)) {
+      board = new GridV4(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV5.class)) {
+      board = new GridV5(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV6.class)) {
+      board = new GridV6(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV7.class)) {
+      board = new GridV7(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV8.class)) {
+      board = new GridV8(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV9.class)) {
+      board = new GridV9(gameConfig.getBoardConfig());
+    }
+    else if (gameConfig.getGridClass().equals(GridV10.class)) {
+      board = new GridV10(gameConfig.getBoardConfig());
+    }
+    if (board == null) {
+      throw new GridException("Unsupported grid class " + gameConfig.getGridClass());
+    }
+    gameConfig.getRuleset().initializeBoardState(board, gameConfig.getBoardConfig());
+    return board;
+  }
+}
@@ -0,0 +1,11 @@
+package models.configs;
+
+// Where GameRunner draws the board.
+public enum DisplayMode {
+  // a Swing window, see GridDisplay
+  WINDOW,
+  // the terminal, 2 x 4 cells per braille character, see TerminalDisplay
+  BRAILLE,
+  // the terminal, 1 x 2 cells per half-block character
+  HALF_BLOCK
+}
@@ -1,11 +1,14 @@
 package models.configs;
 
+import java.nio.file.Path;
 import lombok.Builder;
 import lombok.Getter;
 import models.interfaces.IBoardConfig;
+import models.patterns.FlipLogReader;
 import models.rulesets.GameOfLifeRuleset;
+import models.rulesets.Rule;
 
-@Builder
+@Builder(toBuilder = true)
 @Getter
 public class GameConfig {
   int width, height;
@@ -13,5 +16,23 @@ public class GameConfig {
   int fps;
   IBoardConfig boardConfig;
   GameOfLifeRuleset ruleset;
+  // the rule ruleset was built for
+  @Builder.Default
+  Rule rule = Rule.CONWAY;
   Class GridClass;
+  @Builder.Default
+  OnCycle onCycle = OnCycle.RUN;
+  @Builder.Default
+  RenderMode renderMode = RenderMode.FULL;
+  @Builder.Default
+  DisplayMode displayMode = DisplayMode.WINDOW;
+  // generations the simulation runs per displayed frame, 0 for as many as it can
+  @Builder.Default
+  int generationsPerFrame = 1;
+  // rendered frames between latency reports, 0 for only on exit
+  int latencyEvery;
+  // where every generation's flips are logged, or null
+  Path recordPath;
+  // log played back in place of the board and ruleset, or null
+  FlipLogReader replay;
 }
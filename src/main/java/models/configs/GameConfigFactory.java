@@ -1,31 +1,43 @@
 package models.configs;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import models.generation.config.strategy.CheckpointFileStrategy;
 import models.generation.config.strategy.GospelGunGeneratorStrategy;
 import models.generation.config.strategy.GridConfigStrategy;
+import models.generation.config.strategy.MacrocellFileStrategy;
 import models.generation.config.strategy.RandomConfigStrategy;
 import models.generation.config.strategy.RandomGliderStrategy;
 import models.generation.config.strategy.RandomPulsarConfig;
+import models.generation.config.strategy.RleFileStrategy;
 import models.grid.GridConfig;
-import models.grid.GridV3;
-import models.rulesets.ClassicRulesetAdjacentAwareCells;
-import models.rulesets.GameOfLifeRuleset;
+import models.patterns.FlipLogReader;
 
 public class GameConfigFactory {
 
   private static final int WIDTH = 1920;
   private static final int HEIGHT = 1080;
+  private static final GameEngine DEFAULT_ENGINE = GameEngine.V3;
 
   public static GameConfig simpleRandomConfig(double probability) {
     return simpleRandomConfig(probability, 540, 960, 30);
   }
 
   public static GameConfig simpleRandomConfig(double probability, int rows, int cols, int fps) {
+    return simpleRandomConfig(probability, rows, cols, fps, DEFAULT_ENGINE);
+  }
+
+  public static GameConfig simpleRandomConfig(
+      double probability, int rows, int cols, int fps, GameEngine engine) {
     GridConfigStrategy gridConfigStrategy = RandomConfigStrategy.builder()
         .aliveProbability(probability)
         .build();
 
     GridConfig gridConfig = gridConfigStrategy.getConfig(rows, cols);
-    return buildConfig(gridConfig, new ClassicRulesetAdjacentAwareCells(), fps);
+    return buildConfig(gridConfig, engine, fps);
   }
 
   public static GameConfig gliderConfig(double probability) {
@@ -33,12 +45,17 @@ public class GameConfigFactory {
   }
 
   public static GameConfig gliderConfig(double probability, int rows, int cols, int fps) {
+    return gliderConfig(probability, rows, cols, fps, DEFAULT_ENGINE);
+  }
+
+  public static GameConfig gliderConfig(
+      double probability, int rows, int cols, int fps, GameEngine engine) {
     GridConfigStrategy gridConfigStrategy = RandomGliderStrategy.builder()
         .gliderGenerationProbability(probability)
         .build();
 
     GridConfig gridConfig = gridConfigStrategy.getConfig(rows, cols);
-    return buildConfig(gridConfig, new ClassicRulesetAdjacentAwareCells(), fps);
+    return buildConfig(gridConfig, engine, fps);
   }
 
   public static GameConfig pulsarConfig(double probability) {
@@ -46,12 +63,17 @@ public class GameConfigFactory {
   }
 
   public static GameConfig pulsarConfig(double probability, int rows, int cols, int fps) {
+    return pulsarConfig(probability, rows, cols, fps, DEFAULT_ENGINE);
+  }
+
+  public static GameConfig pulsarConfig(
+      double probability, int rows, int cols, int fps, GameEngine engine) {
     GridConfigStrategy gridConfigStrategy = RandomPulsarConfig.builder()
         .pulsarGenerationProbability(probability)
         .build();
 
     GridConfig gridConfig = gridConfigStrategy.getConfig(rows, cols);
-    return buildConfig(gridConfig, new ClassicRulesetAdjacentAwareCells(), fps);
+    return buildConfig(gridConfig, engine, fps);
   }
 
   public static GameConfig simpleGospelGunConfig(double probability) {
@@ -59,24 +81,76 @@ public class GameConfigFactory {
   }
 
   public static GameConfig simpleGospelGunConfig(double probability, int rows, int cols, int fps) {
+    return simpleGospelGunConfig(probability, rows, cols, fps, DEFAULT_ENGINE);
+  }
+
+  public static GameConfig simpleGospelGunConfig(
+      double probability, int rows, int cols, int fps, GameEngine engine) {
     GridConfigStrategy gridConfigStrategy = GospelGunGeneratorStrategy.builder()
         .gunGenerationProbability(probability)
         .build();
 
     GridConfig gridConfig = gridConfigStrategy.getConfig(rows, cols);
-    return buildConfig(gridConfig, new ClassicRulesetAdjacentAwareCells(), fps);
+    return buildConfig(gridConfig, engine, fps);
+  }
+
+  public static GameConfig rleFileConfig(Path path, int rows, int cols, int fps, GameEngine engine) {
+    GridConfigStrategy gridConfigStrategy = RleFileStrategy.builder()
+        .path(path)
+        .build();
+
+    GridConfig gridConfig = gridConfigStrategy.getConfig(rows, cols);
+    return buildConfig(gridConfig, engine, fps);
+  }
+
+  public static GameConfig macrocellFileConfig(Path path, int rows, int cols, int fps, GameEngine engine) {
+    GridConfigStrategy gridConfigStrategy = MacrocellFileStrategy.builder()
+        .path(path)
+        .build();
+
+    GridConfig gridConfig = gridConfigStrategy.getConfig(rows, cols);
+    return buildConfig(gridConfig, engine, fps);
+  }
+
+  // The board size comes from the checkpoint.
+  public static GameConfig checkpointFileConfig(Path path, int fps, GameEngine engine) {
+    GridConfigStrategy gridConfigStrategy = CheckpointFileStrategy.builder()
+        .path(path)
+        .build();
+
+    GridConfig gridConfig = gridConfigStrategy.getConfig(0, 0);
+    return buildConfig(gridConfig, engine, fps);
+  }
+
+  // Plays back a flip log from the given generation; the board size comes from the log.
+  public static GameConfig replayConfig(Path path, long fromGeneration, int fps) {
+    FlipLogReader replay;
+    try {
+      replay = new FlipLogReader(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+      replay.seek(fromGeneration);
+    } catch (IOException e) {
+      throw new UncheckedIOException(path + ": " + e.getMessage(), e);
+    }
+    return GameConfig.builder()
+        .width(WIDTH)
+        .height(HEIGHT)
+        .rows(replay.getRows())
+        .columns(replay.getColumns())
+        .fps(fps)
+        .replay(replay)
+        .build();
   }
 
-  private static GameConfig buildConfig(GridConfig gridConfig, GameOfLifeRuleset ruleset, int fps) {
+  private static GameConfig buildConfig(GridConfig gridConfig, GameEngine engine, int fps) {
     return GameConfig.builder()
         .width(WIDTH)
         .height(HEIGHT)
         .rows(gridConfig.getRows())
         .columns(gridConfig.getColumns())
         .boardConfig(gridConfig)
-        .ruleset(ruleset)
+        .ruleset(engine.newRuleset())
         .fps(fps)
-        .GridClass(GridV3.class)
+        .GridClass(engine.getGridClass())
         .build();
   }
 }
@@ -0,0 +1,100 @@
+package models.configs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import models.grid.GridV10;
+import models.grid.GridV2;
+import models.grid.GridV3;
+import models.grid.GridV4;
+import models.grid.GridV5;
+import models.grid.GridV6;
+import models.grid.GridV7;
+import models.grid.GridV8;
+import models.grid.GridV9;
+import models.grid.Topology;
+import models.rulesets.ClassicRuleset;
+import models.rulesets.ClassicRulesetAdjacentCounts;
+import models.rulesets.ClassicRulesetAdjacentAwareCells;
+import models.rulesets.ClassicRulesetBitPacked;
+import models.rulesets.ClassicRulesetBlockTable;
+import models.rulesets.ClassicRulesetLookup;
+import models.rulesets.ClassicRulesetOffHeap;
+import models.rulesets.ClassicRulesetSparse;
+import models.rulesets.ClassicRulesetStriped;
+import models.rulesets.ClassicRulesetTiled;
+import models.rulesets.ClassicRulesetVectorized;
+import models.rulesets.GameOfLifeRuleset;
+import models.rulesets.HashLifeRuleset;
+import models.rulesets.IsotropicRuleset;
+import models.rulesets.Rule;
+
+// Grid + ruleset pairings that are known to work together, see README.md. Engines that only
+// step cells near last generation's flips (or, for V5, treat the universe as unbounded) cannot
+// run rules with B0, where empty space comes alive; only the ones that sweep every cell can.
+// Only V8_ISOTROPIC looks at whole neighbourhoods rather than counts, so only it runs
+// non-totalistic rules. Only the grids that find neighbours through their Topology can wrap; the
+// bit-packed, tiled and unbounded ones have hard edges.
+public enum GameEngine {
+  V2(GridV2.class, ClassicRuleset::new, false),
+  V3(GridV3.class, ClassicRulesetAdjacentAwareCells::new, false),
+  V4(GridV4.class, ClassicRulesetBitPacked::new, true),
+  V4_STRIPED(GridV4.class, ClassicRulesetStriped::new, true),
+  V4_BLOCK_TABLE(GridV4.class, ClassicRulesetBlockTable::new, true),
+  V5(GridV5.class, HashLifeRuleset::new, false),
+  V6(GridV6.class, ClassicRulesetSparse::new, false),
+  V7(GridV7.class, ClassicRulesetTiled::new, false),
+  V8(GridV8.class, ClassicRulesetLookup::new, true),
+  V8_SIMD(GridV8.class, ClassicRulesetVectorized::new, true),
+  V8_ISOTROPIC(GridV8.class, IsotropicRuleset::new, true, true),
+  V9(GridV9.class, ClassicRulesetOffHeap::new, false),
+  V10(GridV10.class, ClassicRulesetAdjacentCounts::new, false);
+
+  private static final List<Class> WRAPPING_GRIDS =
+      Arrays.asList(GridV2.class, GridV3.class, GridV8.class, GridV10.class);
+
+  private final Class gridClass;
+  private final Function<Rule, GameOfLifeRuleset> rulesetFactory;
+  private final boolean stepsEveryCell;
+  private final boolean nonTotalistic;
+
+  GameEngine(Class gridClass, Function<Rule, GameOfLifeRuleset> rulesetFactory, boolean stepsEveryCell) {
+    this(gridClass, rulesetFactory, stepsEveryCell, false);
+  }
+
+  GameEngine(Class gridClass, Function<Rule, GameOfLifeRuleset> rulesetFactory, boolean stepsEveryCell,
+      boolean nonTotalistic) {
+    this.gridClass = gridClass;
+    this.rulesetFactory = rulesetFactory;
+    this.stepsEveryCell = stepsEveryCell;
+    this.nonTotalistic = nonTotalistic;
+  }
+
+  public Class getGridClass() {
+    return gridClass;
+  }
+
+  public boolean supports(Rule rule) {
+    return (stepsEveryCell || !rule.isBirthOnZero()) && (nonTotalistic || rule.isTotalistic());
+  }
+
+  public boolean supports(Topology topology) {
+    return topology == Topology.BOUNDED || WRAPPING_GRIDS.contains(gridClass);
+  }
+
+  public GameOfLifeRuleset newRuleset() {
+    return newRuleset(Rule.CONWAY);
+  }
+
+  public GameOfLifeRuleset newRuleset(Rule rule) {
+    if (!rule.isTotalistic() && !nonTotalistic) {
+      throw new IllegalArgumentException(name() + " cannot run " + rule
+          + ": it only counts live neighbours, and the rule depends on where they are");
+    }
+    if (!supports(rule)) {
+      throw new IllegalArgumentException(name() + " cannot run " + rule
+          + ": with B0 empty space comes alive, and it only steps cells near activity");
+    }
+    return rulesetFactory.apply(rule);
+  }
+}
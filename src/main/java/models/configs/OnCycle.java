@@ -0,0 +1,11 @@
+package models.configs;
+
+// What GameRunner does once the board is found to be static or periodic, see CycleDetector.
+public enum OnCycle {
+  // keep stepping the engine as if nothing was detected
+  RUN,
+  // stop stepping; the last frame stays on screen
+  STOP,
+  // stop stepping and loop the display through the flips of the detected cycle
+  REPLAY
+}
@@ -0,0 +1,9 @@
+package models.configs;
+
+// How GridDisplay gets a frame onto the screen, see GridRenderer.
+public enum RenderMode {
+  // rasterise every cell and repaint the whole window each frame
+  FULL,
+  // keep the previous frame, redraw only the cells that flipped and blit only their regions
+  DIRTY
+}
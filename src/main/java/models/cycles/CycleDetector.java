@@ -0,0 +1,42 @@
+package models.cycles;
+
+// Remembers the board hashes of the last maxPeriod generations and reports when the current one
+// repeats one of them, i.e. when the board has become static (period 1) or periodic. Two
+// different boards sharing a 64-bit hash is possible but vanishingly unlikely.
+public class CycleDetector {
+
+  public static final int DEFAULT_MAX_PERIOD = 64;
+
+  private final long[] history;
+  private long generation;
+
+  public CycleDetector() {
+    this(DEFAULT_MAX_PERIOD);
+  }
+
+  public CycleDetector(int maxPeriod) {
+    history = new long[maxPeriod];
+  }
+
+  public int getMaxPeriod() {
+    return history.length;
+  }
+
+  public long getGeneration() {
+    return generation;
+  }
+
+  // Records the hash of the next generation and returns the smallest period it closes, or 0.
+  public int record(long hash) {
+    int period = 0;
+    for (int p = 1; p <= Math.min(generation, history.length); p++) {
+      if (history[(int) ((generation - p) % history.length)] == hash) {
+        period = p;
+        break;
+      }
+    }
+    history[(int) (generation % history.length)] = hash;
+    generation++;
+    return period;
+  }
+}
@@ -0,0 +1,37 @@
+package models.cycles;
+
+import java.util.Collection;
+import models.grid.GridLocation;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoardLocation;
+import utils.HashUtils;
+
+// Zobrist hash of a set of live cells: the XOR of a pseudo-random 64-bit key per live cell. A
+// flip toggles the cell's key in or out, so the hash follows the board from the flip sets alone.
+// Keys are derived from the coordinates on the fly, so there is no table and no size limit.
+public class ZobristHash {
+
+  private static final long SEED = 0x9e3779b97f4a7c15L;
+
+  private long hash;
+
+  public static long key(int row, int column) {
+    return HashUtils.mix(SEED ^ (((long) row << 32) | (column & 0xffffffffL)));
+  }
+
+  public void reset(Collection<IBoardLocation> aliveCells) {
+    hash = 0;
+    aliveCells.forEach(location -> {
+      GridLocation gridLocation = (GridLocation) location;
+      hash ^= key(gridLocation.getRow(), gridLocation.getColumn());
+    });
+  }
+
+  public void update(Collection<? extends GridCoordinate> flippedCells) {
+    flippedCells.forEach(cell -> hash ^= key(cell.getRow(), cell.getColumn()));
+  }
+
+  public long getHash() {
+    return hash;
+  }
+}
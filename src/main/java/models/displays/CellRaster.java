@@ -0,0 +1,77 @@
+package models.displays;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Paints a rows x columns board of palette indexes (0 is the background) straight into an int[]
+// of RGB pixels, such as the one behind a TYPE_INT_RGB BufferedImage. Every cell row is filled
+// once and copied down cellSize - 1 times; cells past the right or bottom edge are clipped.
+// Bands of cell rows are painted in parallel when there is more than one core. Single cells can
+// also be repainted on their own, for frames that only redraw what flipped.
+public class CellRaster {
+  private final int[] pixels;
+  private final int imageWidth, imageHeight;
+  private final int columns;
+  private final int cellSize;
+  private final int[] palette;
+  private final int visibleRows, visibleColumns;
+  private final int bands;
+
+  public CellRaster(int[] pixels, int imageWidth, int imageHeight,
+      int rows, int columns, int cellSize, int[] palette) {
+    this.pixels = pixels;
+    this.imageWidth = imageWidth;
+    this.imageHeight = imageHeight;
+    this.columns = columns;
+    this.cellSize = cellSize;
+    this.palette = palette;
+    visibleRows = Math.min(rows, (imageHeight + cellSize - 1) / cellSize);
+    visibleColumns = Math.min(columns, (imageWidth + cellSize - 1) / cellSize);
+    bands = Math.min(visibleRows, Runtime.getRuntime().availableProcessors() * 4);
+    Arrays.fill(pixels, palette[0]);
+  }
+
+  public void rasterize(byte[] cells) {
+    if (bands > 1) {
+      IntStream.range(0, bands).parallel().forEach(band ->
+          rasterizeRows(cells, visibleRows * band / bands, visibleRows * (band + 1) / bands));
+    } else {
+      rasterizeRows(cells, 0, visibleRows);
+    }
+  }
+
+  // Repaints only the given cells, which must be visible, marking each one in dirtyRegions.
+  public void rasterizeCells(byte[] cells, int[] indexes, int count, DirtyRegions dirtyRegions) {
+    for (int i = 0; i < count; i++) {
+      int row = indexes[i] / columns, column = indexes[i] % columns;
+      if (row >= visibleRows || column >= visibleColumns) {
+        continue;
+      }
+      int x = column * cellSize, y = row * cellSize;
+      int right = Math.min(x + cellSize, imageWidth);
+      int bottom = Math.min(y + cellSize, imageHeight);
+      int color = palette[cells[indexes[i]]];
+      for (int line = y; line < bottom; line++) {
+        Arrays.fill(pixels, line * imageWidth + x, line * imageWidth + right, color);
+      }
+      dirtyRegions.mark(row, column);
+    }
+  }
+
+  private void rasterizeRows(byte[] cells, int fromRow, int toRow) {
+    int rowWidth = Math.min(visibleColumns * cellSize, imageWidth);
+    for (int row = fromRow; row < toRow; row++) {
+      int y = row * cellSize;
+      int lineStart = y * imageWidth;
+      int cellStart = row * columns;
+      for (int column = 0, x = 0; column < visibleColumns; column++, x += cellSize) {
+        Arrays.fill(pixels, lineStart + x, lineStart + Math.min(x + cellSize, imageWidth),
+            palette[cells[cellStart + column]]);
+      }
+      int lines = Math.min(cellSize, imageHeight - y);
+      for (int line = 1; line < lines; line++) {
+        System.arraycopy(pixels, lineStart, pixels, lineStart + line * imageWidth, rowWidth);
+      }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package models.displays;
+
+import java.util.Arrays;
+
+// Coarse record of which parts of the window changed since the last blit. Cells are marked into
+// TILE_SIZE x TILE_SIZE tiles, and each run of adjacent dirty tiles in a row of tiles becomes one
+// pixel rectangle, so a busy frame costs a few dozen blits rather than one per cell.
+public class DirtyRegions {
+
+  public static final int TILE_SIZE = 16;
+
+  public interface RegionConsumer {
+    void accept(int x, int y, int width, int height);
+  }
+
+  private final int tileRows, tileColumns;
+  private final int tilePixels;
+  private final int imageWidth, imageHeight;
+  private final boolean[] dirty;
+  private boolean empty = true;
+
+  public DirtyRegions(int rows, int columns, int cellSize, int imageWidth, int imageHeight) {
+    tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+    tileColumns = (columns + TILE_SIZE - 1) / TILE_SIZE;
+    tilePixels = TILE_SIZE * cellSize;
+    this.imageWidth = imageWidth;
+    this.imageHeight = imageHeight;
+    dirty = new boolean[tileRows * tileColumns];
+  }
+
+  public void mark(int row, int column) {
+    dirty[(row / TILE_SIZE) * tileColumns + column / TILE_SIZE] = true;
+    empty = false;
+  }
+
+  public boolean isEmpty() {
+    return empty;
+  }
+
+  // Pixel rectangles covering every marked cell, clipped to the image.
+  public void forEachRegion(RegionConsumer consumer) {
+    if (empty) {
+      return;
+    }
+    for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+      int y = tileRow * tilePixels;
+      int height = Math.min(tilePixels, imageHeight - y);
+      int tileColumn = 0;
+      while (tileColumn < tileColumns) {
+        if (!dirty[tileRow * tileColumns + tileColumn]) {
+          tileColumn++;
+          continue;
+        }
+        int runStart = tileColumn;
+        while (tileColumn < tileColumns && dirty[tileRow * tileColumns + tileColumn]) {
+          tileColumn++;
+        }
+        int x = runStart * tilePixels;
+        int width = Math.min((tileColumn - runStart) * tilePixels, imageWidth - x);
+        if (width > 0 && height > 0) {
+          consumer.accept(x, y, width, height);
+        }
+      }
+    }
+  }
+
+  public void clear() {
+    if (!empty) {
+      Arrays.fill(dirty, false);
+      empty = true;
+    }
+  }
+}
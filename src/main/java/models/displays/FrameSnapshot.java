@@ -0,0 +1,23 @@
+package models.displays;
+
+// One frame as GridDisplay hands it from the simulation thread to the render thread: the palette
+// index of every cell, the cells that may differ from the frame the reader took before it, and
+// the generation it shows. Once published through the TripleBuffer it is only read, until the
+// reader has moved on and the simulation reuses it.
+public class FrameSnapshot {
+  final byte[] cells;
+  final IndexSet changed;
+  // simulation thread only: the cells where this buffer lags behind the simulation's own copy
+  final IndexSet stale;
+  long generation;
+
+  FrameSnapshot(int cellCount) {
+    cells = new byte[cellCount];
+    changed = new IndexSet(cellCount);
+    stale = new IndexSet(cellCount);
+  }
+
+  public long getGeneration() {
+    return generation;
+  }
+}
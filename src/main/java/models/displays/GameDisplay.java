@@ -1,9 +1,16 @@
 package models.displays;
 
+import java.util.Collection;
 import java.util.List;
-import models.interfaces.GeneralException;
 import models.interfaces.GridCoordinate;
+import models.interfaces.IBoardLocation;
 
 public interface GameDisplay {
-  void updateNextFrame(List<GridCoordinate> flippedPositions) throws GeneralException;
+  // width and height are in pixels; displays that do not draw pixels ignore them
+  void initialize(int rows, int columns, Collection<IBoardLocation> alivePositions, int width, int height);
+
+  void updateNextFrame(List<GridCoordinate> flippedPositions);
+
+  // Draws the newest frame; returns false, without drawing, if there is none since the last call.
+  boolean render();
 }
@@ -1,71 +1,81 @@
 package models.displays;
 
 import java.awt.Color;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import models.displays.DisplayCell.DisplayCellState;
-import models.grid.Grid;
+import models.configs.RenderMode;
 import models.grid.GridLocation;
-import models.interfaces.GridCoordinate;
 import models.interfaces.IBoardLocation;
 import utils.ColorUtils;
 
-public class GridDisplay implements GameDisplay {
+public class GridDisplay extends SnapshotDisplay {
 
   private static final String TITLE = "Game Of Life";
-  int rows, columns;
-  List<List<DisplayCell>> cells;
-  ConcurrentHashMap<DisplayPosition, DisplayCell> cellsAlivePositions;
+  // render thread: the cells currently on screen and those that differ in the new snapshot, for
+  // RenderMode.DIRTY
+  byte[] renderedCells;
+  int[] dirtyCells = new int[1024];
+  int dirtyCount;
   GridRenderer gridRenderer;
-  private Color borderColor;
   private Color backgroundColor;
-  private Color cellColor;
+  private final RenderMode renderMode;
 
+  public GridDisplay() {
+    this(RenderMode.FULL);
+  }
+
+  public GridDisplay(RenderMode renderMode) {
+    this.renderMode = renderMode;
+  }
+
+  @Override
   public void initialize(int rows, int columns, Collection<IBoardLocation> alivePositions, int width, int height) {
-    this.rows = rows;
-    this.columns = columns;
-    borderColor = Color.black;
     backgroundColor = Color.black;
-    gridRenderer = new GridRenderer(TITLE, width, height, this.rows, this.columns, backgroundColor);
-    initializeCells();
+    gridRenderer = new GridRenderer(TITLE, width, height, rows, columns, backgroundColor,
+        buildPalette());
+    initializeCells(rows, columns);
+    renderedCells = new byte[rows * columns];
     updateNextFrame(alivePositions.stream()
         .map(location -> (GridLocation)location).collect(Collectors.toList()));
   }
 
-  private void initializeCells() {
-    cells = IntStream.range(0, rows)
-        .mapToObj(row -> IntStream.range(0, columns)
-            .mapToObj(column -> new DisplayCell(
-                ColorUtils.randomColor(), borderColor,
-                new DisplayPosition(row, column), DisplayCellState.DEAD))
-            .collect(Collectors.toList()))
-        .collect(Collectors.toList());
-    cellsAlivePositions = new ConcurrentHashMap<>();
+  // Background first, then the theme colours, so a cell's state doubles as its palette index.
+  private int[] buildPalette() {
+    List<Color> themeColors = ColorUtils.getThemeColors();
+    int[] palette = new int[themeColors.size() + 1];
+    palette[0] = backgroundColor.getRGB();
+    for (int i = 0; i < themeColors.size(); i++) {
+      palette[i + 1] = themeColors.get(i).getRGB();
+    }
+    return palette;
   }
 
   @Override
-  public void updateNextFrame(List<GridCoordinate> flipPositions) {
-    flipPositions.parallelStream().forEach(position -> {
-      DisplayCell displayCell = cells.get(position.getRow()).get(position.getColumn());
-      displayCell.flipState();
-      if (displayCell.getState().equals(DisplayCellState.ALIVE))
-        cellsAlivePositions.put(displayCell.getPosition(), displayCell);
-      else
-        cellsAlivePositions.remove(displayCell.getPosition());
-    });
-  }
-
-  private DisplayCell getDisplayCellAt(DisplayPosition location) {
-    return cells.get(location.getRow()).get(location.getColumn());
+  protected void draw(FrameSnapshot snapshot) {
+    if (renderMode == RenderMode.DIRTY) {
+      collectDirtyCells(snapshot);
+      gridRenderer.renderDirty(renderedCells, dirtyCells, dirtyCount);
+    } else {
+      gridRenderer.render(snapshot.cells);
+    }
   }
 
-  public void render() {
-    gridRenderer.render(cellsAlivePositions.values());
+  // Frames can be skipped when the simulation outruns the display, but the snapshot's changed cells
+  // then include those of the frames skipped since the last one drawn. Only the ones that really
+  // differ from the screen are drawn, as a cell flipped twice in between may be back where it was.
+  private void collectDirtyCells(FrameSnapshot snapshot) {
+    dirtyCount = 0;
+    for (int i = 0; i < snapshot.changed.size(); i++) {
+      int index = snapshot.changed.get(i);
+      if (snapshot.cells[index] != renderedCells[index]) {
+        renderedCells[index] = snapshot.cells[index];
+        if (dirtyCount == dirtyCells.length) {
+          dirtyCells = Arrays.copyOf(dirtyCells, dirtyCells.length * 2);
+        }
+        dirtyCells[dirtyCount++] = index;
+      }
+    }
   }
 }
@@ -5,27 +5,36 @@ import java.awt.Graphics;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.awt.image.DataBufferInt;
 import javax.swing.JFrame;
-import models.displays.DisplayCell.DisplayCellState;
-import utils.ColorUtils;
 
+// Rasterises the palette-indexed cells of GridDisplay through CellRaster into the int[] behind
+// a back image, instead of one Graphics.fillRect per live cell. Once a frame is complete its
+// changed pixels are copied to the front image under the front image's lock, and only then is the
+// window asked to repaint them; paint runs on the event dispatch thread and draws the front image
+// under the same lock, so it never shows a half-rasterised frame. render redraws every cell;
+// renderDirty keeps the previous frame, redraws only the changed cells and copies and repaints
+// only the regions around them, so its cost follows activity rather than population.
 public class GridRenderer extends JFrame {
   private int width, height;
   private int rows, columns;
   private int cellSize;
-  private Collection<DisplayCell> cellsToRender;
   private Color backgroundColor;
-  BufferedImage bufferedImage;
+  // render thread only
+  private BufferedImage backImage;
+  private int[] backPixels;
+  // guarded by itself; written by the render thread, drawn by paint
+  private final BufferedImage frontImage;
+  private final int[] frontPixels;
+  private CellRaster cellRaster;
+  private DirtyRegions dirtyRegions;
   GraphicsEnvironment graphics;
   GraphicsDevice device;
 
 
   public GridRenderer(
       String title, int width, int height, int rows, int columns,
-      Color backgroundColor) {
+      Color backgroundColor, int[] palette) {
     super(title);
     this.width = width;
     this.height = height;
@@ -38,46 +47,50 @@ public class GridRenderer extends JFrame {
     this.backgroundColor = backgroundColor;
     setUndecorated(true);
 
-    cellsToRender = new ArrayList<>();
-
     setSize(width, height);
     setResizable(false);
     setDefaultCloseOperation(EXIT_ON_CLOSE);
-    setVisible(true);
+    backImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    backPixels = ((DataBufferInt) backImage.getRaster().getDataBuffer()).getData();
+    frontImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    frontPixels = ((DataBufferInt) frontImage.getRaster().getDataBuffer()).getData();
+    cellRaster = new CellRaster(
+        backPixels, width, height, rows, columns, cellSize, palette);
+    dirtyRegions = new DirtyRegions(rows, columns, cellSize, width, height);
     getContentPane().setBackground(this.backgroundColor);
-    bufferedImage =
-        new BufferedImage( this.getWidth(), this.getHeight(), BufferedImage.TYPE_INT_RGB);
-  }
-  public GridRenderer(
-      String title, int width, int height, int rows, int columns) {
-    this(title, width, height, rows, columns, Color.BLACK);
-  }
-
-  public void animation(Graphics g) {
-    super.paint(g);
-    cellsToRender.forEach(cell -> {
-      g.setColor(cell.getColor());
-      g.fillRect(
-          cell.getPosition().getColumn()*cellSize,
-          cell.getPosition().getRow()*cellSize,
-          cellSize, cellSize);
-//      g.setColor(cell.getBorderColor());
-//      g.drawRect(
-//          cell.getPosition().getColumn()*cellSize,
-//          cell.getPosition().getRow()*cellSize,
-//          cellSize, cellSize);
-    });
+    setVisible(true);
   }
 
   public void paint(Graphics g) {
-    animation(bufferedImage.getGraphics());
-    g.drawImage(bufferedImage, 0, 0, null);
+    synchronized (frontImage) {
+      g.drawImage(frontImage, 0, 0, null);
+    }
   }
   public void update(Graphics g){
     paint(g);
   }
-  public void render(Collection<DisplayCell> cellsToRender) {
-    this.cellsToRender = cellsToRender;
+  public void render(byte[] cells) {
+    cellRaster.rasterize(cells);
+    synchronized (frontImage) {
+      System.arraycopy(backPixels, 0, frontPixels, 0, backPixels.length);
+    }
     repaint();
   }
+
+  public void renderDirty(byte[] cells, int[] dirtyCells, int dirtyCount) {
+    cellRaster.rasterizeCells(cells, dirtyCells, dirtyCount, dirtyRegions);
+    synchronized (frontImage) {
+      dirtyRegions.forEachRegion(this::copyToFront);
+    }
+    dirtyRegions.forEachRegion(this::repaint);
+    dirtyRegions.clear();
+  }
+
+  private void copyToFront(int x, int y, int regionWidth, int regionHeight) {
+    int imageWidth = backImage.getWidth();
+    for (int row = y; row < y + regionHeight; row++) {
+      int offset = row * imageWidth + x;
+      System.arraycopy(backPixels, offset, frontPixels, offset, regionWidth);
+    }
+  }
 }
@@ -0,0 +1,48 @@
+package models.displays;
+
+import java.util.Arrays;
+
+// Set of cell indexes below a fixed bound, kept in insertion order. add is O(1) and clear costs
+// only the indexes held, so tracking the few cells a generation flips on a large board stays
+// cheap however many generations pass.
+class IndexSet {
+  private final boolean[] members;
+  private int[] indexes = new int[1024];
+  private int size;
+
+  IndexSet(int bound) {
+    members = new boolean[bound];
+  }
+
+  void add(int index) {
+    if (members[index]) {
+      return;
+    }
+    members[index] = true;
+    if (size == indexes.length) {
+      indexes = Arrays.copyOf(indexes, indexes.length * 2);
+    }
+    indexes[size++] = index;
+  }
+
+  void addAll(IndexSet other) {
+    for (int i = 0; i < other.size; i++) {
+      add(other.indexes[i]);
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  int get(int i) {
+    return indexes[i];
+  }
+
+  void clear() {
+    for (int i = 0; i < size; i++) {
+      members[indexes[i]] = false;
+    }
+    size = 0;
+  }
+}
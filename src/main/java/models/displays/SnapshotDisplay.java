@@ -0,0 +1,83 @@
+package models.displays;
+
+import java.util.ArrayList;
+import java.util.List;
+import models.interfaces.GridCoordinate;
+import utils.ColorUtils;
+import utils.TripleBuffer;
+
+// updateNextFrame runs on the simulation thread: it applies the flips to its own copy of the cells
+// and publishes a FrameSnapshot. render runs on the render thread and draws the newest snapshot,
+// if there is one it has not drawn yet. The two only meet in the TripleBuffer, so neither blocks
+// the other and a frame is never drawn half-updated. Every buffer remembers which cells it lags
+// behind on, so a publish copies only those and each generation costs O(flips), not O(cells).
+public abstract class SnapshotDisplay implements GameDisplay {
+
+  int rows, columns;
+  // palette index of every cell, 0 while dead and the cell's own theme colour while alive
+  byte[] cells;
+  byte[] cellColors;
+  long generation;
+  TripleBuffer<FrameSnapshot> frames;
+  // all three of the TripleBuffer's snapshots, and the one published last
+  private final List<FrameSnapshot> snapshots = new ArrayList<>();
+  private FrameSnapshot published;
+
+  protected void initializeCells(int rows, int columns) {
+    this.rows = rows;
+    this.columns = columns;
+    cells = new byte[rows * columns];
+    cellColors = new byte[rows * columns];
+    for (int i = 0; i < cellColors.length; i++) {
+      cellColors[i] = (byte) (ColorUtils.randomColorIndex() + 1);
+    }
+    snapshots.clear();
+    frames = new TripleBuffer<>(() -> {
+      FrameSnapshot snapshot = new FrameSnapshot(rows * columns);
+      snapshots.add(snapshot);
+      return snapshot;
+    });
+  }
+
+  @Override
+  public void updateNextFrame(List<GridCoordinate> flipPositions) {
+    FrameSnapshot snapshot = frames.getWriteBuffer();
+    for (GridCoordinate position : flipPositions) {
+      int index = position.getRow() * columns + position.getColumn();
+      cells[index] = cells[index] == 0 ? cellColors[index] : 0;
+      for (FrameSnapshot buffer : snapshots) {
+        buffer.stale.add(index);
+      }
+      snapshot.changed.add(index);
+    }
+    generation++;
+    if (flipPositions.isEmpty() && generation > 1) {
+      return;
+    }
+    for (int i = 0; i < snapshot.stale.size(); i++) {
+      int index = snapshot.stale.get(i);
+      snapshot.cells[index] = cells[index];
+    }
+    snapshot.stale.clear();
+    snapshot.generation = generation - 1;
+    // the reader has not taken the last snapshot, and will skip it, so this one also carries what
+    // that one changed
+    if (published != null && frames.isPublishedUnread()) {
+      snapshot.changed.addAll(published.changed);
+    }
+    frames.publish();
+    published = snapshot;
+    frames.getWriteBuffer().changed.clear();
+  }
+
+  @Override
+  public boolean render() {
+    if (!frames.refresh()) {
+      return false;
+    }
+    draw(frames.getReadBuffer());
+    return true;
+  }
+
+  protected abstract void draw(FrameSnapshot snapshot);
+}
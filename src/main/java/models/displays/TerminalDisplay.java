@@ -0,0 +1,145 @@
+package models.displays;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import models.grid.GridLocation;
+import models.interfaces.IBoardLocation;
+
+// Draws the board in an ANSI terminal, several cells per character, for watching runs over SSH.
+// Each frame only the characters that changed since the previous frame are written, each run of
+// them after one cursor move, so the bytes sent follow activity rather than board size.
+public class TerminalDisplay extends SnapshotDisplay {
+
+  public enum Glyphs {
+    // 2 x 4 cells per character, U+2800 to U+28FF
+    BRAILLE(2, 4),
+    // 1 x 2 cells per character: upper half, lower half or full block
+    HALF_BLOCK(1, 2);
+
+    private final int cellsWide, cellsHigh;
+
+    Glyphs(int cellsWide, int cellsHigh) {
+      this.cellsWide = cellsWide;
+      this.cellsHigh = cellsHigh;
+    }
+  }
+
+  private static final String ESC = "\033[";
+  // braille dot bit for the cell at (row, column) inside a character
+  private static final int[][] BRAILLE_DOTS = {{0x01, 0x08}, {0x02, 0x10}, {0x04, 0x20}, {0x40, 0x80}};
+  private static final char[] HALF_BLOCKS = {' ', '\u2580', '\u2584', '\u2588'};
+  // unchanged characters worth rewriting to save a cursor move between two changed ones
+  private static final int MAX_GAP = 2;
+
+  private final Glyphs glyphs;
+  private final OutputStream out;
+  private int glyphRows, glyphColumns;
+  // dot bits of every character, on screen and in the frame being drawn
+  private int[] shownGlyphs;
+  private int[] nextGlyphs;
+  private final StringBuilder frame = new StringBuilder();
+  private long bytesWritten;
+
+  public TerminalDisplay(Glyphs glyphs, OutputStream out) {
+    this.glyphs = glyphs;
+    this.out = out;
+  }
+
+  @Override
+  public void initialize(int rows, int columns, Collection<IBoardLocation> alivePositions, int width, int height) {
+    initializeCells(rows, columns);
+    glyphRows = (rows + glyphs.cellsHigh - 1) / glyphs.cellsHigh;
+    glyphColumns = (columns + glyphs.cellsWide - 1) / glyphs.cellsWide;
+    shownGlyphs = new int[glyphRows * glyphColumns];
+    nextGlyphs = new int[glyphRows * glyphColumns];
+    // hide the cursor and clear the screen
+    write(ESC + "?25l" + ESC + "2J");
+    updateNextFrame(alivePositions.stream()
+        .map(location -> (GridLocation)location).collect(Collectors.toList()));
+  }
+
+  // Puts the cursor back, below the board.
+  public void close() {
+    write(ESC + (glyphRows + 2) + ";1H" + ESC + "?25h");
+  }
+
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  @Override
+  protected void draw(FrameSnapshot snapshot) {
+    Arrays.fill(nextGlyphs, 0);
+    for (int row = 0; row < rows; row++) {
+      int glyphRowStart = (row / glyphs.cellsHigh) * glyphColumns;
+      int cellRowStart = row * columns;
+      for (int column = 0; column < columns; column++) {
+        if (snapshot.cells[cellRowStart + column] != 0) {
+          nextGlyphs[glyphRowStart + column / glyphs.cellsWide] |=
+              dot(row % glyphs.cellsHigh, column % glyphs.cellsWide);
+        }
+      }
+    }
+    frame.setLength(0);
+    for (int glyphRow = 0; glyphRow < glyphRows; glyphRow++) {
+      appendChangedRuns(glyphRow);
+    }
+    frame.append(ESC).append(glyphRows + 1).append(";1H").append("generation ")
+        .append(snapshot.getGeneration()).append(ESC).append('K');
+    write(frame.toString());
+    int[] shown = shownGlyphs;
+    shownGlyphs = nextGlyphs;
+    nextGlyphs = shown;
+  }
+
+  private void appendChangedRuns(int glyphRow) {
+    int rowStart = glyphRow * glyphColumns;
+    int column = 0;
+    while (column < glyphColumns) {
+      if (nextGlyphs[rowStart + column] == shownGlyphs[rowStart + column]) {
+        column++;
+        continue;
+      }
+      int runEnd = column + 1;
+      int lastChanged = column;
+      while (runEnd < glyphColumns && runEnd - lastChanged <= MAX_GAP) {
+        if (nextGlyphs[rowStart + runEnd] != shownGlyphs[rowStart + runEnd]) {
+          lastChanged = runEnd;
+        }
+        runEnd++;
+      }
+      frame.append(ESC).append(glyphRow + 1).append(';').append(column + 1).append('H');
+      for (int i = column; i <= lastChanged; i++) {
+        frame.append(glyphChar(nextGlyphs[rowStart + i]));
+      }
+      column = lastChanged + 1;
+    }
+  }
+
+  private int dot(int row, int column) {
+    return glyphs == Glyphs.BRAILLE ? BRAILLE_DOTS[row][column] : 1 << row;
+  }
+
+  private char glyphChar(int dots) {
+    if (dots == 0) {
+      return ' ';
+    }
+    return glyphs == Glyphs.BRAILLE ? (char) (0x2800 + dots) : HALF_BLOCKS[dots];
+  }
+
+  private void write(String text) {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    try {
+      out.write(bytes);
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    bytesWritten += bytes.length;
+  }
+}
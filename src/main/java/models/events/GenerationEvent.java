@@ -0,0 +1,26 @@
+package models.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Event;
+
+// JFR event spanning the ruleset's updateState for one generation. Recorded next to the JVM's
+// own GC and safepoint events, a slow frame can be pinned on the simulation, GC or rendering.
+@Name("gameoflife.Generation")
+@Label("Generation")
+@Category({"Game of Life", "Simulation"})
+@Description("One generation computed by the ruleset")
+public class GenerationEvent extends Event {
+
+  @Label("Generation")
+  public long generation;
+
+  @Label("Flipped Cells")
+  @Description("Cells whose state changed in this generation")
+  public int flippedCells;
+
+  @Label("Engine")
+  public String engine;
+}
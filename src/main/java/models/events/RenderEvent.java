@@ -0,0 +1,26 @@
+package models.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Event;
+
+// JFR event spanning one display phase of a frame: drawing it, or applying the flips of the next
+// generation to the display model.
+@Name("gameoflife.Render")
+@Label("Render")
+@Category({"Game of Life", "Rendering"})
+@Description("One display phase of a frame")
+public class RenderEvent extends Event {
+
+  @Label("Frame")
+  public long frame;
+
+  @Label("Phase")
+  public String phase;
+
+  @Label("Flipped Cells")
+  @Description("Cells applied to the display model, 0 for the draw phase")
+  public int flippedCells;
+}
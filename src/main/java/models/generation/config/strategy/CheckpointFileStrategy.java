@@ -0,0 +1,34 @@
+package models.generation.config.strategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import models.grid.GridConfig;
+import models.patterns.CheckpointReader;
+
+// Restores a board from a checkpoint file. The checkpoint fixes the board size and topology, so the
+// rows and columns asked for are ignored; the cells are only decoded when the board is built.
+@AllArgsConstructor
+@Builder
+public class CheckpointFileStrategy implements GridConfigStrategy {
+  private Path path;
+
+  @Override
+  public GridConfig getConfig(int rows, int columns) {
+    CheckpointReader checkpoint;
+    try {
+      checkpoint = new CheckpointReader(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e.getMessage(), e);
+    }
+    return GridConfig.builder()
+        .rows(checkpoint.getRows())
+        .columns(checkpoint.getColumns())
+        .topology(checkpoint.getTopology())
+        .checkpoint(checkpoint)
+        .generation(checkpoint.getGeneration())
+        .build();
+  }
+}
@@ -0,0 +1,42 @@
+package models.generation.config.strategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import models.grid.GridConfig;
+import models.grid.QuadNode;
+import models.grid.QuadNodeTable;
+import models.patterns.MacrocellReader;
+
+// Loads a macrocell file as the board's universe, at its own coordinates: Golly's (0, 0) is the
+// top left cell of the board. GridV5 takes the whole tree; every other grid gets the live cells
+// inside rows x columns, which GridConfig only collects when they are asked for.
+@AllArgsConstructor
+@Builder
+public class MacrocellFileStrategy implements GridConfigStrategy {
+  private Path path;
+
+  @Override
+  public GridConfig getConfig(int rows, int columns) {
+    MacrocellReader reader;
+    QuadNode universe;
+    try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      reader = new MacrocellReader(in, new QuadNodeTable());
+      universe = reader.read();
+    } catch (IOException e) {
+      throw new UncheckedIOException(path + ": " + e.getMessage(), e);
+    }
+    return GridConfig.builder()
+        .rows(rows)
+        .columns(columns)
+        .universe(universe)
+        .fileRule(reader.getRule())
+        .generation(reader.getGeneration())
+        .build();
+  }
+}
@@ -2,19 +2,18 @@ package models.generation.config.strategy;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import models.grid.GridConfig;
 import models.grid.GridLocation;
 import models.interfaces.IBoardLocation;
 import models.patterns.Glider;
+import models.patterns.RandomUtils;
 
 @AllArgsConstructor
 @Builder
 public class RandomGliderStrategy implements GridConfigStrategy {
   private double gliderGenerationProbability;
-  private static Random rng = new Random();
 
   @Override
   public GridConfig getConfig(int rows, int columns) {
@@ -22,7 +21,7 @@ public class RandomGliderStrategy implements GridConfigStrategy {
 //    addGlider(aliveCells, 20, 20);
     for (int row = 0; row + 2 < rows; row+=3) {
       for (int col = 0; col + 2 < columns; col+=3) {
-        double randomValue = rng.nextDouble();
+        double randomValue = RandomUtils.randomDouble();
         if (randomValue <= gliderGenerationProbability) {
           addGlider(aliveCells, row, col);
         }
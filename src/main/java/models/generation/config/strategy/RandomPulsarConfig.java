@@ -2,7 +2,6 @@ package models.generation.config.strategy;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import models.grid.GridConfig;
@@ -10,12 +9,12 @@ import models.grid.GridLocation;
 import models.interfaces.IBoardLocation;
 import models.patterns.Glider;
 import models.patterns.PulsarGenerator;
+import models.patterns.RandomUtils;
 
 @AllArgsConstructor
 @Builder
 public class RandomPulsarConfig implements GridConfigStrategy {
   private double pulsarGenerationProbability;
-  private static Random rng = new Random();
   private static PulsarGenerator pulsarGenerator = new PulsarGenerator();
 
   @Override
@@ -28,7 +27,7 @@ public class RandomPulsarConfig implements GridConfigStrategy {
         PulsarGenerator.patternSpacingColumn.get(1) + PulsarGenerator.patternSpacingColumn.get(0);
     for (int row = 0; row + rowSize < rows; row+=rowSize) {
       for (int col = 0; col + columnSize < columns; col+=columnSize) {
-        double randomValue = rng.nextDouble();
+        double randomValue = RandomUtils.randomDouble();
         if (randomValue <= pulsarGenerationProbability) {
           addPulsarGenerator(aliveCells, row + PulsarGenerator.patternSpacingRow.get(0),
               col + PulsarGenerator.patternSpacingColumn.get(0));
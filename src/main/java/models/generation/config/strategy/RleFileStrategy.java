@@ -0,0 +1,48 @@
+package models.generation.config.strategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import models.grid.GridConfig;
+import models.grid.PackedGridLocations;
+import models.patterns.RleReader;
+
+// Loads an RLE pattern file centred on the board; cells that fall outside the board are dropped.
+// The file is decoded as it is read, straight into packed alive-cell locations.
+@AllArgsConstructor
+@Builder
+public class RleFileStrategy implements GridConfigStrategy {
+  private Path path;
+
+  @Override
+  public GridConfig getConfig(int rows, int columns) {
+    PackedGridLocations aliveCells = new PackedGridLocations();
+    String rule;
+    try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      RleReader reader = new RleReader(in);
+      reader.readHeader();
+      rule = reader.getRule();
+      int rowOffset = (rows - reader.getHeight()) / 2;
+      int columnOffset = (columns - reader.getWidth()) / 2;
+      reader.readCells((row, column) -> {
+        long boardRow = (long) row + rowOffset, boardColumn = (long) column + columnOffset;
+        if (boardRow >= 0 && boardRow < rows && boardColumn >= 0 && boardColumn < columns) {
+          aliveCells.add((int) boardRow, (int) boardColumn);
+        }
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException(path + ": " + e.getMessage(), e);
+    }
+    return GridConfig.builder()
+        .rows(rows)
+        .columns(columns)
+        .aliveCells(aliveCells)
+        .fileRule(rule)
+        .build();
+  }
+}
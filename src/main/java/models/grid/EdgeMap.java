@@ -0,0 +1,39 @@
+package models.grid;
+
+// Where the neighbours of a cell land on a board with a given Topology. The tables are built once
+// per board, so finding a neighbour is two array reads whatever the topology, and only a bounded
+// board ever answers -1, for a neighbour that falls off its edge.
+final class EdgeMap {
+
+  // row + 1 -> row on the board
+  private final int[] rowAt;
+  // [mirrored][column + 1] -> column on the board
+  private final int[][] columnAt;
+  // row + 1 -> 1 where crossing into that row mirrors the columns
+  private final int[] mirrored;
+
+  EdgeMap(Topology topology, int rows, int columns) {
+    rowAt = topology.wrap(rows);
+    int[] plain = topology.wrap(columns);
+    int[] reversed = new int[columns + 2];
+    for (int i = 0; i < columns + 2; i++) {
+      reversed[i] = plain[i] < 0 ? -1 : columns - 1 - plain[i];
+    }
+    columnAt = new int[][]{plain, reversed};
+    mirrored = new int[rows + 2];
+    if (topology.mirrorsAcrossRows()) {
+      mirrored[0] = 1;
+      mirrored[rows + 1] = 1;
+    }
+  }
+
+  // row is at most one past an edge
+  int row(int row) {
+    return rowAt[row + 1];
+  }
+
+  // column of the neighbour at (row, column), each at most one past an edge
+  int column(int row, int column) {
+    return columnAt[mirrored[row + 1]][column + 1];
+  }
+}
@@ -15,28 +15,41 @@ public abstract class Grid implements IBoard {
   @Getter
   int rows, columns;
 
+  @Getter
+  Topology topology;
+  // where neighbours past the edges land, see setTopology
+  private EdgeMap edges;
+
+  // Called by initialize once rows and columns are known.
+  void setTopology(Topology topology) {
+    this.topology = topology;
+    this.edges = new EdgeMap(topology, rows, columns);
+  }
+
   @Override
   public List<ICell> getAdjacentCells(ICell cell) {
     if (!(cell instanceof Cell)) {
       return new ArrayList<>();
     }
-    return GridLocation.getAdjacentDelta().stream()
-        .filter(delta -> deltaInRange((Cell) cell, delta))
-        .map(delta -> this.getCellAt(cell, delta))
-        .collect(Collectors.toList());
-  }
-
-  private boolean deltaInRange(Cell cell, GridLocation delta) {
-    return cell.getRow() + delta.getRow() >= 0 &&
-        cell.getRow() + delta.getRow() < getRows() &&
-        cell.getColumn() + delta.getColumn() >= 0 &&
-        cell.getColumn() + delta.getColumn() < getColumns();
+    int row = ((Cell) cell).getRow(), column = ((Cell) cell).getColumn();
+    List<ICell> adjacentCells = new ArrayList<>(8);
+    for (GridLocation delta : GridLocation.getAdjacentDelta()) {
+      int adjacentRow = edges.row(row + delta.getRow());
+      int adjacentColumn = edges.column(row + delta.getRow(), column + delta.getColumn());
+      // only a bounded board has no cell past its edge
+      if (adjacentRow >= 0 && adjacentColumn >= 0) {
+        adjacentCells.add(cells.get(adjacentRow).get(adjacentColumn));
+      }
+    }
+    return adjacentCells;
   }
 
-  private ICell getCellAt(ICell cell, GridLocation delta) {
-    int row = ((Cell)cell).getRow() + delta.getRow();
-    int column = ((Cell)cell).getColumn() + delta.getColumn();
-    return cells.get(row).get(column);
+  // Row-major index of the cell (rowDelta, columnDelta) away from (row, column), each delta -1, 0
+  // or 1, or -1 past the edge of a bounded board.
+  public int adjacentIndex(int row, int column, int rowDelta, int columnDelta) {
+    int adjacentRow = edges.row(row + rowDelta);
+    int adjacentColumn = edges.column(row + rowDelta, column + columnDelta);
+    return adjacentRow < 0 || adjacentColumn < 0 ? -1 : adjacentRow * columns + adjacentColumn;
   }
 
   public Collection<IBoardLocation> getAliveCellsLocations() {
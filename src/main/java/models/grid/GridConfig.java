@@ -1,5 +1,7 @@
 package models.grid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -7,6 +9,7 @@ import models.interfaces.IBoardConfig;
 
 import java.util.List;
 import models.interfaces.IBoardLocation;
+import models.interfaces.ICheckpoint;
 
 @Builder
 @Getter
@@ -14,4 +17,53 @@ import models.interfaces.IBoardLocation;
 public class GridConfig implements IBoardConfig {
     int rows, columns;
     List<IBoardLocation> aliveCells;
+    // optional quadtree of the whole board centred on (0, 0), e.g. from a macrocell file; GridV5
+    // takes it instead of aliveCells, for other grids aliveCells is the cells of it inside
+    // rows x columns, collected the first time it is asked for
+    QuadNode universe;
+    // optional checkpoint to restore the board from; rulesets that can rebuild their state from
+    // it directly do, for the rest aliveCells is decoded from it the first time it is asked for
+    ICheckpoint checkpoint;
+    // how the edges of the board join up; only some grids support more than BOUNDED
+    @Builder.Default
+    Topology topology = Topology.BOUNDED;
+    // rule named in the header of the pattern file the board was loaded from, if any
+    String fileRule;
+    // generation the loaded pattern file or checkpoint was saved at, 0 if it does not say
+    long generation;
+
+    public List<IBoardLocation> getAliveCells() {
+        if (aliveCells == null && checkpoint != null) {
+            PackedGridLocations locations = new PackedGridLocations();
+            try {
+                checkpoint.readCells(locations::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            aliveCells = locations;
+        } else if (aliveCells == null && universe != null) {
+            PackedGridLocations locations = new PackedGridLocations();
+            long origin = -(1L << (universe.getLevel() - 1));
+            collectWindow(universe, origin, origin, locations);
+            aliveCells = locations;
+        }
+        return aliveCells;
+    }
+
+    private void collectWindow(QuadNode node, long top, long left, PackedGridLocations locations) {
+        long size = 1L << node.getLevel();
+        if (node.getPopulation() == 0 || top >= rows || left >= columns
+            || top + size <= 0 || left + size <= 0) {
+            return;
+        }
+        if (node.getLevel() == 0) {
+            locations.add((int) top, (int) left);
+            return;
+        }
+        long half = size >>> 1;
+        collectWindow(node.getNw(), top, left, locations);
+        collectWindow(node.getNe(), top, left + half, locations);
+        collectWindow(node.getSw(), top + half, left, locations);
+        collectWindow(node.getSe(), top + half, left + half, locations);
+    }
 }
@@ -92,6 +92,7 @@ public class GridV1 extends Grid {
         GridConfig gridConfig = (GridConfig) boardConfig;
         columns = gridConfig.getColumns();
         rows = gridConfig.getRows();
+        setTopology(gridConfig.getTopology());
         setAliveCells(gridConfig.getAliveCells());
     }
 
@@ -0,0 +1,83 @@
+package models.grid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.Setter;
+import models.interfaces.GeneralException;
+import models.interfaces.IBoardConfig;
+import models.interfaces.IBoardLocation;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// this version is GridV3 without the AtomicInteger in every cell: cells are plain Cells and the
+// alive-neighbour counts live in one byte array indexed by row * columns + column, which only
+// the ruleset writes, once per generation. Like GridV3 it is initialised by its ruleset
+// (ClassicRulesetAdjacentCounts), not from the config.
+public class GridV10 extends Grid {
+
+  Logger logger = LoggerFactory.getLogger(GridV10.class);
+  @Getter
+  private byte[] neighbourCounts;
+  // cells that will flip in the next generation
+  @Getter
+  @Setter
+  private List<Cell> pendingFlips = new ArrayList<>();
+  // cells that flipped in the last generation
+  @Setter
+  private List<Cell> lastFlipped = new ArrayList<>();
+
+  public GridV10(IBoardConfig boardConfig) throws GeneralException {
+    initialize(boardConfig);
+  }
+
+  @Override
+  public void updateCells(Collection<ICell> cellsToFlip) {
+    cellsToFlip.forEach(ICell::flipState);
+  }
+
+  @Override
+  public void initialize(IBoardConfig boardConfig) throws GeneralException {
+    if (!boardConfig.getClass().equals(GridConfig.class)) {
+      throw new GridException("Config not supported");
+    }
+    GridConfig gridConfig = (GridConfig) boardConfig;
+    super.columns = gridConfig.getColumns();
+    super.rows = gridConfig.getRows();
+    setTopology(gridConfig.getTopology());
+    neighbourCounts = new byte[rows * columns];
+    initializeCells();
+  }
+
+  private void initializeCells() {
+    super.cells = IntStream.range(0, rows)
+        .mapToObj(row -> IntStream.range(0, columns)
+            .mapToObj(column -> new Cell(new GridLocation(row, column), CellState.DEAD))
+            .collect(Collectors.toList()))
+        .collect(Collectors.toList());
+  }
+
+  public int index(int row, int column) {
+    return row * columns + column;
+  }
+
+  public Cell getCellAt(int index) {
+    return cells.get(index / columns).get(index % columns);
+  }
+
+  public int getNeighbourCount(int row, int column) {
+    return neighbourCounts[index(row, column)];
+  }
+
+  @Override
+  public Collection<IBoardLocation> getLastUpdatedLocations() {
+    return lastFlipped.stream()
+        .map(Cell::getGridLocation)
+        .collect(Collectors.toList());
+  }
+}
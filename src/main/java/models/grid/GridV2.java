@@ -40,6 +40,7 @@ public class GridV2 extends Grid{
         GridConfig gridConfig = (GridConfig) boardConfig;
         super.columns = gridConfig.getColumns();
         super.rows = gridConfig.getRows();
+        setTopology(gridConfig.getTopology());
         initializeCells();
         setAliveCells(gridConfig.getAliveCells());
     }
@@ -39,6 +39,7 @@ public class GridV3 extends Grid{
         GridConfig gridConfig = (GridConfig) boardConfig;
         super.columns = gridConfig.getColumns();
         super.rows = gridConfig.getRows();
+        setTopology(gridConfig.getTopology());
         initializeCells();
     }
 
@@ -51,6 +52,10 @@ public class GridV3 extends Grid{
         .collect(Collectors.toList());
   }
 
+  public CellV2Adjacent getCellAt(int row, int column) {
+    return (CellV2Adjacent) cells.get(row).get(column);
+  }
+
   @Override
   public Collection<IBoardLocation> getLastUpdatedLocations() {
     return updateLocations.values().stream()
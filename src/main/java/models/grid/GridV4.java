@@ -0,0 +1,159 @@
+package models.grid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import models.interfaces.GeneralException;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardConfig;
+import models.interfaces.IBoardLocation;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// this version packs 64 cells into every long (bit j of word w is column 64 * w + j), so a
+// generation is computed a word at a time with bitwise adders, see ClassicRulesetBitPacked
+public class GridV4 implements IBoard {
+
+  Logger logger = LoggerFactory.getLogger(GridV4.class);
+  @Getter
+  private int rows, columns;
+  @Getter
+  private int wordsPerRow;
+  @Getter
+  private long lastWordMask;
+  @Getter
+  private long[] words;
+  @Getter
+  private long[] nextWords;
+  @Getter
+  private long[] flippedWords;
+
+  public GridV4(IBoardConfig boardConfig) throws GeneralException {
+    initialize(boardConfig);
+  }
+
+  @Override
+  public void initialize(IBoardConfig boardConfig) throws GeneralException {
+    if (!boardConfig.getClass().equals(GridConfig.class)) {
+      throw new GridException("Config not supported");
+    }
+    GridConfig gridConfig = (GridConfig) boardConfig;
+    rows = gridConfig.getRows();
+    columns = gridConfig.getColumns();
+    wordsPerRow = (columns + 63) >>> 6;
+    lastWordMask = (columns & 63) == 0 ? -1L : (1L << (columns & 63)) - 1;
+    words = new long[rows * wordsPerRow];
+    nextWords = new long[rows * wordsPerRow];
+    flippedWords = new long[rows * wordsPerRow];
+    gridConfig.getAliveCells().forEach(location -> {
+      GridLocation gridLocation = (GridLocation) location;
+      setAlive(gridLocation.getRow(), gridLocation.getColumn(), true);
+    });
+    System.arraycopy(words, 0, flippedWords, 0, words.length);
+  }
+
+  public boolean isAlive(int row, int column) {
+    return (words[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+  }
+
+  public void setAlive(int row, int column, boolean alive) {
+    int index = row * wordsPerRow + (column >>> 6);
+    if (alive) {
+      words[index] |= 1L << column;
+    } else {
+      words[index] &= ~(1L << column);
+    }
+  }
+
+  // Publishes nextWords as the current generation and records which cells flipped.
+  public void advanceGeneration() {
+    for (int i = 0; i < words.length; i++) {
+      flippedWords[i] = words[i] ^ nextWords[i];
+    }
+    long[] previous = words;
+    words = nextWords;
+    nextWords = previous;
+  }
+
+  @Override
+  public List<ICell> getAdjacentCells(ICell cell) {
+    List<ICell> adjacentCells = new ArrayList<>();
+    if (!(cell instanceof GridCoordinate)) {
+      return adjacentCells;
+    }
+    GridCoordinate coordinate = (GridCoordinate) cell;
+    for (GridLocation delta : GridLocation.getAdjacentDelta()) {
+      int row = coordinate.getRow() + delta.getRow();
+      int column = coordinate.getColumn() + delta.getColumn();
+      if (row >= 0 && row < rows && column >= 0 && column < columns) {
+        adjacentCells.add(getCellAt(new GridLocation(row, column)));
+      }
+    }
+    return adjacentCells;
+  }
+
+  @Override
+  public Collection<IBoardLocation> getLastUpdatedLocations() {
+    return collectLocations(flippedWords, null);
+  }
+
+  public List<ICell> getLastFlippedCells() {
+    return collectCells(flippedWords, null);
+  }
+
+  // Cells that nextWords would flip, before the generation is advanced.
+  public List<ICell> getPendingFlippedCells() {
+    return collectCells(words, nextWords);
+  }
+
+  @Override
+  public Cell getCellAt(IBoardLocation boardLocation) {
+    GridLocation gridLocation = (GridLocation) boardLocation;
+    return GridCellFactory.buildCell(gridLocation,
+        isAlive(gridLocation.getRow(), gridLocation.getColumn()) ? CellState.ALIVE : CellState.DEAD);
+  }
+
+  @Override
+  public void updateCells(Collection<ICell> cellsToFlip) {
+    Arrays.fill(flippedWords, 0);
+    cellsToFlip.forEach(cell -> {
+      GridCoordinate coordinate = (GridCoordinate) cell;
+      int index = coordinate.getRow() * wordsPerRow + (coordinate.getColumn() >>> 6);
+      words[index] ^= 1L << coordinate.getColumn();
+      flippedWords[index] |= 1L << coordinate.getColumn();
+      cell.flipState();
+    });
+  }
+
+  @Override
+  public Collection<IBoardLocation> getAliveCellsLocations() {
+    return collectLocations(words, null);
+  }
+
+  private List<ICell> collectCells(long[] bits, long[] mask) {
+    List<ICell> cells = new ArrayList<>();
+    collectLocations(bits, mask).forEach(location -> cells.add(getCellAt(location)));
+    return cells;
+  }
+
+  // Locations of the set bits of bits, or of bits ^ mask when a mask is given.
+  private List<IBoardLocation> collectLocations(long[] bits, long[] mask) {
+    List<IBoardLocation> locations = new ArrayList<>();
+    for (int row = 0; row < rows; row++) {
+      for (int word = 0; word < wordsPerRow; word++) {
+        int index = row * wordsPerRow + word;
+        long remaining = mask == null ? bits[index] : bits[index] ^ mask[index];
+        while (remaining != 0) {
+          locations.add(new GridLocation(row, (word << 6) + Long.numberOfTrailingZeros(remaining)));
+          remaining &= remaining - 1;
+        }
+      }
+    }
+    return locations;
+  }
+}
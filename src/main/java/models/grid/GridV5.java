@@ -0,0 +1,290 @@
+package models.grid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import models.interfaces.GeneralException;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardConfig;
+import models.interfaces.IBoardLocation;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// this version stores an unbounded universe as a hash-consed quadtree (HashLife), so identical
+// regions are stored once and HashLifeRuleset can jump 2^k generations in a single step. The
+// rows x columns of the config is only the window that is reported to the display; cells outside
+// it keep evolving instead of falling off the edge. The root is always centred on cell (0, 0), as
+// in Golly, so a macrocell tree can be taken or handed out as it is.
+public class GridV5 implements IBoard {
+
+  private static final int MIN_LEVEL = 3;
+
+  Logger logger = LoggerFactory.getLogger(GridV5.class);
+  @Getter
+  private int rows, columns;
+  @Getter
+  private QuadNodeTable nodeTable;
+  @Getter
+  private QuadNode root;
+  // board coordinates of the root's top left cell, always -2^(level - 1)
+  @Getter
+  private long originRow, originColumn;
+  @Getter
+  private long generation;
+  private int wordsPerRow;
+  private long[] windowWords;
+  private long[] flippedWords;
+
+  public GridV5(IBoardConfig boardConfig) throws GeneralException {
+    this(boardConfig, new QuadNodeTable());
+  }
+
+  public GridV5(IBoardConfig boardConfig, QuadNodeTable nodeTable) throws GeneralException {
+    this.nodeTable = nodeTable;
+    initialize(boardConfig);
+  }
+
+  @Override
+  public void initialize(IBoardConfig boardConfig) throws GeneralException {
+    if (!boardConfig.getClass().equals(GridConfig.class)) {
+      throw new GridException("Config not supported");
+    }
+    GridConfig gridConfig = (GridConfig) boardConfig;
+    rows = gridConfig.getRows();
+    columns = gridConfig.getColumns();
+    wordsPerRow = (columns + 63) >>> 6;
+    generation = 0;
+    windowWords = null;
+    if (gridConfig.getUniverse() != null) {
+      setUniverse(nodeTable.intern(gridConfig.getUniverse()));
+      return;
+    }
+    setUniverse(nodeTable.empty(MIN_LEVEL));
+    gridConfig.getAliveCells().forEach(location -> {
+      GridLocation gridLocation = (GridLocation) location;
+      setAlive(gridLocation.getRow(), gridLocation.getColumn(), true);
+    });
+    windowWords = rasterizeWindow(root, originRow, originColumn);
+    flippedWords = windowWords.clone();
+  }
+
+  // Replaces the universe with a tree of this grid's node table, centred on (0, 0) and grown
+  // until it covers the window.
+  public void setUniverse(QuadNode universe) {
+    root = universe;
+    originRow = originColumn = -(1L << (root.getLevel() - 1));
+    while (root.getLevel() < MIN_LEVEL
+        || (1L << (root.getLevel() - 1)) < Math.max(rows, columns)) {
+      expandUniverse();
+    }
+    windowWords = rasterizeWindow(root, originRow, originColumn);
+    flippedWords = windowWords.clone();
+  }
+
+  public boolean isAlive(long row, long column) {
+    long size = 1L << root.getLevel();
+    long r = row - originRow, c = column - originColumn;
+    if (r < 0 || c < 0 || r >= size || c >= size) {
+      return false;
+    }
+    QuadNode node = root;
+    while (node.getLevel() > 0) {
+      long half = 1L << (node.getLevel() - 1);
+      boolean south = r >= half, east = c >= half;
+      node = south ? (east ? node.getSe() : node.getSw()) : (east ? node.getNe() : node.getNw());
+      r -= south ? half : 0;
+      c -= east ? half : 0;
+    }
+    return node.isAlive();
+  }
+
+  public void setAlive(long row, long column, boolean alive) {
+    while (!contains(row, column)) {
+      expandUniverse();
+    }
+    root = setAlive(root, row - originRow, column - originColumn, alive);
+    if (windowWords != null && row >= 0 && row < rows && column >= 0 && column < columns) {
+      int index = (int) row * wordsPerRow + ((int) column >>> 6);
+      long bit = 1L << column;
+      windowWords[index] = alive ? windowWords[index] | bit : windowWords[index] & ~bit;
+    }
+  }
+
+  private QuadNode setAlive(QuadNode node, long r, long c, boolean alive) {
+    if (node.getLevel() == 0) {
+      return nodeTable.cell(alive);
+    }
+    long half = 1L << (node.getLevel() - 1);
+    if (r < half) {
+      return c < half
+          ? nodeTable.node(setAlive(node.getNw(), r, c, alive), node.getNe(), node.getSw(), node.getSe())
+          : nodeTable.node(node.getNw(), setAlive(node.getNe(), r, c - half, alive), node.getSw(), node.getSe());
+    }
+    return c < half
+        ? nodeTable.node(node.getNw(), node.getNe(), setAlive(node.getSw(), r - half, c, alive), node.getSe())
+        : nodeTable.node(node.getNw(), node.getNe(), node.getSw(), setAlive(node.getSe(), r - half, c - half, alive));
+  }
+
+  private boolean contains(long row, long column) {
+    long size = 1L << root.getLevel();
+    return row >= originRow && row < originRow + size
+        && column >= originColumn && column < originColumn + size;
+  }
+
+  // Doubles the universe around its centre; the population is unchanged.
+  public void expandUniverse() {
+    QuadNode empty = nodeTable.empty(root.getLevel() - 1);
+    long shift = 1L << (root.getLevel() - 1);
+    root = nodeTable.node(
+        nodeTable.node(empty, empty, empty, root.getNw()),
+        nodeTable.node(empty, empty, root.getNe(), empty),
+        nodeTable.node(empty, root.getSw(), empty, empty),
+        nodeTable.node(root.getSe(), empty, empty, empty));
+    originRow -= shift;
+    originColumn -= shift;
+  }
+
+  // True when every live cell sits in the centre 2^(level-2) square, so that a step of up to
+  // 2^(level-3) generations cannot reach the edge of the root's centre.
+  public boolean isPopulationCentred() {
+    return root.getNw().getPopulation() == root.getNw().getSe().getSe().getPopulation()
+        && root.getNe().getPopulation() == root.getNe().getSw().getSw().getPopulation()
+        && root.getSw().getPopulation() == root.getSw().getNe().getNe().getPopulation()
+        && root.getSe().getPopulation() == root.getSe().getNw().getNw().getPopulation();
+  }
+
+  // Replaces the universe with the advanced centre of the current root (one level smaller).
+  public void advanceTo(QuadNode centre, long generations) {
+    long shift = 1L << (root.getLevel() - 2);
+    root = centre;
+    originRow += shift;
+    originColumn += shift;
+    generation += generations;
+    long[] nextWindow = rasterizeWindow(root, originRow, originColumn);
+    for (int i = 0; i < nextWindow.length; i++) {
+      flippedWords[i] = windowWords[i] ^ nextWindow[i];
+    }
+    windowWords = nextWindow;
+    if (nodeTable.isFull()) {
+      logger.debug("Collecting node table at {} nodes", nodeTable.size());
+      nodeTable.collect(root);
+    }
+  }
+
+  // Cells inside the window that differ between the current root and the advanced centre.
+  public List<ICell> getFlippedCellsFor(QuadNode centre) {
+    long shift = 1L << (root.getLevel() - 2);
+    long[] nextWindow = rasterizeWindow(centre, originRow + shift, originColumn + shift);
+    for (int i = 0; i < nextWindow.length; i++) {
+      nextWindow[i] ^= windowWords[i];
+    }
+    List<ICell> cells = new ArrayList<>();
+    collectLocations(nextWindow).forEach(location -> cells.add(getCellAt(location)));
+    return cells;
+  }
+
+  private long[] rasterizeWindow(QuadNode node, long top, long left) {
+    long[] window = new long[rows * wordsPerRow];
+    rasterize(node, top, left, window);
+    return window;
+  }
+
+  private void rasterize(QuadNode node, long top, long left, long[] window) {
+    long size = 1L << node.getLevel();
+    if (node.getPopulation() == 0 || top >= rows || left >= columns
+        || top + size <= 0 || left + size <= 0) {
+      return;
+    }
+    if (node.getLevel() == 0) {
+      window[(int) top * wordsPerRow + ((int) left >>> 6)] |= 1L << left;
+      return;
+    }
+    long half = size >>> 1;
+    rasterize(node.getNw(), top, left, window);
+    rasterize(node.getNe(), top, left + half, window);
+    rasterize(node.getSw(), top + half, left, window);
+    rasterize(node.getSe(), top + half, left + half, window);
+  }
+
+  private boolean isAliveInWindow(int row, int column) {
+    return (windowWords[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+  }
+
+  private boolean inWindow(int row, int column) {
+    return row >= 0 && row < rows && column >= 0 && column < columns;
+  }
+
+  @Override
+  public List<ICell> getAdjacentCells(ICell cell) {
+    List<ICell> adjacentCells = new ArrayList<>();
+    if (!(cell instanceof GridCoordinate)) {
+      return adjacentCells;
+    }
+    GridCoordinate coordinate = (GridCoordinate) cell;
+    for (GridLocation delta : GridLocation.getAdjacentDelta()) {
+      int row = coordinate.getRow() + delta.getRow();
+      int column = coordinate.getColumn() + delta.getColumn();
+      if (inWindow(row, column)) {
+        adjacentCells.add(getCellAt(new GridLocation(row, column)));
+      }
+    }
+    return adjacentCells;
+  }
+
+  @Override
+  public Collection<IBoardLocation> getLastUpdatedLocations() {
+    return collectLocations(flippedWords);
+  }
+
+  public List<ICell> getLastFlippedCells() {
+    List<ICell> cells = new ArrayList<>();
+    collectLocations(flippedWords).forEach(location -> cells.add(getCellAt(location)));
+    return cells;
+  }
+
+  @Override
+  public Cell getCellAt(IBoardLocation boardLocation) {
+    GridLocation gridLocation = (GridLocation) boardLocation;
+    int row = gridLocation.getRow(), column = gridLocation.getColumn();
+    boolean alive = inWindow(row, column) ? isAliveInWindow(row, column) : isAlive(row, column);
+    return GridCellFactory.buildCell(gridLocation, alive ? CellState.ALIVE : CellState.DEAD);
+  }
+
+  @Override
+  public void updateCells(Collection<ICell> cellsToFlip) {
+    Arrays.fill(flippedWords, 0);
+    cellsToFlip.forEach(cell -> {
+      GridCoordinate coordinate = (GridCoordinate) cell;
+      int row = coordinate.getRow(), column = coordinate.getColumn();
+      setAlive(row, column, !isAlive(row, column));
+      if (inWindow(row, column)) {
+        flippedWords[row * wordsPerRow + (column >>> 6)] |= 1L << column;
+      }
+      cell.flipState();
+    });
+  }
+
+  @Override
+  public Collection<IBoardLocation> getAliveCellsLocations() {
+    return collectLocations(windowWords);
+  }
+
+  private List<IBoardLocation> collectLocations(long[] bits) {
+    List<IBoardLocation> locations = new ArrayList<>();
+    for (int row = 0; row < rows; row++) {
+      for (int word = 0; word < wordsPerRow; word++) {
+        long remaining = bits[row * wordsPerRow + word];
+        while (remaining != 0) {
+          locations.add(new GridLocation(row, (word << 6) + Long.numberOfTrailingZeros(remaining)));
+          remaining &= remaining - 1;
+        }
+      }
+    }
+    return locations;
+  }
+}
@@ -0,0 +1,163 @@
+package models.grid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import models.interfaces.GeneralException;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardConfig;
+import models.interfaces.IBoardLocation;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.LongArrayList;
+import utils.LongHashSet;
+import utils.LongIntHashMap;
+
+// this version is the sparse counterpart of GridV1 without any per-cell objects: live cells and
+// non-zero neighbour counts live in open-addressing tables keyed by packed coordinates, so memory
+// and time follow the live population. Like GridV5 the board is unbounded and rows x columns is
+// only the window that is reported to the display.
+public class GridV6 implements IBoard {
+
+  Logger logger = LoggerFactory.getLogger(GridV6.class);
+  @Getter
+  private int rows, columns;
+  @Getter
+  private LongHashSet aliveCells;
+  @Getter
+  private LongIntHashMap neighbourCounts;
+  @Getter
+  private LongHashSet lastFlipped;
+
+  public GridV6(IBoardConfig boardConfig) throws GeneralException {
+    initialize(boardConfig);
+  }
+
+  public static long pack(int row, int column) {
+    return ((long) row << 32) | (column & 0xffffffffL);
+  }
+
+  public static int rowOf(long packed) {
+    return (int) (packed >> 32);
+  }
+
+  public static int columnOf(long packed) {
+    return (int) packed;
+  }
+
+  @Override
+  public void initialize(IBoardConfig boardConfig) throws GeneralException {
+    if (!boardConfig.getClass().equals(GridConfig.class)) {
+      throw new GridException("Config not supported");
+    }
+    GridConfig gridConfig = (GridConfig) boardConfig;
+    rows = gridConfig.getRows();
+    columns = gridConfig.getColumns();
+    aliveCells = new LongHashSet(gridConfig.getAliveCells().size());
+    neighbourCounts = new LongIntHashMap(gridConfig.getAliveCells().size() * 4);
+    lastFlipped = new LongHashSet(gridConfig.getAliveCells().size());
+    LongArrayList births = new LongArrayList(gridConfig.getAliveCells().size());
+    gridConfig.getAliveCells().forEach(location -> {
+      GridLocation gridLocation = (GridLocation) location;
+      long cell = pack(gridLocation.getRow(), gridLocation.getColumn());
+      if (!aliveCells.contains(cell) && lastFlipped.add(cell)) {
+        births.add(cell);
+      }
+    });
+    applyFlips(births);
+  }
+
+  public boolean isAlive(int row, int column) {
+    return aliveCells.contains(pack(row, column));
+  }
+
+  // Flips every cell in flips (each at most once) and keeps the neighbour counts in step.
+  public void applyFlips(LongArrayList flips) {
+    lastFlipped.clear();
+    for (int i = 0; i < flips.size(); i++) {
+      long cell = flips.get(i);
+      lastFlipped.add(cell);
+      int delta = aliveCells.remove(cell) ? -1 : 1;
+      if (delta > 0) {
+        aliveCells.add(cell);
+      }
+      int row = rowOf(cell), column = columnOf(cell);
+      for (int dr = -1; dr <= 1; dr++) {
+        for (int dc = -1; dc <= 1; dc++) {
+          if (dr != 0 || dc != 0) {
+            neighbourCounts.add(pack(row + dr, column + dc), delta);
+          }
+        }
+      }
+    }
+  }
+
+  private boolean inWindow(int row, int column) {
+    return row >= 0 && row < rows && column >= 0 && column < columns;
+  }
+
+  @Override
+  public List<ICell> getAdjacentCells(ICell cell) {
+    List<ICell> adjacentCells = new ArrayList<>();
+    if (!(cell instanceof GridCoordinate)) {
+      return adjacentCells;
+    }
+    GridCoordinate coordinate = (GridCoordinate) cell;
+    for (GridLocation delta : GridLocation.getAdjacentDelta()) {
+      int row = coordinate.getRow() + delta.getRow();
+      int column = coordinate.getColumn() + delta.getColumn();
+      if (inWindow(row, column)) {
+        adjacentCells.add(getCellAt(new GridLocation(row, column)));
+      }
+    }
+    return adjacentCells;
+  }
+
+  @Override
+  public Collection<IBoardLocation> getLastUpdatedLocations() {
+    return collectLocations(lastFlipped);
+  }
+
+  public List<ICell> getLastFlippedCells() {
+    List<ICell> cells = new ArrayList<>();
+    collectLocations(lastFlipped).forEach(location -> cells.add(getCellAt(location)));
+    return cells;
+  }
+
+  @Override
+  public Cell getCellAt(IBoardLocation boardLocation) {
+    GridLocation gridLocation = (GridLocation) boardLocation;
+    return GridCellFactory.buildCell(gridLocation,
+        isAlive(gridLocation.getRow(), gridLocation.getColumn()) ? CellState.ALIVE : CellState.DEAD);
+  }
+
+  @Override
+  public void updateCells(Collection<ICell> cellsToFlip) {
+    LongArrayList flips = new LongArrayList(cellsToFlip.size());
+    cellsToFlip.forEach(cell -> {
+      GridCoordinate coordinate = (GridCoordinate) cell;
+      flips.add(pack(coordinate.getRow(), coordinate.getColumn()));
+      cell.flipState();
+    });
+    applyFlips(flips);
+  }
+
+  @Override
+  public Collection<IBoardLocation> getAliveCellsLocations() {
+    return collectLocations(aliveCells);
+  }
+
+  private List<IBoardLocation> collectLocations(LongHashSet cells) {
+    List<IBoardLocation> locations = new ArrayList<>();
+    cells.forEach(cell -> {
+      if (inWindow(rowOf(cell), columnOf(cell))) {
+        locations.add(new GridLocation(rowOf(cell), columnOf(cell)));
+      }
+    });
+    return locations;
+  }
+}
@@ -0,0 +1,296 @@
+package models.grid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import models.interfaces.GeneralException;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardConfig;
+import models.interfaces.IBoardLocation;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// this version splits the board into 64x64 tiles, each stored as 64 bit-packed rows, and only
+// tiles that changed in the last generation (or whose neighbour's touching border changed) are
+// stepped again. Regions that have settled go dormant and cost nothing until something reaches
+// their border.
+public class GridV7 implements IBoard {
+
+  public static final int TILE_SIZE = 64;
+
+  Logger logger = LoggerFactory.getLogger(GridV7.class);
+  @Getter
+  private int rows, columns;
+  @Getter
+  private int tileRows, tileColumns;
+  private long[][] tiles;
+  private long[][] nextTiles;
+  private long[][] flippedTiles;
+  // tiles whose flippedTiles entry describes the last generation
+  private int[] flippedTileIndexes;
+  private int flippedTileCount;
+  private boolean[] active;
+  private int[] activeTiles;
+  @Getter
+  private int activeTileCount;
+  private long lastColumnMask;
+
+  public GridV7(IBoardConfig boardConfig) throws GeneralException {
+    initialize(boardConfig);
+  }
+
+  @Override
+  public void initialize(IBoardConfig boardConfig) throws GeneralException {
+    if (!boardConfig.getClass().equals(GridConfig.class)) {
+      throw new GridException("Config not supported");
+    }
+    GridConfig gridConfig = (GridConfig) boardConfig;
+    rows = gridConfig.getRows();
+    columns = gridConfig.getColumns();
+    tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+    tileColumns = (columns + TILE_SIZE - 1) / TILE_SIZE;
+    int tileCount = tileRows * tileColumns;
+    tiles = new long[tileCount][TILE_SIZE];
+    nextTiles = new long[tileCount][TILE_SIZE];
+    flippedTiles = new long[tileCount][TILE_SIZE];
+    flippedTileIndexes = new int[tileCount];
+    active = new boolean[tileCount];
+    activeTiles = new int[tileCount];
+    lastColumnMask = (columns % TILE_SIZE) == 0 ? -1L : (1L << (columns % TILE_SIZE)) - 1;
+    flippedTileCount = 0;
+    activeTileCount = 0;
+    updateCells(gridConfig.getAliveCells().stream()
+        .map(location -> (ICell) GridCellFactory.buildCell((GridLocation) location, CellState.DEAD))
+        .distinct()
+        .collect(Collectors.toList()));
+  }
+
+  public boolean isAlive(int row, int column) {
+    return (tiles[tileIndex(row / TILE_SIZE, column / TILE_SIZE)][row % TILE_SIZE]
+        & (1L << column)) != 0;
+  }
+
+  public int tileIndex(int tileRow, int tileColumn) {
+    return tileRow * tileColumns + tileColumn;
+  }
+
+  // Number of board rows that fall inside the given row of tiles.
+  public int rowsInTile(int tileRow) {
+    return Math.min(TILE_SIZE, rows - tileRow * TILE_SIZE);
+  }
+
+  public long columnMask(int tileColumn) {
+    return tileColumn == tileColumns - 1 ? lastColumnMask : -1L;
+  }
+
+  // Row r of tile (tileRow, tileColumn) in the current generation, where r may run one row into
+  // the tiles above or below; anything outside the board reads as dead.
+  public long wordAt(int tileRow, int tileColumn, int r) {
+    if (r < 0) {
+      tileRow--;
+      r += TILE_SIZE;
+    } else if (r >= TILE_SIZE) {
+      tileRow++;
+      r -= TILE_SIZE;
+    }
+    if (tileRow < 0 || tileRow >= tileRows || tileColumn < 0 || tileColumn >= tileColumns) {
+      return 0;
+    }
+    return tiles[tileIndex(tileRow, tileColumn)][r];
+  }
+
+  public long[] getNextTile(int tileIndex) {
+    return nextTiles[tileIndex];
+  }
+
+  public int[] getActiveTiles() {
+    return Arrays.copyOf(activeTiles, activeTileCount);
+  }
+
+  // Hands out the tiles to step this generation and starts collecting the next active set.
+  public int[] drainActiveTiles() {
+    int[] drained = getActiveTiles();
+    for (int tile : drained) {
+      active[tile] = false;
+    }
+    activeTileCount = 0;
+    return drained;
+  }
+
+  // Publishes the next generation of every stepped tile, then wakes each tile that changed
+  // along with the neighbours whose touching border changed.
+  public void commitTiles(int[] steppedTiles) {
+    flippedTileCount = 0;
+    for (int tile : steppedTiles) {
+      long[] current = tiles[tile], next = nextTiles[tile], flipped = flippedTiles[tile];
+      long changed = 0;
+      for (int r = 0; r < TILE_SIZE; r++) {
+        flipped[r] = current[r] ^ next[r];
+        changed |= flipped[r];
+      }
+      tiles[tile] = next;
+      nextTiles[tile] = current;
+      if (changed != 0) {
+        flippedTileIndexes[flippedTileCount++] = tile;
+      }
+    }
+    for (int i = 0; i < flippedTileCount; i++) {
+      wakeAround(flippedTileIndexes[i]);
+    }
+  }
+
+  private void wakeAround(int tile) {
+    int tileRow = tile / tileColumns, tileColumn = tile % tileColumns;
+    long[] flipped = flippedTiles[tile];
+    long westEdge = 0, eastEdge = 0;
+    for (long word : flipped) {
+      westEdge |= word & 1L;
+      eastEdge |= word >>> 63;
+    }
+    long top = flipped[0], bottom = flipped[TILE_SIZE - 1];
+    markActive(tileRow, tileColumn);
+    if (top != 0) {
+      markActive(tileRow - 1, tileColumn);
+    }
+    if (bottom != 0) {
+      markActive(tileRow + 1, tileColumn);
+    }
+    if (westEdge != 0) {
+      markActive(tileRow, tileColumn - 1);
+    }
+    if (eastEdge != 0) {
+      markActive(tileRow, tileColumn + 1);
+    }
+    if ((top & 1L) != 0) {
+      markActive(tileRow - 1, tileColumn - 1);
+    }
+    if ((top >>> 63) != 0) {
+      markActive(tileRow - 1, tileColumn + 1);
+    }
+    if ((bottom & 1L) != 0) {
+      markActive(tileRow + 1, tileColumn - 1);
+    }
+    if ((bottom >>> 63) != 0) {
+      markActive(tileRow + 1, tileColumn + 1);
+    }
+  }
+
+  private void markActive(int tileRow, int tileColumn) {
+    if (tileRow < 0 || tileRow >= tileRows || tileColumn < 0 || tileColumn >= tileColumns) {
+      return;
+    }
+    int tile = tileIndex(tileRow, tileColumn);
+    if (!active[tile]) {
+      active[tile] = true;
+      activeTiles[activeTileCount++] = tile;
+    }
+  }
+
+  @Override
+  public List<ICell> getAdjacentCells(ICell cell) {
+    List<ICell> adjacentCells = new ArrayList<>();
+    if (!(cell instanceof GridCoordinate)) {
+      return adjacentCells;
+    }
+    GridCoordinate coordinate = (GridCoordinate) cell;
+    for (GridLocation delta : GridLocation.getAdjacentDelta()) {
+      int row = coordinate.getRow() + delta.getRow();
+      int column = coordinate.getColumn() + delta.getColumn();
+      if (row >= 0 && row < rows && column >= 0 && column < columns) {
+        adjacentCells.add(getCellAt(new GridLocation(row, column)));
+      }
+    }
+    return adjacentCells;
+  }
+
+  @Override
+  public Collection<IBoardLocation> getLastUpdatedLocations() {
+    List<IBoardLocation> locations = new ArrayList<>();
+    for (int i = 0; i < flippedTileCount; i++) {
+      collectLocations(flippedTiles, flippedTileIndexes[i], locations);
+    }
+    return locations;
+  }
+
+  public List<ICell> getLastFlippedCells() {
+    List<ICell> cells = new ArrayList<>();
+    getLastUpdatedLocations().forEach(location -> cells.add(getCellAt(location)));
+    return cells;
+  }
+
+  // Cells of the given tiles that differ between the current and the computed next generation.
+  public List<ICell> getPendingFlippedCells(int[] steppedTiles) {
+    List<IBoardLocation> locations = new ArrayList<>();
+    long[][] pending = new long[tiles.length][];
+    for (int tile : steppedTiles) {
+      pending[tile] = new long[TILE_SIZE];
+      for (int r = 0; r < TILE_SIZE; r++) {
+        pending[tile][r] = tiles[tile][r] ^ nextTiles[tile][r];
+      }
+      collectLocations(pending, tile, locations);
+    }
+    List<ICell> cells = new ArrayList<>();
+    locations.forEach(location -> cells.add(getCellAt(location)));
+    return cells;
+  }
+
+  @Override
+  public Cell getCellAt(IBoardLocation boardLocation) {
+    GridLocation gridLocation = (GridLocation) boardLocation;
+    return GridCellFactory.buildCell(gridLocation,
+        isAlive(gridLocation.getRow(), gridLocation.getColumn()) ? CellState.ALIVE : CellState.DEAD);
+  }
+
+  @Override
+  public void updateCells(Collection<ICell> cellsToFlip) {
+    for (int i = 0; i < flippedTileCount; i++) {
+      Arrays.fill(flippedTiles[flippedTileIndexes[i]], 0);
+    }
+    flippedTileCount = 0;
+    boolean[] touched = new boolean[tiles.length];
+    cellsToFlip.forEach(cell -> {
+      GridCoordinate coordinate = (GridCoordinate) cell;
+      int tile = tileIndex(coordinate.getRow() / TILE_SIZE, coordinate.getColumn() / TILE_SIZE);
+      long bit = 1L << coordinate.getColumn();
+      tiles[tile][coordinate.getRow() % TILE_SIZE] ^= bit;
+      flippedTiles[tile][coordinate.getRow() % TILE_SIZE] ^= bit;
+      if (!touched[tile]) {
+        touched[tile] = true;
+        flippedTileIndexes[flippedTileCount++] = tile;
+      }
+      cell.flipState();
+    });
+    for (int i = 0; i < flippedTileCount; i++) {
+      wakeAround(flippedTileIndexes[i]);
+    }
+  }
+
+  @Override
+  public Collection<IBoardLocation> getAliveCellsLocations() {
+    List<IBoardLocation> locations = new ArrayList<>();
+    for (int tile = 0; tile < tiles.length; tile++) {
+      collectLocations(tiles, tile, locations);
+    }
+    return locations;
+  }
+
+  private void collectLocations(long[][] bits, int tile, List<IBoardLocation> locations) {
+    int rowOffset = (tile / tileColumns) * TILE_SIZE;
+    int columnOffset = (tile % tileColumns) * TILE_SIZE;
+    long[] words = bits[tile];
+    for (int r = 0; r < TILE_SIZE; r++) {
+      long remaining = words[r];
+      while (remaining != 0) {
+        locations.add(new GridLocation(
+            rowOffset + r, columnOffset + Long.numberOfTrailingZeros(remaining)));
+        remaining &= remaining - 1;
+      }
+    }
+  }
+}
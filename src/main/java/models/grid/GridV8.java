@@ -0,0 +1,187 @@
+package models.grid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import models.interfaces.GeneralException;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardConfig;
+import models.interfaces.IBoardLocation;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// this version keeps the current and next generation as two flat byte arrays (one byte per cell,
+// 1 = alive) that are swapped every step. Each row is padded with a ghost border cell on both sides
+// and a ghost row above and below the board, so the stepping sweep never needs a bounds check. On
+// a bounded board the ghosts stay dead; on a torus or Klein bottle they are refilled from the
+// opposite edges after every generation, so the sweep wraps round without knowing it.
+public class GridV8 implements IBoard {
+
+  Logger logger = LoggerFactory.getLogger(GridV8.class);
+  @Getter
+  private int rows, columns;
+  // distance between vertically adjacent cells, i.e. columns plus the two border cells
+  @Getter
+  private int stride;
+  @Getter
+  private byte[] cells;
+  @Getter
+  private byte[] nextCells;
+  // indexes into cells of the cells that flipped in the last (or the pending) generation
+  @Getter
+  private int[] flippedIndexes;
+  private int flippedCount;
+  @Getter
+  private Topology topology;
+  private EdgeMap edges;
+
+  public GridV8(IBoardConfig boardConfig) throws GeneralException {
+    initialize(boardConfig);
+  }
+
+  @Override
+  public void initialize(IBoardConfig boardConfig) throws GeneralException {
+    if (!boardConfig.getClass().equals(GridConfig.class)) {
+      throw new GridException("Config not supported");
+    }
+    GridConfig gridConfig = (GridConfig) boardConfig;
+    rows = gridConfig.getRows();
+    columns = gridConfig.getColumns();
+    stride = columns + 2;
+    cells = new byte[(rows + 2) * stride];
+    nextCells = new byte[(rows + 2) * stride];
+    flippedIndexes = new int[rows * columns];
+    flippedCount = 0;
+    topology = gridConfig.getTopology();
+    edges = new EdgeMap(topology, rows, columns);
+    gridConfig.getAliveCells().forEach(location -> {
+      GridLocation gridLocation = (GridLocation) location;
+      int index = index(gridLocation.getRow(), gridLocation.getColumn());
+      if (cells[index] == 0) {
+        cells[index] = 1;
+        flippedIndexes[flippedCount++] = index;
+      }
+    });
+    fillGhostBorder();
+  }
+
+  public int index(int row, int column) {
+    return (row + 1) * stride + column + 1;
+  }
+
+  public boolean isAlive(int row, int column) {
+    return cells[index(row, column)] != 0;
+  }
+
+  // Publishes nextCells as the current generation; the ruleset has already written the indexes
+  // of the flipped cells to flippedIndexes.
+  public void advanceGeneration(int flippedCount) {
+    this.flippedCount = flippedCount;
+    byte[] previous = cells;
+    cells = nextCells;
+    nextCells = previous;
+    fillGhostBorder();
+  }
+
+  // Copies the edge rows and columns into the ghosts beyond the opposite edges, rows first so that
+  // the corners come from the wrapped rows; a Klein bottle copies the rows mirrored. A bounded
+  // board's ghosts are never written and stay dead.
+  private void fillGhostBorder() {
+    if (topology == Topology.BOUNDED) {
+      return;
+    }
+    int firstRow = stride, lastRow = rows * stride, belowLastRow = (rows + 1) * stride;
+    if (topology.mirrorsAcrossRows()) {
+      for (int column = 1; column <= columns; column++) {
+        cells[column] = cells[lastRow + columns + 1 - column];
+        cells[belowLastRow + column] = cells[firstRow + columns + 1 - column];
+      }
+    } else {
+      System.arraycopy(cells, lastRow, cells, 0, stride);
+      System.arraycopy(cells, firstRow, cells, belowLastRow, stride);
+    }
+    for (int rowStart = 0; rowStart <= belowLastRow; rowStart += stride) {
+      cells[rowStart] = cells[rowStart + columns];
+      cells[rowStart + columns + 1] = cells[rowStart + 1];
+    }
+  }
+
+  @Override
+  public List<ICell> getAdjacentCells(ICell cell) {
+    List<ICell> adjacentCells = new ArrayList<>();
+    if (!(cell instanceof GridCoordinate)) {
+      return adjacentCells;
+    }
+    GridCoordinate coordinate = (GridCoordinate) cell;
+    for (GridLocation delta : GridLocation.getAdjacentDelta()) {
+      int row = edges.row(coordinate.getRow() + delta.getRow());
+      int column = edges.column(coordinate.getRow() + delta.getRow(), coordinate.getColumn() + delta.getColumn());
+      // only a bounded board has no cell past its edge
+      if (row >= 0 && column >= 0) {
+        adjacentCells.add(getCellAt(new GridLocation(row, column)));
+      }
+    }
+    return adjacentCells;
+  }
+
+  @Override
+  public Collection<IBoardLocation> getLastUpdatedLocations() {
+    return collectLocations(flippedIndexes, flippedCount);
+  }
+
+  public List<ICell> getLastFlippedCells() {
+    return getFlippedCells(flippedCount);
+  }
+
+  // The first count cells of flippedIndexes, read from the current generation.
+  public List<ICell> getFlippedCells(int count) {
+    List<ICell> flippedCells = new ArrayList<>(count);
+    collectLocations(flippedIndexes, count).forEach(location -> flippedCells.add(getCellAt(location)));
+    return flippedCells;
+  }
+
+  @Override
+  public Cell getCellAt(IBoardLocation boardLocation) {
+    GridLocation gridLocation = (GridLocation) boardLocation;
+    return GridCellFactory.buildCell(gridLocation,
+        isAlive(gridLocation.getRow(), gridLocation.getColumn()) ? CellState.ALIVE : CellState.DEAD);
+  }
+
+  @Override
+  public void updateCells(Collection<ICell> cellsToFlip) {
+    flippedCount = 0;
+    cellsToFlip.forEach(cell -> {
+      GridCoordinate coordinate = (GridCoordinate) cell;
+      int index = index(coordinate.getRow(), coordinate.getColumn());
+      cells[index] ^= 1;
+      flippedIndexes[flippedCount++] = index;
+      cell.flipState();
+    });
+    fillGhostBorder();
+  }
+
+  @Override
+  public Collection<IBoardLocation> getAliveCellsLocations() {
+    List<IBoardLocation> locations = new ArrayList<>();
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        if (cells[index(row, column)] != 0) {
+          locations.add(new GridLocation(row, column));
+        }
+      }
+    }
+    return locations;
+  }
+
+  private List<IBoardLocation> collectLocations(int[] indexes, int count) {
+    List<IBoardLocation> locations = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      locations.add(new GridLocation(indexes[i] / stride - 1, indexes[i] % stride - 1));
+    }
+    return locations;
+  }
+}
@@ -0,0 +1,193 @@
+package models.grid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import models.interfaces.GeneralException;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardConfig;
+import models.interfaces.IBoardLocation;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.LongArrayList;
+import utils.OffHeapByteArray;
+
+// this version keeps one byte per cell off-heap (alive bit, neighbour count and a queued flag,
+// see the masks below) in lazily allocated direct buffers addressed by a long index, so the
+// board can exceed both 2^31 cells and the Java heap. Neighbour counts are maintained
+// incrementally like GridV3, but without a single object per cell.
+public class GridV9 implements IBoard {
+
+  public static final int ALIVE = 1;
+  public static final int COUNT_SHIFT = 1;
+  public static final int COUNT_MASK = 0xF << COUNT_SHIFT;
+  public static final int QUEUED = 1 << 5;
+
+  Logger logger = LoggerFactory.getLogger(GridV9.class);
+  @Getter
+  private int rows, columns;
+  @Getter
+  private OffHeapByteArray cells;
+  // board indexes of the cells flipped in the last generation
+  @Getter
+  private LongArrayList lastFlipped;
+
+  public GridV9(IBoardConfig boardConfig) throws GeneralException {
+    initialize(boardConfig);
+  }
+
+  @Override
+  public void initialize(IBoardConfig boardConfig) throws GeneralException {
+    if (!boardConfig.getClass().equals(GridConfig.class)) {
+      throw new GridException("Config not supported");
+    }
+    GridConfig gridConfig = (GridConfig) boardConfig;
+    rows = gridConfig.getRows();
+    columns = gridConfig.getColumns();
+    cells = new OffHeapByteArray((long) rows * columns);
+    // the births become the first generation's flips, so the live cells are listed on-heap once
+    LongArrayList births = new LongArrayList(gridConfig.getAliveCells().size());
+    gridConfig.getAliveCells().forEach(location -> {
+      GridLocation gridLocation = (GridLocation) location;
+      long index = index(gridLocation.getRow(), gridLocation.getColumn());
+      // queued doubles as "already listed" so duplicate locations are flipped only once
+      if ((cells.get(index) & QUEUED) == 0) {
+        cells.put(index, (byte) QUEUED);
+        births.add(index);
+      }
+    });
+    for (int i = 0; i < births.size(); i++) {
+      cells.put(births.get(i), (byte) 0);
+    }
+    for (int i = 0; i < births.size(); i++) {
+      flip(births.get(i));
+    }
+    lastFlipped = births;
+  }
+
+  public long index(int row, int column) {
+    return (long) row * columns + column;
+  }
+
+  public int rowOf(long index) {
+    return (int) (index / columns);
+  }
+
+  public int columnOf(long index) {
+    return (int) (index % columns);
+  }
+
+  public boolean isAlive(int row, int column) {
+    return (cells.get(index(row, column)) & ALIVE) != 0;
+  }
+
+  public int getNeighbourCount(int row, int column) {
+    return (cells.get(index(row, column)) & COUNT_MASK) >>> COUNT_SHIFT;
+  }
+
+  // Flips every cell in flips (each at most once) and keeps the neighbour counts in step.
+  public void applyFlips(LongArrayList flips) {
+    lastFlipped.clear();
+    for (int i = 0; i < flips.size(); i++) {
+      lastFlipped.add(flips.get(i));
+      flip(flips.get(i));
+    }
+  }
+
+  private void flip(long index) {
+    byte cell = cells.get(index);
+    cells.put(index, (byte) (cell ^ ALIVE));
+    int delta = (cell & ALIVE) != 0 ? -(1 << COUNT_SHIFT) : 1 << COUNT_SHIFT;
+    int row = rowOf(index), column = columnOf(index);
+    for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+      for (int c = Math.max(0, column - 1); c <= Math.min(columns - 1, column + 1); c++) {
+        if (r != row || c != column) {
+          long neighbour = index(r, c);
+          cells.put(neighbour, (byte) (cells.get(neighbour) + delta));
+        }
+      }
+    }
+  }
+
+  @Override
+  public List<ICell> getAdjacentCells(ICell cell) {
+    List<ICell> adjacentCells = new ArrayList<>();
+    if (!(cell instanceof GridCoordinate)) {
+      return adjacentCells;
+    }
+    GridCoordinate coordinate = (GridCoordinate) cell;
+    for (GridLocation delta : GridLocation.getAdjacentDelta()) {
+      int row = coordinate.getRow() + delta.getRow();
+      int column = coordinate.getColumn() + delta.getColumn();
+      if (row >= 0 && row < rows && column >= 0 && column < columns) {
+        adjacentCells.add(getCellAt(new GridLocation(row, column)));
+      }
+    }
+    return adjacentCells;
+  }
+
+  @Override
+  public Collection<IBoardLocation> getLastUpdatedLocations() {
+    return collectLocations(lastFlipped);
+  }
+
+  public List<ICell> getLastFlippedCells() {
+    List<ICell> flippedCells = new ArrayList<>(lastFlipped.size());
+    collectLocations(lastFlipped).forEach(location -> flippedCells.add(getCellAt(location)));
+    return flippedCells;
+  }
+
+  @Override
+  public Cell getCellAt(IBoardLocation boardLocation) {
+    GridLocation gridLocation = (GridLocation) boardLocation;
+    return GridCellFactory.buildCell(gridLocation,
+        isAlive(gridLocation.getRow(), gridLocation.getColumn()) ? CellState.ALIVE : CellState.DEAD);
+  }
+
+  @Override
+  public void updateCells(Collection<ICell> cellsToFlip) {
+    LongArrayList flips = new LongArrayList(cellsToFlip.size());
+    cellsToFlip.forEach(cell -> {
+      GridCoordinate coordinate = (GridCoordinate) cell;
+      flips.add(index(coordinate.getRow(), coordinate.getColumn()));
+      cell.flipState();
+    });
+    applyFlips(flips);
+  }
+
+  // Walks the whole board, skipping chunks that were never written.
+  @Override
+  public Collection<IBoardLocation> getAliveCellsLocations() {
+    List<IBoardLocation> locations = new ArrayList<>();
+    long length = cells.length();
+    for (long index = 0; index < length; ) {
+      if (cells.isUnallocated(index)) {
+        index = OffHeapByteArray.nextChunkStart(index);
+        continue;
+      }
+      if ((cells.get(index) & ALIVE) != 0) {
+        locations.add(new GridLocation(rowOf(index), columnOf(index)));
+      }
+      index++;
+    }
+    return locations;
+  }
+
+  // Drops the off-heap chunks; the board reads as empty afterwards.
+  @Override
+  public void close() {
+    cells.release();
+  }
+
+  private List<IBoardLocation> collectLocations(LongArrayList indexes) {
+    List<IBoardLocation> locations = new ArrayList<>(indexes.size());
+    for (int i = 0; i < indexes.size(); i++) {
+      locations.add(new GridLocation(rowOf(indexes.get(i)), columnOf(indexes.get(i))));
+    }
+    return locations;
+  }
+}
@@ -0,0 +1,29 @@
+package models.grid;
+
+import java.util.AbstractList;
+import models.interfaces.IBoardLocation;
+import utils.LongArrayList;
+
+// Read-only list of grid locations stored as one packed long each (row in the high half, column
+// in the low half) instead of a GridLocation object each; get builds the GridLocation on demand.
+// Lets a GridConfig carry millions of alive cells, e.g. from a large pattern file, at 8 bytes a
+// cell.
+public class PackedGridLocations extends AbstractList<IBoardLocation> {
+
+  private final LongArrayList packed = new LongArrayList();
+
+  public void add(int row, int column) {
+    packed.add(((long) row << 32) | (column & 0xffffffffL));
+  }
+
+  @Override
+  public IBoardLocation get(int index) {
+    long location = packed.get(index);
+    return new GridLocation((int) (location >> 32), (int) location);
+  }
+
+  @Override
+  public int size() {
+    return packed.size();
+  }
+}
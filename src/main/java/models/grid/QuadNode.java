@@ -0,0 +1,58 @@
+package models.grid;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// A canonical quadtree node as used by GridV5. Nodes are only created through QuadNodeTable, so
+// two nodes with identical children are the same object and equality never looks further down
+// than one level. A level k node covers a 2^k x 2^k square; level 0 nodes are single cells.
+@Getter
+public final class QuadNode {
+
+  private final int level;
+  private final QuadNode nw, ne, sw, se;
+  private final long population;
+  private final int hash;
+  // centre of this node advanced by the step the owning table is currently caching for
+  @Setter
+  private QuadNode result;
+
+  QuadNode(boolean alive) {
+    level = 0;
+    nw = ne = sw = se = null;
+    population = alive ? 1 : 0;
+    hash = alive ? 1 : 0;
+  }
+
+  QuadNode(QuadNode nw, QuadNode ne, QuadNode sw, QuadNode se) {
+    this.level = nw.level + 1;
+    this.nw = nw;
+    this.ne = ne;
+    this.sw = sw;
+    this.se = se;
+    this.population = nw.population + ne.population + sw.population + se.population;
+    this.hash = ((((level * 31 + nw.hash) * 31 + ne.hash) * 31 + sw.hash) * 31 + se.hash);
+  }
+
+  public boolean isAlive() {
+    return population != 0;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof QuadNode)) {
+      return false;
+    }
+    QuadNode other = (QuadNode) o;
+    return level == other.level && level > 0
+        && nw == other.nw && ne == other.ne && sw == other.sw && se == other.se;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+}
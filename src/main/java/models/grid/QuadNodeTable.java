@@ -0,0 +1,111 @@
+package models.grid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+// Interns QuadNodes so that every distinct square exists exactly once, and owns the results
+// cached on them. Once more than maxNodes are interned, collect() drops every node that the
+// current universe no longer references, together with all cached results.
+public class QuadNodeTable {
+
+  public static final int DEFAULT_MAX_NODES = 1 << 21;
+
+  private final QuadNode deadCell = new QuadNode(false);
+  private final QuadNode aliveCell = new QuadNode(true);
+  private final Map<QuadNode, QuadNode> nodes = new HashMap<>();
+  private final List<QuadNode> emptyNodes = new ArrayList<>();
+  @Getter
+  private final int maxNodes;
+  // step (as log2 of generations) that the cached results were computed for
+  @Getter
+  private int cachedStepLog2 = -1;
+
+  public QuadNodeTable() {
+    this(DEFAULT_MAX_NODES);
+  }
+
+  public QuadNodeTable(int maxNodes) {
+    this.maxNodes = maxNodes;
+    emptyNodes.add(deadCell);
+  }
+
+  public QuadNode cell(boolean alive) {
+    return alive ? aliveCell : deadCell;
+  }
+
+  public QuadNode node(QuadNode nw, QuadNode ne, QuadNode sw, QuadNode se) {
+    QuadNode candidate = new QuadNode(nw, ne, sw, se);
+    QuadNode existing = nodes.putIfAbsent(candidate, candidate);
+    return existing == null ? candidate : existing;
+  }
+
+  public QuadNode empty(int level) {
+    while (emptyNodes.size() <= level) {
+      QuadNode smaller = emptyNodes.get(emptyNodes.size() - 1);
+      emptyNodes.add(node(smaller, smaller, smaller, smaller));
+    }
+    return emptyNodes.get(level);
+  }
+
+  // The same tree built from this table's nodes, e.g. one read by another table; shared subtrees
+  // are copied once.
+  public QuadNode intern(QuadNode node) {
+    return intern(node, new IdentityHashMap<>());
+  }
+
+  private QuadNode intern(QuadNode node, Map<QuadNode, QuadNode> copies) {
+    if (node.getLevel() == 0) {
+      return cell(node.isAlive());
+    }
+    QuadNode copy = copies.get(node);
+    if (copy == null) {
+      copy = node(intern(node.getNw(), copies), intern(node.getNe(), copies),
+          intern(node.getSw(), copies), intern(node.getSe(), copies));
+      copies.put(node, copy);
+    }
+    return copy;
+  }
+
+  public int size() {
+    return nodes.size();
+  }
+
+  public boolean isFull() {
+    return nodes.size() > maxNodes;
+  }
+
+  // Cached results are only valid for one step size; switching step size forgets them all.
+  public void useStep(int stepLog2) {
+    if (stepLog2 != cachedStepLog2) {
+      nodes.values().forEach(node -> node.setResult(null));
+      cachedStepLog2 = stepLog2;
+    }
+  }
+
+  // Keeps only the nodes reachable from root and drops every cached result.
+  public void collect(QuadNode root) {
+    nodes.clear();
+    int emptyLevels = emptyNodes.size();
+    emptyNodes.clear();
+    emptyNodes.add(deadCell);
+    retain(root);
+    empty(emptyLevels - 1);
+    emptyNodes.forEach(node -> node.setResult(null));
+  }
+
+  private void retain(QuadNode node) {
+    if (node.getLevel() == 0 || nodes.containsKey(node)) {
+      return;
+    }
+    node.setResult(null);
+    nodes.put(node, node);
+    retain(node.getNw());
+    retain(node.getNe());
+    retain(node.getSw());
+    retain(node.getSe());
+  }
+}
@@ -0,0 +1,27 @@
+package models.grid;
+
+// How the edges of a rows x columns board join up. BOUNDED is a plane with dead cells all round,
+// so patterns that reach an edge break up there. TORUS joins the left edge to the right and the
+// top to the bottom, so spaceships come back round. KLEIN_BOTTLE joins left to right the same way,
+// but top to bottom with the columns mirrored, so a glider leaving through the top comes back
+// through the bottom reflected.
+public enum Topology {
+  BOUNDED, TORUS, KLEIN_BOTTLE;
+
+  // Where each row or column from -1 to size lands on the board, at index + 1, or -1 where a
+  // bounded board has none.
+  public int[] wrap(int size) {
+    int[] at = new int[size + 2];
+    for (int i = 0; i < size; i++) {
+      at[i + 1] = i;
+    }
+    at[0] = this == BOUNDED ? -1 : size - 1;
+    at[size + 1] = this == BOUNDED ? -1 : 0;
+    return at;
+  }
+
+  // Whether crossing the top or bottom edge mirrors the columns.
+  public boolean mirrorsAcrossRows() {
+    return this == KLEIN_BOTTLE;
+  }
+}
@@ -3,7 +3,7 @@ package models.interfaces;
 import java.util.Collection;
 import java.util.List;
 
-public interface IBoard {
+public interface IBoard extends AutoCloseable {
     void initialize(IBoardConfig boardConfig) throws GeneralException;
 
   List<ICell> getAdjacentCells(ICell cell);
@@ -13,4 +13,9 @@ public interface IBoard {
   void updateCells(Collection<ICell> cellsToFlip);
 
   Collection<IBoardLocation> getAliveCellsLocations();
+
+  // Releases memory the board holds outside the Java heap; most boards hold none.
+  @Override
+  default void close() {
+  }
 }
@@ -0,0 +1,18 @@
+package models.interfaces;
+
+import java.io.IOException;
+
+// A saved board: its size, the generation it was saved at and its live cells, which can be read
+// more than once.
+public interface ICheckpoint {
+  int getRows();
+  int getColumns();
+  long getGeneration();
+  long getPopulation();
+
+  void readCells(CellSink sink) throws IOException;
+
+  interface CellSink {
+    void accept(int row, int column);
+  }
+}
@@ -0,0 +1,136 @@
+package models.patterns;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import models.grid.Topology;
+import models.interfaces.ICheckpoint;
+
+// Reads a checkpoint written by CheckpointWriter. The file is read in one go and closed, so a run
+// can save over the checkpoint it was loaded from; a mapping would stay open until collected, and
+// Windows refuses to replace a mapped file. The runs take a few bytes each, far less than the
+// board. The header and checksum are checked when it is opened, and readCells decodes the runs
+// from the bytes, handing every live cell to a CellSink. Cells can be read more than once.
+public class CheckpointReader implements ICheckpoint {
+
+  private static final int V1_HEADER_BYTES = 4 + 1 + 4 + 4 + 8 + 8;
+  private static final int HEADER_BYTES = V1_HEADER_BYTES + 1;
+  private static final int CRC_BYTES = 4;
+
+  private final Path path;
+  private final ByteBuffer data;
+  private final int rows, columns;
+  private final long generation, population;
+  private final int runsStart;
+  private final Topology topology;
+
+  public CheckpointReader(Path path) throws IOException {
+    this.path = path;
+    data = ByteBuffer.wrap(Files.readAllBytes(path));
+    if (data.capacity() < V1_HEADER_BYTES + CRC_BYTES) {
+      throw error("not a checkpoint, size " + data.capacity());
+    }
+    if (data.getInt(0) != CheckpointWriter.MAGIC) {
+      throw error("not a checkpoint, bad magic");
+    }
+    int version = data.get(4);
+    if (version != 1 && version != CheckpointWriter.VERSION) {
+      throw error("unsupported checkpoint version " + version);
+    }
+    runsStart = version == 1 ? V1_HEADER_BYTES : HEADER_BYTES;
+    if (data.capacity() < runsStart + CRC_BYTES) {
+      throw error("not a checkpoint, size " + data.capacity());
+    }
+    ByteBuffer body = data.duplicate();
+    body.limit(data.capacity() - CRC_BYTES);
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    if ((int) crc.getValue() != data.getInt(data.capacity() - CRC_BYTES)) {
+      throw error("checksum mismatch, the file is truncated or corrupt");
+    }
+    rows = data.getInt(5);
+    columns = data.getInt(9);
+    generation = data.getLong(13);
+    population = data.getLong(21);
+    if (rows < 1 || columns < 1 || (long) rows * columns > Integer.MAX_VALUE) {
+      throw error("bad board size " + rows + " x " + columns);
+    }
+    int ordinal = version == 1 ? 0 : data.get(V1_HEADER_BYTES);
+    if (ordinal < 0 || ordinal >= Topology.values().length) {
+      throw error("unknown topology " + ordinal);
+    }
+    topology = Topology.values()[ordinal];
+  }
+
+  @Override
+  public int getRows() {
+    return rows;
+  }
+
+  @Override
+  public int getColumns() {
+    return columns;
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public long getPopulation() {
+    return population;
+  }
+
+  public Topology getTopology() {
+    return topology;
+  }
+
+  @Override
+  public void readCells(CellSink sink) throws IOException {
+    ByteBuffer runs = data.duplicate();
+    runs.position(runsStart);
+    runs.limit(data.capacity() - CRC_BYTES);
+    long cells = (long) rows * columns;
+    long index = 0, decoded = 0;
+    try {
+      while (runs.hasRemaining()) {
+        index += readVarint(runs);
+        long end = index + readVarint(runs);
+        if (end > cells) {
+          throw error("run past the end of the board");
+        }
+        decoded += end - index;
+        for (; index < end; index++) {
+          sink.accept((int) (index / columns), (int) (index % columns));
+        }
+      }
+    } catch (BufferUnderflowException e) {
+      throw error("run cut short");
+    }
+    if (decoded != population) {
+      throw error(decoded + " live cells, header says " + population);
+    }
+  }
+
+  private long readVarint(ByteBuffer in) throws IOException {
+    long value = 0;
+    for (int shift = 0; ; shift += 7) {
+      if (shift > 56) {
+        throw error("run length too long");
+      }
+      byte b = in.get();
+      value |= (long) (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+  }
+
+  private IOException error(String message) {
+    return new IOException(path + ": " + message);
+  }
+}
@@ -0,0 +1,82 @@
+package models.patterns;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import models.grid.Topology;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardLocation;
+
+// Writes a board and its generation number as a binary checkpoint, laid out big-endian:
+//
+//   magic "GOLC", version (1 byte), rows (int), columns (int), generation (long),
+//   population (long), topology (1 byte, Topology ordinal), runs..., CRC32 of everything before it
+//   (int)
+//
+// The cells are read in row-major order as alternating dead and alive runs, starting with a dead
+// one (which may be 0), each stored as an unsigned LEB128 varint; the trailing dead run is left
+// out. A sparse board costs a few bytes per live cell, and solid regions a few bytes per row.
+// Version 1 files have no topology byte and are bounded.
+public class CheckpointWriter {
+
+  static final int MAGIC = 0x474F4C43;
+  static final int VERSION = 2;
+
+  private final OutputStream out;
+
+  // out should be buffered; runs are written a byte at a time
+  public CheckpointWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  public void write(IBoard board, int rows, int columns, long generation) throws IOException {
+    write(board, rows, columns, Topology.BOUNDED, generation);
+  }
+
+  // Cells outside rows x columns, which GridV5 can have, are not part of the checkpoint.
+  public void write(IBoard board, int rows, int columns, Topology topology, long generation)
+      throws IOException {
+    if ((long) rows * columns > Integer.MAX_VALUE) {
+      throw new IOException("board of " + rows + " x " + columns + " is too large to checkpoint");
+    }
+    BitSet cells = new BitSet(rows * columns);
+    for (IBoardLocation location : board.getAliveCellsLocations()) {
+      GridCoordinate coordinate = (GridCoordinate) location;
+      int row = coordinate.getRow(), column = coordinate.getColumn();
+      if (row >= 0 && row < rows && column >= 0 && column < columns) {
+        cells.set(row * columns + column);
+      }
+    }
+
+    CRC32 crc = new CRC32();
+    DataOutputStream data = new DataOutputStream(new CheckedOutputStream(out, crc));
+    data.writeInt(MAGIC);
+    data.writeByte(VERSION);
+    data.writeInt(rows);
+    data.writeInt(columns);
+    data.writeLong(generation);
+    data.writeLong(cells.cardinality());
+    data.writeByte(topology.ordinal());
+    int end = 0;
+    for (int start = cells.nextSetBit(0); start >= 0; start = cells.nextSetBit(end)) {
+      writeVarint(data, start - end);
+      end = cells.nextClearBit(start);
+      writeVarint(data, end - start);
+    }
+    data.flush();
+    new DataOutputStream(out).writeInt((int) crc.getValue());
+    out.flush();
+  }
+
+  private static void writeVarint(DataOutputStream data, long value) throws IOException {
+    while ((value & ~0x7fL) != 0) {
+      data.writeByte((int) (value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    data.writeByte((int) value);
+  }
+}
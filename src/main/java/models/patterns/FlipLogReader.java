@@ -0,0 +1,222 @@
+package models.patterns;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import models.grid.GridLocation;
+import models.grid.PackedGridLocations;
+import models.interfaces.GridCoordinate;
+
+// Plays back a log written by FlipLogWriter. The constructor reads the header and the opening
+// keyframe; seek moves forward to any generation by skipping whole records up to the keyframe
+// before it and applying the flips after that; nextFlips then hands out one generation at a time.
+// Keyframes met along the way are skipped, and a record cut short at the end of the file, as left
+// by a run that was killed mid-write, ends the log like a clean end of file.
+public class FlipLogReader {
+
+  private final DataInputStream in;
+  private final int rows, columns, keyframeInterval;
+  private byte[] payload = new byte[256];
+  private int position, limit;
+  private long generation;
+  private BitSet cells;
+  private boolean ended;
+
+  // in should be buffered
+  public FlipLogReader(InputStream in) throws IOException {
+    this.in = new DataInputStream(in);
+    if (this.in.readInt() != FlipLogWriter.MAGIC) {
+      throw new IOException("not a flip log, bad magic");
+    }
+    int version = this.in.readUnsignedByte();
+    if (version != FlipLogWriter.VERSION) {
+      throw new IOException("unsupported flip log version " + version);
+    }
+    rows = this.in.readInt();
+    columns = this.in.readInt();
+    keyframeInterval = this.in.readInt();
+    if (rows < 1 || columns < 1 || (long) rows * columns > Integer.MAX_VALUE || keyframeInterval < 1) {
+      throw new IOException("bad flip log header " + rows + " x " + columns + ", keyframes every "
+          + keyframeInterval);
+    }
+    if (readHeader() != FlipLogWriter.KEYFRAME) {
+      throw new IOException("flip log does not start with a keyframe");
+    }
+    readPayload();
+    readKeyframe();
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public long getGeneration() {
+    return generation;
+  }
+
+  // Live cells at the current generation; only valid before the first nextFlips.
+  public PackedGridLocations getCells() {
+    PackedGridLocations locations = new PackedGridLocations();
+    for (int index = cells.nextSetBit(0); index >= 0; index = cells.nextSetBit(index + 1)) {
+      locations.add(index / columns, index % columns);
+    }
+    return locations;
+  }
+
+  // Moves forward to the given generation, or to the end of the log if it ends after the keyframe
+  // at or below the target. Every record before that keyframe, keyframes included, is skipped by
+  // its length without being decoded, so the live cells are stale until it is reached, and a log
+  // that ends first is an error. Keyframes after it add nothing to the flips and are skipped too.
+  public void seek(long target) throws IOException {
+    long keyframe = target / keyframeInterval * keyframeInterval;
+    boolean stale = false;
+    while (!ended && (generation < target || stale)) {
+      int kind = readHeader();
+      if (kind < 0) {
+        break;
+      }
+      if (generation < keyframe || kind == FlipLogWriter.KEYFRAME && !stale) {
+        skipPayload();
+        if (kind == FlipLogWriter.FLIPS) {
+          generation++;
+          stale = true;
+        }
+        continue;
+      }
+      readPayload();
+      if (ended) {
+        break;
+      }
+      if (kind == FlipLogWriter.KEYFRAME) {
+        readKeyframe();
+        stale = false;
+      } else {
+        for (int count = readCount(), index = 0; count > 0; count--) {
+          index += readVarint();
+          cells.flip(index);
+        }
+        generation++;
+      }
+    }
+    if (stale) {
+      throw new IOException("flip log ends at generation " + generation + ", before the keyframe for "
+          + keyframe);
+    }
+  }
+
+  // Cells flipped by the next generation, or null at the end of the log.
+  public List<GridCoordinate> nextFlips() throws IOException {
+    int kind = readHeader();
+    while (kind == FlipLogWriter.KEYFRAME) {
+      skipPayload();
+      kind = readHeader();
+    }
+    if (kind != FlipLogWriter.FLIPS) {
+      return null;
+    }
+    readPayload();
+    if (ended) {
+      return null;
+    }
+    int count = readCount();
+    List<GridCoordinate> flips = new ArrayList<>(count);
+    for (int index = 0; count > 0; count--) {
+      index += readVarint();
+      flips.add(new GridLocation(index / columns, index % columns));
+    }
+    generation++;
+    return flips;
+  }
+
+  private void readKeyframe() throws IOException {
+    generation = readVarint();
+    cells = new BitSet(rows * columns);
+    for (int count = readCount(), index = 0; count > 0; count--) {
+      index += readVarint();
+      cells.set(index);
+    }
+  }
+
+  // Reads the next record's kind and payload length, returning -1 once the log has ended.
+  private int readHeader() throws IOException {
+    if (ended) {
+      return -1;
+    }
+    try {
+      int kind = in.readUnsignedByte();
+      long length = 0;
+      for (int shift = 0; ; shift += 7) {
+        int b = in.readUnsignedByte();
+        length |= (long) (b & 0x7f) << shift;
+        if (b < 0x80) {
+          break;
+        }
+      }
+      if (length > Integer.MAX_VALUE || kind > FlipLogWriter.KEYFRAME) {
+        throw new IOException("bad flip log record after generation " + generation);
+      }
+      limit = (int) length;
+      return kind;
+    } catch (EOFException e) {
+      ended = true;
+      return -1;
+    }
+  }
+
+  private void readPayload() throws IOException {
+    if (payload.length < limit) {
+      payload = new byte[Math.max(limit, payload.length * 2)];
+    }
+    try {
+      in.readFully(payload, 0, limit);
+    } catch (EOFException e) {
+      ended = true;
+      limit = 0;
+    }
+    position = 0;
+  }
+
+  private void skipPayload() throws IOException {
+    int skipped = 0;
+    while (skipped < limit) {
+      int n = in.skipBytes(limit - skipped);
+      if (n == 0) {
+        ended = true;
+        return;
+      }
+      skipped += n;
+    }
+  }
+
+  // Every index takes at least a byte, so a count larger than the rest of the record is corrupt.
+  private int readCount() throws IOException {
+    long count = readVarint();
+    if (count > limit - position) {
+      throw new IOException("bad flip log record after generation " + generation + ", " + count
+          + " cells in " + (limit - position) + " bytes");
+    }
+    return (int) count;
+  }
+
+  private long readVarint() throws IOException {
+    long value = 0;
+    for (int shift = 0; ; shift += 7) {
+      if (position >= limit) {
+        throw new IOException("flip log record cut short after generation " + generation);
+      }
+      byte b = payload[position++];
+      value |= (long) (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+  }
+}
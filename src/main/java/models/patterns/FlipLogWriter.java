@@ -0,0 +1,124 @@
+package models.patterns;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+
+// Records a run as the cells that flip each generation, for FlipLogReader to play back without
+// the rules. The log starts with a header, magic "GOLF", version (1 byte), rows (int), columns
+// (int), keyframe interval (int), followed by one record per generation:
+//
+//   kind (1 byte), payload length (varint), payload
+//
+// A FLIPS payload is the number of flipped cells and their row-major indexes in ascending order,
+// the first as is and each later one as its gap to the one before, all as varints; most gaps in a
+// busy region fit in one byte. A KEYFRAME payload is the generation number followed by the live
+// cells the same way. There is a keyframe for generation 0 and after every keyframe interval
+// generations, so a reader can start anywhere by skipping to the keyframe before it.
+public class FlipLogWriter implements Closeable {
+
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 1000;
+
+  static final int MAGIC = 0x474F4C46;
+  static final int VERSION = 1;
+  static final int FLIPS = 0;
+  static final int KEYFRAME = 1;
+
+  private final DataOutputStream out;
+  private final int rows, columns, keyframeInterval;
+  private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+  private int[] indexes = new int[0];
+  private long generation;
+
+  // out should be buffered; records are written a byte at a time
+  public FlipLogWriter(OutputStream out, int rows, int columns, int keyframeInterval) {
+    this.out = new DataOutputStream(out);
+    this.rows = rows;
+    this.columns = columns;
+    this.keyframeInterval = keyframeInterval;
+  }
+
+  // Writes the header and the keyframe for generation 0.
+  public void start(IBoard board) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeInt(rows);
+    out.writeInt(columns);
+    out.writeInt(keyframeInterval);
+    writeKeyframe(board);
+  }
+
+  // Appends one generation; flips are the cells or locations updateState flipped, board the state
+  // after them, read only when a keyframe is due.
+  public void record(Collection<?> flips, IBoard board) throws IOException {
+    payload.reset();
+    writeCells(flips);
+    writeRecord(FLIPS);
+    generation++;
+    if (generation % keyframeInterval == 0) {
+      writeKeyframe(board);
+    }
+  }
+
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private void writeKeyframe(IBoard board) throws IOException {
+    payload.reset();
+    writeVarint(generation);
+    writeCells(board.getAliveCellsLocations());
+    writeRecord(KEYFRAME);
+  }
+
+  private void writeCells(Collection<?> cells) {
+    if (indexes.length < cells.size()) {
+      indexes = new int[Math.max(cells.size(), indexes.length * 2)];
+    }
+    int count = 0;
+    for (Object cell : cells) {
+      GridCoordinate coordinate = (GridCoordinate) cell;
+      if (coordinate.getRow() >= 0 && coordinate.getRow() < rows
+          && coordinate.getColumn() >= 0 && coordinate.getColumn() < columns) {
+        indexes[count++] = coordinate.getRow() * columns + coordinate.getColumn();
+      }
+    }
+    Arrays.sort(indexes, 0, count);
+    writeVarint(count);
+    int previous = 0;
+    for (int i = 0; i < count; i++) {
+      writeVarint(indexes[i] - previous);
+      previous = indexes[i];
+    }
+  }
+
+  private void writeRecord(int kind) throws IOException {
+    out.writeByte(kind);
+    long length = payload.size();
+    while ((length & ~0x7fL) != 0) {
+      out.writeByte((int) (length & 0x7f) | 0x80);
+      length >>>= 7;
+    }
+    out.writeByte((int) length);
+    payload.writeTo(out);
+  }
+
+  private void writeVarint(long value) {
+    while ((value & ~0x7fL) != 0) {
+      payload.write((int) (value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    payload.write((int) value);
+  }
+}
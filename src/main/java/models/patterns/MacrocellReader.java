@@ -0,0 +1,141 @@
+package models.patterns;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import models.grid.QuadNode;
+import models.grid.QuadNodeTable;
+
+// Reader for Golly's macrocell format, a quadtree written bottom up with every distinct node on
+// one line:
+//
+//   [M2] (golly 4.2)
+//   #R B3/S23
+//   .*$..*$***$
+//   4 1 0 0 0
+//
+// A leaf line is an 8x8 level 3 node in rows of . and *, each ended by $ (trailing dead cells and
+// rows left out). Any other line is "level nw ne sw se", where the children are the 1-based line
+// numbers of earlier nodes and 0 is an empty node; at level 1 they are cell states instead. The
+// last node is the root, centred on (0, 0). Lines are interned into a QuadNodeTable as they are
+// read, so a shared subtree is built once however often it is referenced.
+public class MacrocellReader {
+
+  private static final String DEFAULT_RULE = "B3/S23";
+  private static final int LEAF_LEVEL = 3;
+  private static final int LEAF_SIZE = 1 << LEAF_LEVEL;
+
+  private final BufferedReader in;
+  private final QuadNodeTable nodeTable;
+  private final List<QuadNode> nodes = new ArrayList<>();
+  private String rule = DEFAULT_RULE;
+  private long generation;
+  private int line;
+
+  public MacrocellReader(BufferedReader in, QuadNodeTable nodeTable) {
+    this.in = in;
+    this.nodeTable = nodeTable;
+  }
+
+  public String getRule() {
+    return rule;
+  }
+
+  // generation from the #G line, 0 if there is none
+  public long getGeneration() {
+    return generation;
+  }
+
+  // Returns the root, or an empty level 3 node for a file without nodes.
+  public QuadNode read() throws IOException {
+    String text = in.readLine();
+    line = 1;
+    if (text == null || !text.startsWith("[M2]")) {
+      throw error("not a macrocell file, expected [M2]");
+    }
+    while ((text = in.readLine()) != null) {
+      line++;
+      if (text.startsWith("#R")) {
+        rule = text.substring(2).trim();
+      } else if (text.startsWith("#G")) {
+        generation = parseLong(text.substring(2).trim());
+      } else if (text.startsWith("#") || text.trim().isEmpty()) {
+        continue;
+      } else if (text.charAt(0) == '.' || text.charAt(0) == '*' || text.charAt(0) == '$') {
+        nodes.add(readLeaf(text));
+      } else {
+        nodes.add(readNode(text));
+      }
+    }
+    return nodes.isEmpty() ? nodeTable.empty(LEAF_LEVEL) : nodes.get(nodes.size() - 1);
+  }
+
+  private QuadNode readLeaf(String text) throws IOException {
+    boolean[][] cells = new boolean[LEAF_SIZE][LEAF_SIZE];
+    int row = 0, column = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '$') {
+        row++;
+        column = 0;
+        continue;
+      }
+      if ((c != '.' && c != '*') || row >= LEAF_SIZE || column >= LEAF_SIZE) {
+        throw error("bad leaf '" + text + "'");
+      }
+      cells[row][column++] = c == '*';
+    }
+    return leaf(cells, LEAF_LEVEL, 0, 0);
+  }
+
+  private QuadNode leaf(boolean[][] cells, int level, int top, int left) {
+    if (level == 0) {
+      return nodeTable.cell(cells[top][left]);
+    }
+    int half = 1 << (level - 1);
+    return nodeTable.node(
+        leaf(cells, level - 1, top, left), leaf(cells, level - 1, top, left + half),
+        leaf(cells, level - 1, top + half, left), leaf(cells, level - 1, top + half, left + half));
+  }
+
+  private QuadNode readNode(String text) throws IOException {
+    String[] fields = text.trim().split("\\s+");
+    if (fields.length != 5) {
+      throw error("expected 'level nw ne sw se', got '" + text + "'");
+    }
+    int level = (int) parseLong(fields[0]);
+    if (level < 1 || level > 62) {
+      throw error("bad level " + level);
+    }
+    QuadNode[] children = new QuadNode[4];
+    for (int i = 0; i < 4; i++) {
+      long child = parseLong(fields[i + 1]);
+      if (level == 1) {
+        children[i] = nodeTable.cell(child != 0);
+      } else if (child == 0) {
+        children[i] = nodeTable.empty(level - 1);
+      } else if (child > nodes.size()) {
+        throw error("node " + child + " is not defined yet");
+      } else {
+        children[i] = nodes.get((int) child - 1);
+        if (children[i].getLevel() != level - 1) {
+          throw error("node " + child + " is level " + children[i].getLevel() + ", not " + (level - 1));
+        }
+      }
+    }
+    return nodeTable.node(children[0], children[1], children[2], children[3]);
+  }
+
+  private long parseLong(String value) throws IOException {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw error("bad number '" + value + "'");
+    }
+  }
+
+  private IOException error(String message) {
+    return new IOException("Macrocell line " + line + ": " + message);
+  }
+}
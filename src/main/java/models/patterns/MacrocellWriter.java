@@ -0,0 +1,99 @@
+package models.patterns;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import models.grid.GridV5;
+import models.grid.QuadNode;
+
+// Writes a quadtree in the macrocell format MacrocellReader reads. Nodes go out bottom up, each
+// distinct node once, and later lines refer to them by line number, so the file grows with the
+// number of distinct regions rather than with the population or the area.
+public class MacrocellWriter {
+
+  private static final int LEAF_LEVEL = 3;
+  private static final int LEAF_SIZE = 1 << LEAF_LEVEL;
+
+  private final Writer out;
+  // line number of every node written so far; empty nodes are 0 and never written
+  private final Map<QuadNode, Integer> lineNumbers = new IdentityHashMap<>();
+
+  public MacrocellWriter(Writer out) {
+    this.out = out;
+  }
+
+  public void write(GridV5 grid, String rule) throws IOException {
+    write(grid, grid.getGeneration(), rule);
+  }
+
+  // generation replaces the grid's own count, which starts from 0 whatever the board was loaded at.
+  public void write(GridV5 grid, long generation, String rule) throws IOException {
+    while (grid.getRoot().getLevel() < LEAF_LEVEL) {
+      grid.expandUniverse();
+    }
+    write(grid.getRoot(), generation, rule);
+  }
+
+  // root must be at least level 3 and is taken to be centred on (0, 0).
+  public void write(QuadNode root, long generation, String rule) throws IOException {
+    if (root.getLevel() < LEAF_LEVEL) {
+      throw new IllegalArgumentException("root must be at least level 3, got " + root.getLevel());
+    }
+    out.write("[M2] (GameOfLife)\n");
+    out.write("#R " + rule + "\n");
+    if (generation != 0) {
+      out.write("#G " + generation + "\n");
+    }
+    lineNumbers.clear();
+    writeNode(root);
+    out.flush();
+  }
+
+  private int writeNode(QuadNode node) throws IOException {
+    if (node.getPopulation() == 0) {
+      return 0;
+    }
+    Integer written = lineNumbers.get(node);
+    if (written != null) {
+      return written;
+    }
+    if (node.getLevel() == LEAF_LEVEL) {
+      writeLeaf(node);
+    } else {
+      int nw = writeNode(node.getNw()), ne = writeNode(node.getNe());
+      int sw = writeNode(node.getSw()), se = writeNode(node.getSe());
+      out.write(node.getLevel() + " " + nw + " " + ne + " " + sw + " " + se + "\n");
+    }
+    int lineNumber = lineNumbers.size() + 1;
+    lineNumbers.put(node, lineNumber);
+    return lineNumber;
+  }
+
+  private void writeLeaf(QuadNode node) throws IOException {
+    StringBuilder text = new StringBuilder();
+    for (int row = 0; row < LEAF_SIZE; row++) {
+      int lastAlive = -1;
+      for (int column = 0; column < LEAF_SIZE; column++) {
+        if (isAlive(node, row, column)) {
+          lastAlive = column;
+        }
+      }
+      for (int column = 0; column <= lastAlive; column++) {
+        text.append(isAlive(node, row, column) ? '*' : '.');
+      }
+      text.append('$');
+    }
+    out.write(text.append('\n').toString());
+  }
+
+  private static boolean isAlive(QuadNode node, int row, int column) {
+    for (int half = LEAF_SIZE >> 1; half > 0; half >>= 1) {
+      boolean south = row >= half, east = column >= half;
+      node = south ? (east ? node.getSe() : node.getSw()) : (east ? node.getNe() : node.getNw());
+      row -= south ? half : 0;
+      column -= east ? half : 0;
+    }
+    return node.isAlive();
+  }
+}
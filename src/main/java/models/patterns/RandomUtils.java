@@ -11,4 +11,9 @@ public class RandomUtils {
   public static double randomDouble() {
     return rng.nextDouble();
   }
+
+  // Makes every generated configuration repeatable, e.g. for benchmarks.
+  public static void setSeed(long seed) {
+    rng.setSeed(seed);
+  }
 }
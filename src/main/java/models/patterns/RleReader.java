@@ -0,0 +1,179 @@
+package models.patterns;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Streaming reader for Golly's run-length encoded pattern format:
+//
+//   #N Glider
+//   x = 3, y = 3, rule = B3/S23
+//   bo$2bo$3o!
+//
+// readHeader skips the # lines and parses the x/y/rule line; readCells then walks the body one
+// character at a time and hands every live cell to a CellSink as it is decoded, so neither the
+// file nor a list of its cells is ever held in memory. Besides o, any state letter (A-X) counts as
+// alive, and b or . as dead, so multi-state files load as their live cells.
+public class RleReader {
+
+  public interface CellSink {
+    void accept(int row, int column);
+  }
+
+  private static final String DEFAULT_RULE = "B3/S23";
+
+  private final Reader in;
+  private int width, height;
+  private String rule = DEFAULT_RULE;
+  private int line = 1;
+  private int pushedBack = -2;
+
+  // in should be buffered; it is read one character at a time
+  public RleReader(Reader in) {
+    this.in = in;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public String getRule() {
+    return rule;
+  }
+
+  public void readHeader() throws IOException {
+    String header;
+    do {
+      header = readLine();
+      if (header == null) {
+        throw error("no x = ..., y = ... header");
+      }
+      header = header.trim();
+    } while (header.isEmpty() || header.startsWith("#"));
+    // the rule runs to the end of the line, since it may itself hold commas, as in B3/S23:T100,100
+    String fields = header;
+    while (!fields.isEmpty()) {
+      int equals = fields.indexOf('=');
+      int comma = fields.indexOf(',');
+      if (equals < 0 || comma >= 0 && comma < equals) {
+        throw error("bad header field '" + fields.substring(0, comma < 0 ? fields.length() : comma).trim() + "'");
+      }
+      String key = fields.substring(0, equals).trim();
+      int end = key.equals("rule") ? -1 : fields.indexOf(',', equals);
+      String value = fields.substring(equals + 1, end < 0 ? fields.length() : end).trim();
+      fields = end < 0 ? "" : fields.substring(end + 1);
+      switch (key) {
+        case "x":
+          width = parseSize(value);
+          break;
+        case "y":
+          height = parseSize(value);
+          break;
+        case "rule":
+          rule = value;
+          break;
+        default:
+          // Golly writes nothing else here, and readers are expected to skip unknown keys
+          break;
+      }
+    }
+  }
+
+  // Decodes the body up to the closing ! (or the end of the input); returns the live cell count.
+  public long readCells(CellSink sink) throws IOException {
+    long row = 0, column = 0, liveCells = 0;
+    long count = 0;
+    int c;
+    while ((c = read()) != -1 && c != '!') {
+      if (c >= '0' && c <= '9') {
+        count = count * 10 + (c - '0');
+        if (count > Integer.MAX_VALUE) {
+          throw error("run length too long");
+        }
+        continue;
+      }
+      if (Character.isWhitespace(c)) {
+        continue;
+      }
+      if (c == '#' && count == 0 && column == 0) {
+        // some writers put comments between body lines
+        readLine();
+        continue;
+      }
+      long run = count == 0 ? 1 : count;
+      count = 0;
+      if (c == '$') {
+        row += run;
+        column = 0;
+      } else if (c == 'b' || c == '.') {
+        column += run;
+      } else if (c == 'o' || (c >= 'A' && c <= 'X')) {
+        if (row > Integer.MAX_VALUE || column + run > Integer.MAX_VALUE) {
+          throw error("pattern is too large");
+        }
+        for (long i = 0; i < run; i++) {
+          sink.accept((int) row, (int) (column + i));
+        }
+        column += run;
+        liveCells += run;
+      } else if (c >= 'p' && c <= 'y') {
+        // first letter of a two-letter multi-state cell such as pA; the state letter follows
+        int state = read();
+        if (state < 'A' || state > 'X') {
+          throw error("bad state '" + (char) c + (state == -1 ? "" : String.valueOf((char) state)) + "'");
+        }
+        pushBack(state);
+        count = run;
+      } else {
+        throw error("unexpected '" + (char) c + "'");
+      }
+    }
+    return liveCells;
+  }
+
+  private int read() throws IOException {
+    int c;
+    if (pushedBack != -2) {
+      c = pushedBack;
+      pushedBack = -2;
+      return c;
+    }
+    c = in.read();
+    if (c == '\n') {
+      line++;
+    }
+    return c;
+  }
+
+  private void pushBack(int c) {
+    pushedBack = c;
+  }
+
+  private String readLine() throws IOException {
+    StringBuilder text = new StringBuilder();
+    int c;
+    while ((c = read()) != -1 && c != '\n') {
+      text.append((char) c);
+    }
+    return c == -1 && text.length() == 0 ? null : text.toString();
+  }
+
+  private int parseSize(String value) throws IOException {
+    try {
+      int size = Integer.parseInt(value);
+      if (size < 0) {
+        throw new NumberFormatException();
+      }
+      return size;
+    } catch (NumberFormatException e) {
+      throw error("bad size '" + value + "'");
+    }
+  }
+
+  private IOException error(String message) {
+    return new IOException("RLE line " + line + ": " + message);
+  }
+}
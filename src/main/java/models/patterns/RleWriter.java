@@ -0,0 +1,83 @@
+package models.patterns;
+
+import java.io.IOException;
+import java.io.Writer;
+import models.grid.GridLocation;
+import models.interfaces.IBoard;
+import models.interfaces.ICell.CellState;
+
+// Streaming writer for the RLE format RleReader reads. Cells are asked for one row at a time and
+// runs are written out as they end, so memory stays constant however large the board is. Dead
+// cells at the end of a row and empty rows at the end of the board are left out, blank rows are
+// folded into the count of the next $, and lines are wrapped at 70 characters like Golly does.
+public class RleWriter {
+
+  public interface CellSource {
+    boolean isAlive(int row, int column);
+  }
+
+  private static final int MAX_LINE = 70;
+
+  private final Writer out;
+  private int lineLength;
+
+  public RleWriter(Writer out) {
+    this.out = out;
+  }
+
+  public static CellSource cellsOf(IBoard board) {
+    return (row, column) ->
+        board.getCellAt(new GridLocation(row, column)).getState() == CellState.ALIVE;
+  }
+
+  public void write(CellSource cells, int rows, int columns, String rule) throws IOException {
+    out.write("x = " + columns + ", y = " + rows + ", rule = " + rule + "\n");
+    lineLength = 0;
+    long pendingRows = 0;
+    for (int row = 0; row < rows; row++) {
+      long pendingDead = 0;
+      boolean rowStarted = false;
+      int column = 0;
+      while (column < columns) {
+        int runStart = column;
+        boolean alive = cells.isAlive(row, column++);
+        while (column < columns && cells.isAlive(row, column) == alive) {
+          column++;
+        }
+        if (!alive) {
+          pendingDead = column - runStart;
+          continue;
+        }
+        if (!rowStarted) {
+          appendRun(pendingRows, '$');
+          pendingRows = 0;
+          rowStarted = true;
+        }
+        appendRun(pendingDead, 'b');
+        pendingDead = 0;
+        appendRun(column - runStart, 'o');
+      }
+      pendingRows++;
+    }
+    appendToken("!");
+    out.write("\n");
+    out.flush();
+  }
+
+  private void appendRun(long run, char tag) throws IOException {
+    if (run == 0) {
+      return;
+    }
+    appendToken(run == 1 ? String.valueOf(tag) : run + String.valueOf(tag));
+  }
+
+  // Tokens are never split across lines.
+  private void appendToken(String token) throws IOException {
+    if (lineLength + token.length() > MAX_LINE) {
+      out.write("\n");
+      lineLength = 0;
+    }
+    out.write(token);
+    lineLength += token.length();
+  }
+}
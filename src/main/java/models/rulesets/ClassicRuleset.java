@@ -10,6 +10,29 @@ import models.interfaces.ICell.CellState;
 
 public class ClassicRuleset implements GameOfLifeRuleset {
 
+  private static final CellState[] STATES = {CellState.DEAD, CellState.ALIVE};
+
+  final Rule rule;
+  // the rule's next-state table, indexed by state * 9 + liveNeighbours
+  private final byte[] nextStateTable;
+
+  public ClassicRuleset() {
+    this(Rule.CONWAY);
+  }
+
+  public ClassicRuleset(Rule rule) {
+    if (!rule.isTotalistic()) {
+      throw new IllegalArgumentException(getClass().getSimpleName() + " counts live neighbours and "
+          + "cannot run " + rule + ", which depends on where they are");
+    }
+    this.rule = rule;
+    this.nextStateTable = rule.getNextStateTable();
+  }
+
+  public Rule getRule() {
+    return rule;
+  }
+
   @Override
   public Collection<ICell> updateState(IBoard board) {
     Collection<ICell> cellsToUpdate = getCellsToUpdate(board);
@@ -44,10 +67,10 @@ public class ClassicRuleset implements GameOfLifeRuleset {
   }
 
   CellState getDeadCellNewState(int liveNeighbours) {
-    return liveNeighbours == 3 ? CellState.ALIVE : CellState.DEAD;
+    return STATES[nextStateTable[liveNeighbours]];
   }
 
   CellState getAliveCellNewState(int liveNeighbours) {
-    return (liveNeighbours == 2 || liveNeighbours == 3) ? CellState.ALIVE : CellState.DEAD;
+    return STATES[nextStateTable[9 + liveNeighbours]];
   }
 }
@@ -1,5 +1,7 @@
 package models.rulesets;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -12,9 +14,17 @@ import models.interfaces.IBoard;
 import models.interfaces.IBoardConfig;
 import models.interfaces.ICell;
 import models.interfaces.ICell.CellState;
+import models.interfaces.ICheckpoint;
 
 public class ClassicRulesetAdjacentAwareCells extends ClassicRuleset {
 
+  public ClassicRulesetAdjacentAwareCells() {
+  }
+
+  public ClassicRulesetAdjacentAwareCells(Rule rule) {
+    super(rule);
+  }
+
   @Override
   public Collection<ICell> updateState(IBoard board) {
     GridV3 grid = (GridV3) board;
@@ -69,12 +79,42 @@ public class ClassicRulesetAdjacentAwareCells extends ClassicRuleset {
   public void initializeBoardState(IBoard board, IBoardConfig boardConfig) {
     GridV3 grid = (GridV3) board;
     GridConfig gridConfig = (GridConfig) boardConfig;
+    if (gridConfig.getCheckpoint() != null) {
+      restoreBoardState(grid, gridConfig.getCheckpoint());
+      return;
+    }
     List<ICell> cellsToFlip = gridConfig.getAliveCells().stream()
         .map(board::getCellAt)
         .collect(Collectors.toList());
     updateCells(grid, cellsToFlip);
   }
 
+  // Rebuilds the board from a checkpoint as it is decoded: every live cell is set alive and counted
+  // into its neighbours on the spot, then one pass over the board fills the update set, so no
+  // list of locations or per-cell streams are built on the way.
+  private void restoreBoardState(GridV3 grid, ICheckpoint checkpoint) {
+    int lastRow = grid.getRows() - 1, lastColumn = grid.getColumns() - 1;
+    try {
+      checkpoint.readCells((row, column) -> {
+        CellV2Adjacent cell = grid.getCellAt(row, column);
+        cell.updateState(CellState.ALIVE);
+        for (ICell neighbour : grid.getAdjacentCells(cell)) {
+          ((CellV2Adjacent) neighbour).addAliveNeighbour();
+        }
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    for (int row = 0; row <= lastRow; row++) {
+      for (int column = 0; column <= lastColumn; column++) {
+        CellV2Adjacent cell = grid.getCellAt(row, column);
+        if (getNewState(cell) != cell.getState()) {
+          grid.getUpdateLocations().put(cell.getGridLocation(), cell);
+        }
+      }
+    }
+  }
+
   private Collection<CellV2Adjacent> updateAdjacentCellsCounter(
       ICell cell, GridV3 grid) {
     if (cell.getState().equals(CellState.ALIVE)) {
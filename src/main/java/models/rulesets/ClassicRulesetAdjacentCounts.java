@@ -0,0 +1,134 @@
+package models.rulesets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import models.grid.Cell;
+import models.grid.GridConfig;
+import models.grid.GridV10;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardConfig;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import utils.LongArrayList;
+import utils.LongIntHashMap;
+
+/**
+ * The {@link ClassicRulesetAdjacentAwareCells} algorithm for a {@link GridV10}, without per-cell
+ * atomics. Each generation the flipped cells are split into chunks; every chunk sums its
+ * neighbour count changes into a private delta map in parallel, the maps are merged into the
+ * grid's count array by a single thread, and the touched cells are then evaluated in parallel
+ * against the now read-only counts.
+ */
+public class ClassicRulesetAdjacentCounts extends ClassicRuleset {
+
+  private static final int CHUNK_SIZE = 1024;
+
+  // cells already listed as candidates this generation, cleared again after each step
+  private boolean[] queued = new boolean[0];
+  private final LongArrayList candidates = new LongArrayList();
+
+  public ClassicRulesetAdjacentCounts() {
+  }
+
+  public ClassicRulesetAdjacentCounts(Rule rule) {
+    super(rule);
+  }
+
+  @Override
+  public Collection<ICell> updateState(IBoard board) {
+    GridV10 grid = (GridV10) board;
+    List<Cell> cellsToUpdate = grid.getPendingFlips();
+    applyFlips(grid, cellsToUpdate);
+    return new ArrayList<>(cellsToUpdate);
+  }
+
+  @Override
+  public Collection<ICell> getCellsToUpdate(IBoard board) {
+    return new ArrayList<>(((GridV10) board).getPendingFlips());
+  }
+
+  @Override
+  public void initializeBoardState(IBoard board, IBoardConfig boardConfig) {
+    GridV10 grid = (GridV10) board;
+    GridConfig gridConfig = (GridConfig) boardConfig;
+    List<Cell> cellsToFlip = gridConfig.getAliveCells().stream()
+        .map(grid::getCellAt)
+        .distinct()
+        .collect(Collectors.toList());
+    applyFlips(grid, cellsToFlip);
+  }
+
+  private void applyFlips(GridV10 grid, List<Cell> flips) {
+    flips.parallelStream().forEach(Cell::flipState);
+    int chunks = (flips.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    LongIntHashMap[] deltas = new LongIntHashMap[chunks];
+    IntStream.range(0, chunks).parallel().forEach(chunk ->
+        deltas[chunk] = collectDeltas(grid, flips, chunk * CHUNK_SIZE,
+            Math.min(flips.size(), (chunk + 1) * CHUNK_SIZE)));
+
+    // the only writes to the count array, all from this thread
+    byte[] neighbourCounts = grid.getNeighbourCounts();
+    if (queued.length != neighbourCounts.length) {
+      queued = new boolean[neighbourCounts.length];
+    }
+    candidates.clear();
+    for (LongIntHashMap chunkDeltas : deltas) {
+      chunkDeltas.forEach((index, delta) -> {
+        neighbourCounts[(int) index] += delta;
+        if (!queued[(int) index]) {
+          queued[(int) index] = true;
+          candidates.add((int) index);
+        }
+      });
+    }
+    // a flipped cell's own next state depends on its new state even if no neighbour changed
+    flips.forEach(cell -> {
+      int index = grid.index(cell.getRow(), cell.getColumn());
+      if (!queued[index]) {
+        queued[index] = true;
+        candidates.add(index);
+      }
+    });
+
+    grid.setLastFlipped(flips);
+    grid.setPendingFlips(IntStream.range(0, candidates.size()).parallel()
+        .map(i -> (int) candidates.get(i))
+        .filter(index -> {
+          Cell cell = grid.getCellAt(index);
+          return getNewState(cell, neighbourCounts[index]) != cell.getState();
+        })
+        .mapToObj(grid::getCellAt)
+        .collect(Collectors.toList()));
+    for (int i = 0; i < candidates.size(); i++) {
+      queued[(int) candidates.get(i)] = false;
+    }
+  }
+
+  // Net change of every neighbour count touched by flips[from, to).
+  private LongIntHashMap collectDeltas(GridV10 grid, List<Cell> flips, int from, int to) {
+    LongIntHashMap deltas = new LongIntHashMap((to - from) * 8);
+    for (int i = from; i < to; i++) {
+      Cell cell = flips.get(i);
+      int delta = cell.getState() == CellState.ALIVE ? 1 : -1;
+      int row = cell.getRow(), column = cell.getColumn();
+      for (int r = -1; r <= 1; r++) {
+        for (int c = -1; c <= 1; c++) {
+          int index = grid.adjacentIndex(row, column, r, c);
+          if ((r != 0 || c != 0) && index >= 0) {
+            deltas.add(index, delta);
+          }
+        }
+      }
+    }
+    return deltas;
+  }
+
+  private CellState getNewState(Cell cell, int liveNeighbours) {
+    return cell.getState() == CellState.ALIVE
+        ? getAliveCellNewState(liveNeighbours)
+        : getDeadCellNewState(liveNeighbours);
+  }
+}
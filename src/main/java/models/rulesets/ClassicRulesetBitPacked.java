@@ -0,0 +1,157 @@
+package models.rulesets;
+
+import java.util.Collection;
+import models.grid.GridV4;
+import models.interfaces.IBoard;
+import models.interfaces.ICell;
+
+/**
+ * Steps a {@link GridV4} 64 cells at a time. For every word the eight neighbour bitboards are
+ * summed with bit-sliced half/full adders, so each bit position ends up holding its own
+ * neighbour count spread over four words, and the rule is then applied as a boolean formula:
+ * a fixed one for Conway's rule, otherwise one term per birth or survival count of the
+ * {@link Rule}.
+ */
+public class ClassicRulesetBitPacked extends ClassicRuleset {
+
+  private static final int CONWAY_BIRTH = Rule.CONWAY.getBirthMask();
+  private static final int CONWAY_SURVIVAL = Rule.CONWAY.getSurvivalMask();
+
+  public ClassicRulesetBitPacked() {
+  }
+
+  public ClassicRulesetBitPacked(Rule rule) {
+    super(rule);
+  }
+
+  @Override
+  public Collection<ICell> updateState(IBoard board) {
+    GridV4 grid = (GridV4) board;
+    computeNextGeneration(grid);
+    grid.advanceGeneration();
+    return grid.getLastFlippedCells();
+  }
+
+  @Override
+  public Collection<ICell> getCellsToUpdate(IBoard board) {
+    GridV4 grid = (GridV4) board;
+    computeNextGeneration(grid);
+    return grid.getPendingFlippedCells();
+  }
+
+  void computeNextGeneration(GridV4 grid) {
+    computeRows(grid, 0, grid.getRows());
+  }
+
+  // Writes rows [fromRow, toRow) of the next generation; only reads the current generation.
+  void computeRows(GridV4 grid, int fromRow, int toRow) {
+    long[] words = grid.getWords();
+    long[] nextWords = grid.getNextWords();
+    int rows = grid.getRows();
+    int wordsPerRow = grid.getWordsPerRow();
+    int birthMask = rule.getBirthMask(), survivalMask = rule.getSurvivalMask();
+    for (int row = fromRow; row < toRow; row++) {
+      int base = row * wordsPerRow;
+      int aboveBase = row > 0 ? base - wordsPerRow : -1;
+      int belowBase = row + 1 < rows ? base + wordsPerRow : -1;
+      for (int word = 0; word < wordsPerRow; word++) {
+        long next = nextWord(birthMask, survivalMask,
+            west(words, aboveBase, word),
+            centre(words, aboveBase, word),
+            east(words, aboveBase, word, wordsPerRow),
+            west(words, base, word),
+            words[base + word],
+            east(words, base, word, wordsPerRow),
+            west(words, belowBase, word),
+            centre(words, belowBase, word),
+            east(words, belowBase, word, wordsPerRow));
+        nextWords[base + word] = word == wordsPerRow - 1 ? next & grid.getLastWordMask() : next;
+      }
+    }
+  }
+
+  /**
+   * Next state of the 64 cells in {@code centre} under Conway's rule given the eight neighbour
+   * bitboards, each already shifted so that bit j holds the neighbour of cell j.
+   */
+  public static long nextWord(
+      long northWest, long north, long northEast,
+      long west, long centre, long east,
+      long southWest, long south, long southEast) {
+    return nextWord(CONWAY_BIRTH, CONWAY_SURVIVAL, northWest, north, northEast,
+        west, centre, east, southWest, south, southEast);
+  }
+
+  /**
+   * As above for the rule with the given birth and survival masks ({@link Rule#getBirthMask},
+   * {@link Rule#getSurvivalMask}).
+   */
+  public static long nextWord(int birthMask, int survivalMask,
+      long northWest, long north, long northEast,
+      long west, long centre, long east,
+      long southWest, long south, long southEast) {
+    // each row of three (or two) neighbours collapses into a ones bit and a twos bit
+    long northPartial = northWest ^ north;
+    long northOnes = northPartial ^ northEast;
+    long northTwos = (northWest & north) | (northPartial & northEast);
+    long southPartial = southWest ^ south;
+    long southOnes = southPartial ^ southEast;
+    long southTwos = (southWest & south) | (southPartial & southEast);
+    long middleOnes = west ^ east;
+    long middleTwos = west & east;
+
+    long onesPartial = northOnes ^ southOnes;
+    long ones = onesPartial ^ middleOnes;
+    long onesCarry = (northOnes & southOnes) | (onesPartial & middleOnes);
+
+    long twosPartial = northTwos ^ southTwos;
+    long twosSum = twosPartial ^ middleTwos;
+    long twosCarry = (northTwos & southTwos) | (twosPartial & middleTwos);
+    long twos = twosSum ^ onesCarry;
+    long foursCarry = twosSum & onesCarry;
+    long fours = twosCarry ^ foursCarry;
+    long eights = twosCarry & foursCarry;
+
+    if (birthMask == CONWAY_BIRTH && survivalMask == CONWAY_SURVIVAL) {
+      // count == 3, or count == 2 and alive
+      return ~eights & ~fours & twos & (ones | centre);
+    }
+    long next = 0;
+    for (int count = 0; count <= 8; count++) {
+      if (((birthMask | survivalMask) >>> count & 1) == 0) {
+        continue;
+      }
+      long equal = count == 8 ? eights : ~eights
+          & ((count & 4) != 0 ? fours : ~fours)
+          & ((count & 2) != 0 ? twos : ~twos)
+          & ((count & 1) != 0 ? ones : ~ones);
+      if ((birthMask >>> count & 1) != 0) {
+        next |= equal & ~centre;
+      }
+      if ((survivalMask >>> count & 1) != 0) {
+        next |= equal & centre;
+      }
+    }
+    return next;
+  }
+
+  static long centre(long[] words, int base, int word) {
+    return base < 0 ? 0 : words[base + word];
+  }
+
+  static long west(long[] words, int base, int word) {
+    if (base < 0) {
+      return 0;
+    }
+    long carry = word > 0 ? words[base + word - 1] >>> 63 : 0;
+    return (words[base + word] << 1) | carry;
+  }
+
+  static long east(long[] words, int base, int word, int wordsPerRow) {
+    if (base < 0) {
+      return 0;
+    }
+    long carry = word + 1 < wordsPerRow ? words[base + word + 1] << 63 : 0;
+    return (words[base + word] >>> 1) | carry;
+  }
+}
@@ -0,0 +1,104 @@
+package models.rulesets;
+
+import models.grid.GridV4;
+import models.interfaces.ICell.CellState;
+
+/**
+ * QuickLife-style stepping of a {@link GridV4}: the board is walked in 2x2 blocks and the next
+ * state of each block is a single lookup in a 65536-entry table indexed by the 4x4 neighbourhood
+ * around it. Bits 4 * i .. 4 * i + 3 of the index are row i of the neighbourhood (column offset
+ * in ascending bit order), and the table entry holds the 2x2 centre the same way: bits 0-1 are
+ * its top row and bits 2-3 its bottom row.
+ */
+public class ClassicRulesetBlockTable extends ClassicRulesetBitPacked {
+
+  private final byte[] blockTable = buildBlockTable();
+
+  public ClassicRulesetBlockTable() {
+  }
+
+  public ClassicRulesetBlockTable(Rule rule) {
+    super(rule);
+  }
+
+  @Override
+  void computeNextGeneration(GridV4 grid) {
+    long[] words = grid.getWords();
+    long[] nextWords = grid.getNextWords();
+    int rows = grid.getRows();
+    int wordsPerRow = grid.getWordsPerRow();
+    for (int top = 0; top < rows; top += 2) {
+      boolean hasBottom = top + 1 < rows;
+      int topBase = top * wordsPerRow;
+      int aboveBase = top > 0 ? topBase - wordsPerRow : -1;
+      int bottomBase = hasBottom ? topBase + wordsPerRow : -1;
+      int belowBase = top + 2 < rows ? topBase + 2 * wordsPerRow : -1;
+      for (int word = 0; word < wordsPerRow; word++) {
+        long nextTop = 0, nextBottom = 0;
+        // bit k of a shifted row is column k - 1 of this word, so block j reads bits j .. j + 3
+        long above = west(words, aboveBase, word), upper = west(words, topBase, word);
+        long lower = west(words, bottomBase, word), below = west(words, belowBase, word);
+        for (int j = 0; j < 62; j += 2) {
+          int block = blockTable[(int) ((above >>> j) & 0xF)
+              | (int) ((upper >>> j) & 0xF) << 4
+              | (int) ((lower >>> j) & 0xF) << 8
+              | (int) ((below >>> j) & 0xF) << 12];
+          nextTop |= (long) (block & 3) << j;
+          nextBottom |= (long) (block >>> 2) << j;
+        }
+        // the last block of the word also needs column 64, i.e. bit 0 of the next word
+        int block = blockTable[lastColumns(words, aboveBase, word, wordsPerRow)
+            | lastColumns(words, topBase, word, wordsPerRow) << 4
+            | lastColumns(words, bottomBase, word, wordsPerRow) << 8
+            | lastColumns(words, belowBase, word, wordsPerRow) << 12];
+        nextTop |= (long) (block & 3) << 62;
+        nextBottom |= (long) (block >>> 2) << 62;
+        long mask = word == wordsPerRow - 1 ? grid.getLastWordMask() : -1L;
+        nextWords[topBase + word] = nextTop & mask;
+        if (hasBottom) {
+          nextWords[bottomBase + word] = nextBottom & mask;
+        }
+      }
+    }
+  }
+
+  // Columns 61 .. 64 of the word as a 4-bit row.
+  private static int lastColumns(long[] words, int base, int word, int wordsPerRow) {
+    if (base < 0) {
+      return 0;
+    }
+    long carry = word + 1 < wordsPerRow ? words[base + word + 1] & 1L : 0;
+    return (int) ((words[base + word] >>> 61) | carry << 3);
+  }
+
+  private byte[] buildBlockTable() {
+    byte[] table = new byte[1 << 16];
+    for (int neighbourhood = 0; neighbourhood < table.length; neighbourhood++) {
+      int block = 0;
+      for (int r = 1; r <= 2; r++) {
+        for (int c = 1; c <= 2; c++) {
+          int liveNeighbours = 0;
+          for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+              if ((dr != 0 || dc != 0) && isSet(neighbourhood, r + dr, c + dc)) {
+                liveNeighbours++;
+              }
+            }
+          }
+          CellState newState = isSet(neighbourhood, r, c)
+              ? getAliveCellNewState(liveNeighbours)
+              : getDeadCellNewState(liveNeighbours);
+          if (newState == CellState.ALIVE) {
+            block |= 1 << ((r - 1) * 2 + (c - 1));
+          }
+        }
+      }
+      table[neighbourhood] = (byte) block;
+    }
+    return table;
+  }
+
+  private static boolean isSet(int neighbourhood, int row, int column) {
+    return (neighbourhood >>> (row * 4 + column) & 1) != 0;
+  }
+}
@@ -0,0 +1,60 @@
+package models.rulesets;
+
+import java.util.Collection;
+import java.util.function.Function;
+import models.grid.GridV8;
+import models.interfaces.IBoard;
+import models.interfaces.ICell;
+
+/**
+ * Steps a {@link GridV8} with one flat sequential sweep over the board. The next state of a cell
+ * is read from the {@link Rule}'s 18-entry table indexed by {@code state * 9 + liveNeighbours},
+ * so the inner loop has no rule branches and the flipped cells are recorded without a branch
+ * either. The sweep itself is done a row at a time by a {@link StepKernel}.
+ */
+public class ClassicRulesetLookup extends ClassicRuleset {
+
+  private final StepKernel stepKernel;
+
+  public ClassicRulesetLookup() {
+    this(Rule.CONWAY);
+  }
+
+  public ClassicRulesetLookup(Rule rule) {
+    this(rule, StepKernels::scalar);
+  }
+
+  protected ClassicRulesetLookup(Rule rule, Function<byte[], StepKernel> kernelFactory) {
+    super(rule);
+    stepKernel = kernelFactory.apply(rule.getNextStateTable());
+  }
+
+  public StepKernel getStepKernel() {
+    return stepKernel;
+  }
+
+  @Override
+  public Collection<ICell> updateState(IBoard board) {
+    GridV8 grid = (GridV8) board;
+    grid.advanceGeneration(computeNextGeneration(grid));
+    return grid.getLastFlippedCells();
+  }
+
+  @Override
+  public Collection<ICell> getCellsToUpdate(IBoard board) {
+    GridV8 grid = (GridV8) board;
+    return grid.getFlippedCells(computeNextGeneration(grid));
+  }
+
+  // Writes the next generation to nextCells and the flipped indexes to flippedIndexes, and
+  // returns how many cells flipped.
+  int computeNextGeneration(GridV8 grid) {
+    int stride = grid.getStride();
+    int flippedCount = 0;
+    for (int row = 1; row <= grid.getRows(); row++) {
+      flippedCount = stepKernel.stepRow(grid.getCells(), grid.getNextCells(),
+          row * stride + 1, grid.getColumns(), stride, grid.getFlippedIndexes(), flippedCount);
+    }
+    return flippedCount;
+  }
+}
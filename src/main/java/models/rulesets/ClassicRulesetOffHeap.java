@@ -0,0 +1,84 @@
+package models.rulesets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import models.grid.GridLocation;
+import models.grid.GridV9;
+import models.interfaces.IBoard;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import utils.LongArrayList;
+import utils.OffHeapByteArray;
+
+/**
+ * Steps a {@link GridV9}. The candidates are the cells flipped last generation and their
+ * neighbours, de-duplicated with the queued bit of the off-heap cell byte instead of an on-heap
+ * set, and each is decided from the neighbour count stored in the same byte.
+ */
+public class ClassicRulesetOffHeap extends ClassicRuleset {
+
+  private final LongArrayList candidates = new LongArrayList();
+  private final LongArrayList flips = new LongArrayList();
+
+  public ClassicRulesetOffHeap() {
+  }
+
+  public ClassicRulesetOffHeap(Rule rule) {
+    super(rule);
+  }
+
+  @Override
+  public Collection<ICell> updateState(IBoard board) {
+    GridV9 grid = (GridV9) board;
+    computeFlips(grid);
+    grid.applyFlips(flips);
+    return grid.getLastFlippedCells();
+  }
+
+  @Override
+  public Collection<ICell> getCellsToUpdate(IBoard board) {
+    GridV9 grid = (GridV9) board;
+    computeFlips(grid);
+    List<ICell> cells = new ArrayList<>(flips.size());
+    for (int i = 0; i < flips.size(); i++) {
+      long index = flips.get(i);
+      cells.add(grid.getCellAt(new GridLocation(grid.rowOf(index), grid.columnOf(index))));
+    }
+    return cells;
+  }
+
+  private void computeFlips(GridV9 grid) {
+    OffHeapByteArray cells = grid.getCells();
+    LongArrayList lastFlipped = grid.getLastFlipped();
+    candidates.clear();
+    for (int i = 0; i < lastFlipped.size(); i++) {
+      long index = lastFlipped.get(i);
+      int row = grid.rowOf(index), column = grid.columnOf(index);
+      for (int r = Math.max(0, row - 1); r <= Math.min(grid.getRows() - 1, row + 1); r++) {
+        for (int c = Math.max(0, column - 1); c <= Math.min(grid.getColumns() - 1, column + 1); c++) {
+          long candidate = grid.index(r, c);
+          byte cell = cells.get(candidate);
+          if ((cell & GridV9.QUEUED) == 0) {
+            cells.put(candidate, (byte) (cell | GridV9.QUEUED));
+            candidates.add(candidate);
+          }
+        }
+      }
+    }
+    flips.clear();
+    for (int i = 0; i < candidates.size(); i++) {
+      long candidate = candidates.get(i);
+      byte cell = (byte) (cells.get(candidate) & ~GridV9.QUEUED);
+      cells.put(candidate, cell);
+      int liveNeighbours = (cell & GridV9.COUNT_MASK) >>> GridV9.COUNT_SHIFT;
+      boolean alive = (cell & GridV9.ALIVE) != 0;
+      CellState newState = alive
+          ? getAliveCellNewState(liveNeighbours)
+          : getDeadCellNewState(liveNeighbours);
+      if ((newState == CellState.ALIVE) != alive) {
+        flips.add(candidate);
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package models.rulesets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import models.grid.GridLocation;
+import models.grid.GridV6;
+import models.interfaces.IBoard;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+import utils.LongArrayList;
+import utils.LongHashSet;
+
+/**
+ * Steps a {@link GridV6}. Only the cells flipped in the previous generation and their neighbours
+ * can change, so those are the only candidates; their neighbour counts are read from the grid's
+ * incrementally maintained count table, never recomputed.
+ */
+public class ClassicRulesetSparse extends ClassicRuleset {
+
+  private final LongHashSet candidates = new LongHashSet();
+  private final LongArrayList flips = new LongArrayList();
+
+  public ClassicRulesetSparse() {
+  }
+
+  public ClassicRulesetSparse(Rule rule) {
+    super(rule);
+  }
+
+  @Override
+  public Collection<ICell> updateState(IBoard board) {
+    GridV6 grid = (GridV6) board;
+    computeFlips(grid);
+    grid.applyFlips(flips);
+    return grid.getLastFlippedCells();
+  }
+
+  @Override
+  public Collection<ICell> getCellsToUpdate(IBoard board) {
+    GridV6 grid = (GridV6) board;
+    computeFlips(grid);
+    List<ICell> cells = new ArrayList<>();
+    for (int i = 0; i < flips.size(); i++) {
+      long cell = flips.get(i);
+      if (GridV6.rowOf(cell) >= 0 && GridV6.rowOf(cell) < grid.getRows()
+          && GridV6.columnOf(cell) >= 0 && GridV6.columnOf(cell) < grid.getColumns()) {
+        cells.add(grid.getCellAt(new GridLocation(GridV6.rowOf(cell), GridV6.columnOf(cell))));
+      }
+    }
+    return cells;
+  }
+
+  private void computeFlips(GridV6 grid) {
+    candidates.clear();
+    grid.getLastFlipped().forEach(cell -> {
+      int row = GridV6.rowOf(cell), column = GridV6.columnOf(cell);
+      for (int dr = -1; dr <= 1; dr++) {
+        for (int dc = -1; dc <= 1; dc++) {
+          candidates.add(GridV6.pack(row + dr, column + dc));
+        }
+      }
+    });
+    flips.clear();
+    candidates.forEach(cell -> {
+      int liveNeighbours = grid.getNeighbourCounts().get(cell);
+      boolean alive = grid.getAliveCells().contains(cell);
+      CellState newState = alive
+          ? getAliveCellNewState(liveNeighbours)
+          : getDeadCellNewState(liveNeighbours);
+      if ((newState == CellState.ALIVE) != alive) {
+        flips.add(cell);
+      }
+    });
+  }
+}
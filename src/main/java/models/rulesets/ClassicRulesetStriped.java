@@ -0,0 +1,102 @@
+package models.rulesets;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import models.grid.GridV4;
+
+/**
+ * Parallel variant of {@link ClassicRulesetBitPacked}. The board is split into row stripes that
+ * are computed as fork/join tasks; each stripe reads its halo rows (the row above its first row
+ * and the row below its last) from the current generation, which nobody writes during the step,
+ * and writes only its own rows of the next generation. Stripes therefore share no mutable state,
+ * need no atomics, and meet at the stripe boundaries simply by being disjoint row ranges of the
+ * same buffer.
+ *
+ * <p>The pool is started by the first step, so a ruleset that is built and never run costs no
+ * threads, and {@link #close()} stops it; a step after that starts a new one.
+ */
+public class ClassicRulesetStriped extends ClassicRulesetBitPacked {
+
+  // a stripe smaller than this is not worth a task of its own
+  private static final int MIN_STRIPE_ROWS = 16;
+
+  private final int parallelism;
+  private ForkJoinPool pool;
+
+  public ClassicRulesetStriped() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  public ClassicRulesetStriped(int parallelism) {
+    this(Rule.CONWAY, parallelism);
+  }
+
+  public ClassicRulesetStriped(Rule rule) {
+    this(rule, Runtime.getRuntime().availableProcessors());
+  }
+
+  public ClassicRulesetStriped(Rule rule, int parallelism) {
+    super(rule);
+    this.parallelism = parallelism;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (pool != null) {
+      pool.shutdown();
+      pool = null;
+    }
+  }
+
+  /**
+   * Advances the grid one generation without collecting the flipped cells, for callers that
+   * only need the new state.
+   */
+  public void step(GridV4 grid) {
+    computeNextGeneration(grid);
+    grid.advanceGeneration();
+  }
+
+  @Override
+  void computeNextGeneration(GridV4 grid) {
+    int stripes = parallelism * 4;
+    int stripeRows = Math.max(MIN_STRIPE_ROWS, (grid.getRows() + stripes - 1) / stripes);
+    pool().invoke(new StripeTask(grid, 0, grid.getRows(), stripeRows));
+  }
+
+  private synchronized ForkJoinPool pool() {
+    if (pool == null) {
+      pool = new ForkJoinPool(parallelism);
+    }
+    return pool;
+  }
+
+  private class StripeTask extends RecursiveAction {
+
+    private final GridV4 grid;
+    private final int fromRow, toRow, stripeRows;
+
+    StripeTask(GridV4 grid, int fromRow, int toRow, int stripeRows) {
+      this.grid = grid;
+      this.fromRow = fromRow;
+      this.toRow = toRow;
+      this.stripeRows = stripeRows;
+    }
+
+    @Override
+    protected void compute() {
+      if (toRow - fromRow <= stripeRows) {
+        computeRows(grid, fromRow, toRow);
+        return;
+      }
+      int middle = (fromRow + toRow) >>> 1;
+      invokeAll(
+          new StripeTask(grid, fromRow, middle, stripeRows),
+          new StripeTask(grid, middle, toRow, stripeRows));
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package models.rulesets;
+
+import java.util.Collection;
+import models.grid.GridV7;
+import models.interfaces.IBoard;
+import models.interfaces.ICell;
+
+/**
+ * Steps only the active tiles of a {@link GridV7}, 64 cells per word with the same bit-sliced
+ * kernel as {@link ClassicRulesetBitPacked}. The halo around a tile is read straight from the
+ * current generation of its neighbours, which are not published until every tile is computed.
+ */
+public class ClassicRulesetTiled extends ClassicRuleset {
+
+  public ClassicRulesetTiled() {
+  }
+
+  public ClassicRulesetTiled(Rule rule) {
+    super(rule);
+  }
+
+  @Override
+  public Collection<ICell> updateState(IBoard board) {
+    GridV7 grid = (GridV7) board;
+    int[] steppedTiles = grid.drainActiveTiles();
+    for (int tile : steppedTiles) {
+      computeTile(grid, tile);
+    }
+    grid.commitTiles(steppedTiles);
+    return grid.getLastFlippedCells();
+  }
+
+  @Override
+  public Collection<ICell> getCellsToUpdate(IBoard board) {
+    GridV7 grid = (GridV7) board;
+    int[] activeTiles = grid.getActiveTiles();
+    for (int tile : activeTiles) {
+      computeTile(grid, tile);
+    }
+    return grid.getPendingFlippedCells(activeTiles);
+  }
+
+  private void computeTile(GridV7 grid, int tile) {
+    int tileRow = tile / grid.getTileColumns(), tileColumn = tile % grid.getTileColumns();
+    long[] next = grid.getNextTile(tile);
+    long columnMask = grid.columnMask(tileColumn);
+    int rowsInTile = grid.rowsInTile(tileRow);
+    for (int r = 0; r < rowsInTile; r++) {
+      next[r] = columnMask & ClassicRulesetBitPacked.nextWord(
+          rule.getBirthMask(), rule.getSurvivalMask(),
+          west(grid, tileRow, tileColumn, r - 1),
+          grid.wordAt(tileRow, tileColumn, r - 1),
+          east(grid, tileRow, tileColumn, r - 1),
+          west(grid, tileRow, tileColumn, r),
+          grid.wordAt(tileRow, tileColumn, r),
+          east(grid, tileRow, tileColumn, r),
+          west(grid, tileRow, tileColumn, r + 1),
+          grid.wordAt(tileRow, tileColumn, r + 1),
+          east(grid, tileRow, tileColumn, r + 1));
+    }
+  }
+
+  private long west(GridV7 grid, int tileRow, int tileColumn, int r) {
+    return (grid.wordAt(tileRow, tileColumn, r) << 1)
+        | (grid.wordAt(tileRow, tileColumn - 1, r) >>> 63);
+  }
+
+  private long east(GridV7 grid, int tileRow, int tileColumn, int r) {
+    return (grid.wordAt(tileRow, tileColumn, r) >>> 1)
+        | (grid.wordAt(tileRow, tileColumn + 1, r) << 63);
+  }
+}
@@ -0,0 +1,16 @@
+package models.rulesets;
+
+/**
+ * {@link ClassicRulesetLookup} with the SIMD step kernel when the build and JVM provide one (see
+ * {@link StepKernels#preferred}); otherwise it behaves exactly like its parent.
+ */
+public class ClassicRulesetVectorized extends ClassicRulesetLookup {
+
+  public ClassicRulesetVectorized() {
+    this(Rule.CONWAY);
+  }
+
+  public ClassicRulesetVectorized(Rule rule) {
+    super(rule, StepKernels::preferred);
+  }
+}
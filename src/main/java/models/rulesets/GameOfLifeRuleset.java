@@ -7,10 +7,15 @@ import models.interfaces.IBoardConfig;
 import models.interfaces.ICell;
 import models.interfaces.ICell.CellState;
 
-public interface GameOfLifeRuleset {
+public interface GameOfLifeRuleset extends AutoCloseable {
   Collection<ICell> updateState(IBoard board);
   CellState getNewState(ICell cell, IBoard board);
   Collection<ICell> getCellsToUpdate(IBoard board);
 
   void initializeBoardState(IBoard board, IBoardConfig boardConfig);
+
+  // Releases any threads the ruleset started; most rulesets have none.
+  @Override
+  default void close() {
+  }
 }
@@ -0,0 +1,159 @@
+package models.rulesets;
+
+import java.util.Collection;
+import models.grid.GridV5;
+import models.grid.QuadNode;
+import models.grid.QuadNodeTable;
+import models.interfaces.IBoard;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+
+/**
+ * HashLife stepping for {@link GridV5}. Every quadtree node caches its centre advanced by the
+ * current step, and because nodes are canonical the cached result is shared by every copy of
+ * that region in space and in time. Each call to {@link #updateState} advances the universe by
+ * 2^stepLog2 generations.
+ */
+public class HashLifeRuleset extends ClassicRuleset {
+
+  private int stepLog2;
+
+  public HashLifeRuleset() {
+    this(0);
+  }
+
+  public HashLifeRuleset(int stepLog2) {
+    this(Rule.CONWAY, stepLog2);
+  }
+
+  public HashLifeRuleset(Rule rule) {
+    this(rule, 0);
+  }
+
+  public HashLifeRuleset(Rule rule, int stepLog2) {
+    super(rule);
+    if (stepLog2 < 0) {
+      throw new IllegalArgumentException("stepLog2 must be >= 0, got " + stepLog2);
+    }
+    this.stepLog2 = stepLog2;
+  }
+
+  public int getStepLog2() {
+    return stepLog2;
+  }
+
+  public void setStepLog2(int stepLog2) {
+    if (stepLog2 < 0) {
+      throw new IllegalArgumentException("stepLog2 must be >= 0, got " + stepLog2);
+    }
+    this.stepLog2 = stepLog2;
+  }
+
+  @Override
+  public Collection<ICell> updateState(IBoard board) {
+    GridV5 grid = (GridV5) board;
+    jump(grid, stepLog2);
+    return grid.getLastFlippedCells();
+  }
+
+  @Override
+  public Collection<ICell> getCellsToUpdate(IBoard board) {
+    GridV5 grid = (GridV5) board;
+    return grid.getFlippedCellsFor(nextCentre(grid, stepLog2));
+  }
+
+  // Advances the universe by 2^log2Generations generations in one step.
+  public void jump(GridV5 grid, int log2Generations) {
+    grid.advanceTo(nextCentre(grid, log2Generations), 1L << log2Generations);
+  }
+
+  private QuadNode nextCentre(GridV5 grid, int log2Generations) {
+    while (grid.getRoot().getLevel() < log2Generations + 3 || !grid.isPopulationCentred()) {
+      grid.expandUniverse();
+    }
+    QuadNodeTable table = grid.getNodeTable();
+    table.useStep(log2Generations);
+    return advance(table, grid.getRoot(), log2Generations);
+  }
+
+  // Centre of node (one level down) after 2^min(log2Generations, level - 2) generations.
+  private QuadNode advance(QuadNodeTable table, QuadNode node, int log2Generations) {
+    if (node.getResult() != null) {
+      return node.getResult();
+    }
+    QuadNode result;
+    if (node.getPopulation() == 0) {
+      result = table.empty(node.getLevel() - 1);
+    } else if (node.getLevel() == 2) {
+      result = advanceBlock(table, node);
+    } else {
+      QuadNode nw = node.getNw(), ne = node.getNe(), sw = node.getSw(), se = node.getSe();
+      // nine overlapping squares, each half the size of node
+      QuadNode n00 = nw;
+      QuadNode n01 = table.node(nw.getNe(), ne.getNw(), nw.getSe(), ne.getSw());
+      QuadNode n02 = ne;
+      QuadNode n10 = table.node(nw.getSw(), nw.getSe(), sw.getNw(), sw.getNe());
+      QuadNode n11 = table.node(nw.getSe(), ne.getSw(), sw.getNe(), se.getNw());
+      QuadNode n12 = table.node(ne.getSw(), ne.getSe(), se.getNw(), se.getNe());
+      QuadNode n20 = sw;
+      QuadNode n21 = table.node(sw.getNe(), se.getNw(), sw.getSe(), se.getSw());
+      QuadNode n22 = se;
+      boolean fullStep = log2Generations >= node.getLevel() - 2;
+      // either advance the nine squares by half the step, or just take their centres
+      QuadNode r00 = fullStep ? advance(table, n00, log2Generations) : centre(table, n00);
+      QuadNode r01 = fullStep ? advance(table, n01, log2Generations) : centre(table, n01);
+      QuadNode r02 = fullStep ? advance(table, n02, log2Generations) : centre(table, n02);
+      QuadNode r10 = fullStep ? advance(table, n10, log2Generations) : centre(table, n10);
+      QuadNode r11 = fullStep ? advance(table, n11, log2Generations) : centre(table, n11);
+      QuadNode r12 = fullStep ? advance(table, n12, log2Generations) : centre(table, n12);
+      QuadNode r20 = fullStep ? advance(table, n20, log2Generations) : centre(table, n20);
+      QuadNode r21 = fullStep ? advance(table, n21, log2Generations) : centre(table, n21);
+      QuadNode r22 = fullStep ? advance(table, n22, log2Generations) : centre(table, n22);
+      result = table.node(
+          advance(table, table.node(r00, r01, r10, r11), log2Generations),
+          advance(table, table.node(r01, r02, r11, r12), log2Generations),
+          advance(table, table.node(r10, r11, r20, r21), log2Generations),
+          advance(table, table.node(r11, r12, r21, r22), log2Generations));
+    }
+    node.setResult(result);
+    return result;
+  }
+
+  private QuadNode centre(QuadNodeTable table, QuadNode node) {
+    return table.node(
+        node.getNw().getSe(), node.getNe().getSw(), node.getSw().getNe(), node.getSe().getNw());
+  }
+
+  // Base case: the 2x2 centre of a 4x4 block after one generation.
+  private QuadNode advanceBlock(QuadNodeTable table, QuadNode node) {
+    boolean[][] cells = new boolean[4][4];
+    QuadNode[][] quadrants = {{node.getNw(), node.getNe()}, {node.getSw(), node.getSe()}};
+    for (int qr = 0; qr < 2; qr++) {
+      for (int qc = 0; qc < 2; qc++) {
+        QuadNode quadrant = quadrants[qr][qc];
+        cells[2 * qr][2 * qc] = quadrant.getNw().isAlive();
+        cells[2 * qr][2 * qc + 1] = quadrant.getNe().isAlive();
+        cells[2 * qr + 1][2 * qc] = quadrant.getSw().isAlive();
+        cells[2 * qr + 1][2 * qc + 1] = quadrant.getSe().isAlive();
+      }
+    }
+    return table.node(
+        table.cell(nextCellState(cells, 1, 1)), table.cell(nextCellState(cells, 1, 2)),
+        table.cell(nextCellState(cells, 2, 1)), table.cell(nextCellState(cells, 2, 2)));
+  }
+
+  private boolean nextCellState(boolean[][] cells, int row, int column) {
+    int liveNeighbours = 0;
+    for (int r = row - 1; r <= row + 1; r++) {
+      for (int c = column - 1; c <= column + 1; c++) {
+        if ((r != row || c != column) && cells[r][c]) {
+          liveNeighbours++;
+        }
+      }
+    }
+    CellState newState = cells[row][column]
+        ? getAliveCellNewState(liveNeighbours)
+        : getDeadCellNewState(liveNeighbours);
+    return newState == CellState.ALIVE;
+  }
+}
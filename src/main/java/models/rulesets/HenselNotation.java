@@ -0,0 +1,70 @@
+package models.rulesets;
+
+// Hensel's letters for the isotropic classes of outer neighbourhoods with the same live count.
+// An outer neighbourhood is an 8-bit ring, bit 0 for N and on clockwise through NE, E, SE, S, SW,
+// W and NW. Each letter of counts 1-4 names one representative ring, and its class is every
+// rotation and reflection of it; counts 5-7 reuse the letters of 8 - count for the complemented
+// ring, so 7c has one dead corner. Counts 0 and 8 have a single class and no letters.
+final class HenselNotation {
+
+  // every letter, in the order they are listed for a count
+  static final String ORDER = "cekainyqjrtwz";
+
+  private static final int N = 1, NE = 2, E = 4, SE = 8, S = 16, SW = 32, W = 64, NW = 128;
+  // representative ring of each letter of counts 0-4, in ORDER
+  private static final int[][] REPRESENTATIVES = {
+      {},
+      {NE, N},
+      {NE | SE, N | E, N | SE, N | NE, N | S, NE | SW},
+      {NE | SE | SW, N | E | S, N | E | SW, N | NE | E, N | NE | NW, N | NE | SE, N | SE | SW,
+          N | NE | SW, N | NE | W, N | NE | S},
+      {NE | SE | SW | NW, N | E | S | W, N | NE | SE | W, N | NE | E | SE, N | NE | SE | S,
+          N | NE | SE | NW, N | NE | SE | SW, N | NE | E | SW, N | NE | S | W, N | NE | E | S,
+          N | SE | S | SW, N | NE | SW | W, N | NE | S | SW}
+  };
+  // letter of every ring, 0 for the empty and the full ring
+  private static final char[] LETTERS = new char[256];
+
+  static {
+    for (int count = 1; count <= 7; count++) {
+      String letters = letters(count);
+      for (int l = 0; l < letters.length(); l++) {
+        int representative = count <= 4
+            ? REPRESENTATIVES[count][l]
+            : ~REPRESENTATIVES[8 - count][l] & 0xff;
+        for (int turn = 0, ring = representative; turn < 4; turn++, ring = rotate(ring)) {
+          LETTERS[ring] = letters.charAt(l);
+          LETTERS[reflect(ring)] = letters.charAt(l);
+        }
+      }
+    }
+  }
+
+  private HenselNotation() {
+  }
+
+  // The letters that count live neighbours can be split into, in ORDER.
+  static String letters(int count) {
+    return ORDER.substring(0, REPRESENTATIVES[Math.min(count, 8 - count)].length);
+  }
+
+  static char letterOf(int ring) {
+    return LETTERS[ring];
+  }
+
+  // a quarter turn clockwise, two steps round the ring
+  static int rotate(int ring) {
+    return (ring << 2 | ring >>> 6) & 0xff;
+  }
+
+  // mirrored left to right, keeping N and S
+  static int reflect(int ring) {
+    int reflected = ring & (N | S);
+    for (int bit = 1; bit < 8; bit++) {
+      if (bit != 4 && (ring >>> bit & 1) != 0) {
+        reflected |= 1 << (8 - bit);
+      }
+    }
+    return reflected;
+  }
+}
@@ -0,0 +1,82 @@
+package models.rulesets;
+
+import java.util.Collection;
+import models.grid.GridV8;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardConfig;
+import models.interfaces.ICell;
+import models.interfaces.ICell.CellState;
+
+/**
+ * Steps a {@link GridV8} under any {@link Rule}, including isotropic non-totalistic ones such as
+ * {@code B2-a/S12} that no neighbour count can express. The sweep is the one of
+ * {@link ClassicRulesetLookup}, but each cell's next state is read from the rule's 512-entry table
+ * by its whole 3x3 neighbourhood through a {@link NeighbourhoodStepKernel}, so a non-totalistic
+ * rule steps as fast as Conway's.
+ */
+public class IsotropicRuleset implements GameOfLifeRuleset {
+
+  private final Rule rule;
+  private final byte[] neighbourhoodTable;
+  private final StepKernel stepKernel;
+
+  public IsotropicRuleset() {
+    this(Rule.CONWAY);
+  }
+
+  public IsotropicRuleset(Rule rule) {
+    this.rule = rule;
+    this.neighbourhoodTable = rule.getNeighbourhoodTable();
+    this.stepKernel = new NeighbourhoodStepKernel(neighbourhoodTable);
+  }
+
+  public Rule getRule() {
+    return rule;
+  }
+
+  @Override
+  public Collection<ICell> updateState(IBoard board) {
+    GridV8 grid = (GridV8) board;
+    grid.advanceGeneration(computeNextGeneration(grid));
+    return grid.getLastFlippedCells();
+  }
+
+  @Override
+  public CellState getNewState(ICell cell, IBoard board) {
+    GridV8 grid = (GridV8) board;
+    GridCoordinate coordinate = (GridCoordinate) cell;
+    byte[] cells = grid.getCells();
+    int neighbourhood = 0;
+    for (int column = -1; column <= 1; column++) {
+      for (int row = -1; row <= 1; row++) {
+        neighbourhood = neighbourhood << 1
+            | cells[grid.index(coordinate.getRow() + row, coordinate.getColumn() + column)];
+      }
+    }
+    return neighbourhoodTable[neighbourhood] != 0 ? CellState.ALIVE : CellState.DEAD;
+  }
+
+  @Override
+  public Collection<ICell> getCellsToUpdate(IBoard board) {
+    GridV8 grid = (GridV8) board;
+    return grid.getFlippedCells(computeNextGeneration(grid));
+  }
+
+  @Override
+  public void initializeBoardState(IBoard board, IBoardConfig boardConfig) {
+
+  }
+
+  // Writes the next generation to nextCells and the flipped indexes to flippedIndexes, and
+  // returns how many cells flipped.
+  int computeNextGeneration(GridV8 grid) {
+    int stride = grid.getStride();
+    int flippedCount = 0;
+    for (int row = 1; row <= grid.getRows(); row++) {
+      flippedCount = stepKernel.stepRow(grid.getCells(), grid.getNextCells(),
+          row * stride + 1, grid.getColumns(), stride, grid.getFlippedIndexes(), flippedCount);
+    }
+    return flippedCount;
+  }
+}
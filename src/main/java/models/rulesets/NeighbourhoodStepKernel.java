@@ -0,0 +1,38 @@
+package models.rulesets;
+
+/**
+ * One cell at a time from a 512-entry table indexed by the whole 3x3 neighbourhood, laid out as
+ * in {@link Rule#getNeighbourhoodTable()}. The index slides along the row: each step shifts out
+ * the left column and reads only the three bytes of the new right column, so a cell costs three
+ * loads and one table read whatever the rule.
+ */
+public class NeighbourhoodStepKernel implements StepKernel {
+
+  private final byte[] neighbourhoodTable;
+
+  public NeighbourhoodStepKernel(byte[] neighbourhoodTable) {
+    this.neighbourhoodTable = neighbourhoodTable.clone();
+  }
+
+  @Override
+  public int stepRow(byte[] cells, byte[] nextCells, int rowStart, int length, int stride,
+      int[] flippedIndexes, int flippedCount) {
+    byte[] table = neighbourhoodTable;
+    int rowEnd = rowStart + length;
+    int index = column(cells, rowStart - 1, stride) << 3 | column(cells, rowStart, stride);
+    for (int i = rowStart; i < rowEnd; i++) {
+      index = (index << 3 & 511) | column(cells, i + 1, stride);
+      byte next = table[index];
+      nextCells[i] = next;
+      // always write, only keep the slot when the cell flipped
+      flippedIndexes[flippedCount] = i;
+      flippedCount += cells[i] ^ next;
+    }
+    return flippedCount;
+  }
+
+  // the cells above, at and below i as three bits, top first
+  private static int column(byte[] cells, int i, int stride) {
+    return cells[i - stride] << 2 | cells[i] << 1 | cells[i + stride];
+  }
+}
@@ -0,0 +1,220 @@
+package models.rulesets;
+
+import java.util.Arrays;
+
+/**
+ * A rule in B/S notation. Outer-totalistic rules list neighbour counts, such as {@code B3/S23}
+ * (Conway), {@code B36/S23} (HighLife) or {@code B3678/S34678} (Day &amp; Night). Isotropic
+ * non-totalistic rules narrow a count down with Hensel's letters, such as {@code B2-a/S12}, where
+ * {@code 2-a} is every arrangement of two live neighbours except two touching ones.
+ *
+ * <p>Every rule is compiled once into a 512-entry table indexed by the 3x3 neighbourhood, see
+ * {@link #getNeighbourhoodTable()}. An outer-totalistic rule is also compiled into an 18-entry
+ * table indexed by {@code state * 9 + liveNeighbours}, so applying it is a single array read with
+ * no branches, and its birth and survival counts are kept as 9-bit masks, bit n set for n live
+ * neighbours, for the bit-sliced engines.
+ */
+public final class Rule {
+
+  private static final int CENTRE = 1 << 4;
+  // bit of each ring position, N clockwise to NW, in the neighbourhood index
+  private static final int[] RING_BITS = {5, 2, 1, 0, 3, 6, 7, 8};
+
+  // after RING_BITS, which parsing needs
+  public static final Rule CONWAY = parse("B3/S23");
+
+  private final byte[] neighbourhoodTable;
+  private final int birthMask;
+  private final int survivalMask;
+  private final boolean totalistic;
+  private final byte[] nextStateTable = new byte[18];
+
+  private Rule(byte[] neighbourhoodTable) {
+    this.neighbourhoodTable = neighbourhoodTable;
+    int[] live = new int[18], dead = new int[18];
+    for (int neighbourhood = 0; neighbourhood < 512; neighbourhood++) {
+      int slot = ((neighbourhood & CENTRE) != 0 ? 9 : 0) + Integer.bitCount(ring(neighbourhood));
+      (neighbourhoodTable[neighbourhood] != 0 ? live : dead)[slot]++;
+    }
+    int birth = 0, survival = 0;
+    boolean uniform = true;
+    for (int slot = 0; slot < 18; slot++) {
+      nextStateTable[slot] = (byte) (live[slot] > 0 ? 1 : 0);
+      uniform &= live[slot] == 0 || dead[slot] == 0;
+      if (live[slot] > 0) {
+        if (slot < 9) {
+          birth |= 1 << slot;
+        } else {
+          survival |= 1 << (slot - 9);
+        }
+      }
+    }
+    this.birthMask = birth;
+    this.survivalMask = survival;
+    this.totalistic = uniform;
+  }
+
+  /**
+   * Parses {@code B<counts>/S<counts>}, case-insensitively; either list may be empty and the
+   * counts may come in any order, e.g. {@code B/S012345678} or {@code b63/s32}. A count may be
+   * followed by Hensel letters to keep only those arrangements, or by {@code -} and letters to
+   * drop them, e.g. {@code B2ac3-k/S23}.
+   */
+  public static Rule parse(String rule) {
+    String[] parts = rule.trim().toLowerCase().split("/", -1);
+    if (parts.length != 2 || !parts[0].startsWith("b") || !parts[1].startsWith("s")) {
+      throw new IllegalArgumentException("Rule '" + rule + "' is not of the form B3/S23");
+    }
+    String[][] letters = {arrangements(parts[0].substring(1), rule),
+        arrangements(parts[1].substring(1), rule)};
+    byte[] table = new byte[512];
+    for (int neighbourhood = 0; neighbourhood < 512; neighbourhood++) {
+      int ring = ring(neighbourhood);
+      String kept = letters[(neighbourhood & CENTRE) != 0 ? 1 : 0][Integer.bitCount(ring)];
+      char letter = HenselNotation.letterOf(ring);
+      if (kept != null && (letter == 0 || kept.indexOf(letter) >= 0)) {
+        table[neighbourhood] = 1;
+      }
+    }
+    return new Rule(table);
+  }
+
+  // The letters kept for each count, null for counts that are not listed.
+  private static String[] arrangements(String counts, String rule) {
+    String[] kept = new String[9];
+    int i = 0;
+    while (i < counts.length()) {
+      char digit = counts.charAt(i++);
+      if (digit < '0' || digit > '8') {
+        throw new IllegalArgumentException("Rule '" + rule + "' has a neighbour count '" + digit
+            + "' outside 0-8");
+      }
+      int count = digit - '0';
+      boolean without = i < counts.length() && counts.charAt(i) == '-';
+      int start = without ? ++i : i;
+      while (i < counts.length() && Character.isLetter(counts.charAt(i))) {
+        if (HenselNotation.letters(count).indexOf(counts.charAt(i)) < 0) {
+          throw new IllegalArgumentException("Rule '" + rule + "' has no arrangement '"
+              + counts.charAt(i) + "' of " + count + " neighbours");
+        }
+        i++;
+      }
+      String listed = counts.substring(start, i);
+      if (without && listed.isEmpty()) {
+        throw new IllegalArgumentException("Rule '" + rule + "' has nothing after '" + count + "-'");
+      }
+      String letters = "";
+      for (char letter : HenselNotation.letters(count).toCharArray()) {
+        if (listed.isEmpty() || listed.indexOf(letter) >= 0 != without
+            || kept[count] != null && kept[count].indexOf(letter) >= 0) {
+          letters += letter;
+        }
+      }
+      kept[count] = letters;
+    }
+    return kept;
+  }
+
+  public int getBirthMask() {
+    return birthMask;
+  }
+
+  public int getSurvivalMask() {
+    return survivalMask;
+  }
+
+  /**
+   * Whether the next state depends only on the state and the number of live neighbours, so that
+   * {@link #getNextStateTable()} and the birth and survival masks describe the rule exactly.
+   */
+  public boolean isTotalistic() {
+    return totalistic;
+  }
+
+  public int nextState(int state, int liveNeighbours) {
+    return nextStateTable[state * 9 + liveNeighbours];
+  }
+
+  public byte[] getNextStateTable() {
+    if (!totalistic) {
+      throw new IllegalStateException("Rule " + this + " is not outer-totalistic");
+    }
+    return nextStateTable.clone();
+  }
+
+  /**
+   * The next state of every 3x3 neighbourhood. The index packs the neighbourhood column by column,
+   * three bits per column from left to right and top to bottom within a column: NW, W, SW in bits
+   * 8-6, N, the cell itself, S in bits 5-3 and NE, E, SE in bits 2-0. Moving one cell right is then
+   * {@code (index << 3 & 511) | nextColumn}.
+   */
+  public byte[] getNeighbourhoodTable() {
+    return neighbourhoodTable.clone();
+  }
+
+  /**
+   * Whether a dead cell with no live neighbours is born, so that empty space does not stay
+   * empty; such rules need an engine that steps every cell, not just the ones near activity.
+   */
+  public boolean isBirthOnZero() {
+    return (birthMask & 1) != 0;
+  }
+
+  // the outer ring of a neighbourhood index, in HenselNotation's bit order
+  private static int ring(int neighbourhood) {
+    int ring = 0;
+    for (int position = 0; position < 8; position++) {
+      ring |= (neighbourhood >>> RING_BITS[position] & 1) << position;
+    }
+    return ring;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Rule && Arrays.equals(((Rule) o).neighbourhoodTable, neighbourhoodTable);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(neighbourhoodTable);
+  }
+
+  @Override
+  public String toString() {
+    return "B" + counts(0) + "/S" + counts(CENTRE);
+  }
+
+  // Each count with any live arrangement, followed by the letters kept, or by '-' and the letters
+  // dropped when that is shorter.
+  private String counts(int centre) {
+    boolean[][] live = new boolean[9][HenselNotation.ORDER.length()];
+    boolean[] any = new boolean[9];
+    for (int neighbourhood = 0; neighbourhood < 512; neighbourhood++) {
+      if ((neighbourhood & CENTRE) != centre || neighbourhoodTable[neighbourhood] == 0) {
+        continue;
+      }
+      int ring = ring(neighbourhood);
+      int count = Integer.bitCount(ring);
+      any[count] = true;
+      char letter = HenselNotation.letterOf(ring);
+      if (letter != 0) {
+        live[count][HenselNotation.ORDER.indexOf(letter)] = true;
+      }
+    }
+    StringBuilder counts = new StringBuilder();
+    for (int count = 0; count <= 8; count++) {
+      if (!any[count]) {
+        continue;
+      }
+      StringBuilder kept = new StringBuilder(), dropped = new StringBuilder();
+      for (char letter : HenselNotation.letters(count).toCharArray()) {
+        (live[count][HenselNotation.ORDER.indexOf(letter)] ? kept : dropped).append(letter);
+      }
+      counts.append(count);
+      if (dropped.length() > 0) {
+        counts.append(dropped.length() < kept.length() ? "-" + dropped : kept);
+      }
+    }
+    return counts.toString();
+  }
+}
@@ -0,0 +1,34 @@
+package models.rulesets;
+
+/**
+ * One cell at a time: sums the eight neighbour bytes and reads the next state from an 18-entry
+ * table indexed by {@code state * 9 + liveNeighbours}.
+ */
+public class ScalarStepKernel implements StepKernel {
+
+  private final byte[] nextStateTable;
+
+  public ScalarStepKernel(byte[] nextStateTable) {
+    this.nextStateTable = nextStateTable.clone();
+  }
+
+  @Override
+  public int stepRow(byte[] cells, byte[] nextCells, int rowStart, int length, int stride,
+      int[] flippedIndexes, int flippedCount) {
+    byte[] table = nextStateTable;
+    int rowEnd = rowStart + length;
+    for (int i = rowStart; i < rowEnd; i++) {
+      int above = i - stride, below = i + stride;
+      int liveNeighbours = cells[above - 1] + cells[above] + cells[above + 1]
+          + cells[i - 1] + cells[i + 1]
+          + cells[below - 1] + cells[below] + cells[below + 1];
+      byte state = cells[i];
+      byte next = table[state * 9 + liveNeighbours];
+      nextCells[i] = next;
+      // always write, only keep the slot when the cell flipped
+      flippedIndexes[flippedCount] = i;
+      flippedCount += state ^ next;
+    }
+    return flippedCount;
+  }
+}
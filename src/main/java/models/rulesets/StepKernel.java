@@ -0,0 +1,16 @@
+package models.rulesets;
+
+/**
+ * Computes one row of a {@link models.grid.GridV8} generation. Implementations read only
+ * {@code cells} and write only the row's slice of {@code nextCells} and the tail of
+ * {@code flippedIndexes}.
+ */
+public interface StepKernel {
+
+  /**
+   * Steps the {@code length} cells starting at {@code rowStart}, appends the indexes of the cells
+   * that flip to {@code flippedIndexes} from {@code flippedCount} on, and returns the new count.
+   */
+  int stepRow(byte[] cells, byte[] nextCells, int rowStart, int length, int stride,
+      int[] flippedIndexes, int flippedCount);
+}
@@ -0,0 +1,34 @@
+package models.rulesets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Picks the fastest {@link StepKernel} this build and JVM support. The SIMD kernel lives in
+ * src/main/java-vector and is only compiled by the {@code vector} Maven profile; it is loaded
+ * reflectively so that the default Java 8 build neither sees nor needs jdk.incubator.vector.
+ */
+public class StepKernels {
+
+  private static final String VECTOR_KERNEL = "models.rulesets.VectorStepKernel";
+  private static final Logger logger = LoggerFactory.getLogger(StepKernels.class);
+
+  private StepKernels() {
+  }
+
+  public static StepKernel scalar(byte[] nextStateTable) {
+    return new ScalarStepKernel(nextStateTable);
+  }
+
+  // The Vector API kernel when it was compiled in and the module is present, otherwise scalar.
+  public static StepKernel preferred(byte[] nextStateTable) {
+    try {
+      return (StepKernel) Class.forName(VECTOR_KERNEL)
+          .getConstructor(byte[].class)
+          .newInstance((Object) nextStateTable);
+    } catch (ReflectiveOperationException | LinkageError e) {
+      logger.debug("Vector kernel unavailable ({}), using the scalar kernel", e.toString());
+      return scalar(nextStateTable);
+    }
+  }
+}
@@ -42,7 +42,11 @@ public class ColorUtils {
     }
   }
 
-  public static Color randomColor() {
-    return activeTheme.get(RandomUtils.randomInt(0, activeTheme.size()));
+  public static List<Color> getThemeColors() {
+    return activeTheme;
+  }
+
+  public static int randomColorIndex() {
+    return RandomUtils.randomInt(0, activeTheme.size());
   }
 }
@@ -0,0 +1,11 @@
+package utils;
+
+public class HashUtils {
+
+  // Finalizer of SplitMix64: spreads every input bit over the whole output.
+  public static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+}
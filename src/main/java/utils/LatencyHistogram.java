@@ -0,0 +1,92 @@
+package utils;
+
+import java.util.Arrays;
+
+// Fixed-size log-linear histogram of nanosecond latencies: exact below 32 ns, then 32 buckets per
+// power of two (about 3% resolution) up to Long.MAX_VALUE. Recording never allocates, so it can
+// sit in the game loop; percentiles are resolved to the upper edge of their bucket.
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final String name;
+  private final long[] counts = new long[BUCKETS];
+  private long count;
+  private long max;
+
+  public LatencyHistogram(String name) {
+    this.name = name;
+  }
+
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts[bucketOf(value)]++;
+    count++;
+    max = Math.max(max, value);
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  // Smallest bucket edge that at least percentile % of the recorded values fall under.
+  public long getPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += counts[bucket];
+      if (seen >= target) {
+        return Math.min(max, upperEdgeOf(bucket));
+      }
+    }
+    return max;
+  }
+
+  public void reset() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    max = 0;
+  }
+
+  // Overwrites this histogram's counts with source's, keeping its own name. Lets the thread that
+  // records into source hand a consistent copy to another thread.
+  public void copyFrom(LatencyHistogram source) {
+    System.arraycopy(source.counts, 0, counts, 0, BUCKETS);
+    count = source.count;
+    max = source.max;
+  }
+
+  // e.g. "update: n=300 p50=1.20 ms p99=3.41 ms max=7.02 ms"
+  public String summary() {
+    return String.format("%s: n=%d p50=%.2f ms p99=%.2f ms max=%.2f ms", name, count,
+        getPercentile(50) / 1e6, getPercentile(99) / 1e6, max / 1e6);
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+    return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperEdgeOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+    long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+    long edge = ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    return edge < 0 ? Long.MAX_VALUE : edge;
+  }
+}
@@ -0,0 +1,48 @@
+package utils;
+
+import java.util.Arrays;
+
+// Growable list of primitive longs.
+public class LongArrayList {
+
+  private long[] elements;
+  private int size;
+
+  public LongArrayList() {
+    this(16);
+  }
+
+  public LongArrayList(int initialCapacity) {
+    elements = new long[Math.max(1, initialCapacity)];
+  }
+
+  public void add(long value) {
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, elements.length << 1);
+    }
+    elements[size++] = value;
+  }
+
+  public long get(int index) {
+    if (index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+    return elements[index];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  public long[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+}
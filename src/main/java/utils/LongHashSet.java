@@ -0,0 +1,148 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Open-addressing (linear probing) set of primitive longs: no boxing and no per-entry objects.
+public class LongHashSet {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final float LOAD_FACTOR = 0.5f;
+
+  private long[] keys;
+  private int mask;
+  private int size;
+  // EMPTY marks free slots, so the one key equal to it is tracked on the side
+  private boolean containsEmptyKey;
+
+  public LongHashSet() {
+    this(16);
+  }
+
+  public LongHashSet(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    mask = capacity - 1;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean contains(long key) {
+    if (key == EMPTY) {
+      return containsEmptyKey;
+    }
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      long existing = keys[slot];
+      if (existing == key) {
+        return true;
+      }
+      if (existing == EMPTY) {
+        return false;
+      }
+    }
+  }
+
+  public boolean add(long key) {
+    if (key == EMPTY) {
+      if (containsEmptyKey) {
+        return false;
+      }
+      containsEmptyKey = true;
+      size++;
+      return true;
+    }
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      long existing = keys[slot];
+      if (existing == key) {
+        return false;
+      }
+      if (existing == EMPTY) {
+        keys[slot] = key;
+        if (++size > keys.length * LOAD_FACTOR) {
+          resize(keys.length << 1);
+        }
+        return true;
+      }
+    }
+  }
+
+  public boolean remove(long key) {
+    if (key == EMPTY) {
+      if (!containsEmptyKey) {
+        return false;
+      }
+      containsEmptyKey = false;
+      size--;
+      return true;
+    }
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      long existing = keys[slot];
+      if (existing == EMPTY) {
+        return false;
+      }
+      if (existing == key) {
+        shiftBack(slot);
+        size--;
+        return true;
+      }
+    }
+  }
+
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, EMPTY);
+      containsEmptyKey = false;
+      size = 0;
+    }
+  }
+
+  public void forEach(LongConsumer action) {
+    if (containsEmptyKey) {
+      action.accept(EMPTY);
+    }
+    for (long key : keys) {
+      if (key != EMPTY) {
+        action.accept(key);
+      }
+    }
+  }
+
+  // Backward-shift deletion: pulls later entries of the probe chain into the freed slot.
+  private void shiftBack(int free) {
+    for (int slot = (free + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+      int home = slot(keys[slot]);
+      if (((slot - home) & mask) >= ((slot - free) & mask)) {
+        keys[free] = keys[slot];
+        free = slot;
+      }
+    }
+    keys[free] = EMPTY;
+  }
+
+  private void resize(int capacity) {
+    long[] previous = keys;
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    mask = capacity - 1;
+    for (long key : previous) {
+      if (key != EMPTY) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+      }
+    }
+  }
+
+  private int slot(long key) {
+    return (int) HashUtils.mix(key) & mask;
+  }
+}
@@ -0,0 +1,141 @@
+package utils;
+
+import java.util.Arrays;
+
+// Open-addressing (linear probing) map from primitive long to int. Entries whose value drops to
+// zero through add() are removed, so the map only ever holds non-zero counters.
+public class LongIntHashMap {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final float LOAD_FACTOR = 0.5f;
+
+  public interface LongIntConsumer {
+    void accept(long key, int value);
+  }
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  private int emptyKeyValue;
+
+  public LongIntHashMap() {
+    this(16);
+  }
+
+  public LongIntHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+    allocate(capacity);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int get(long key) {
+    if (key == EMPTY) {
+      return emptyKeyValue;
+    }
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      long existing = keys[slot];
+      if (existing == key) {
+        return values[slot];
+      }
+      if (existing == EMPTY) {
+        return 0;
+      }
+    }
+  }
+
+  // Adds delta to the value of key (missing keys count as 0) and returns the new value.
+  public int add(long key, int delta) {
+    if (key == EMPTY) {
+      int previous = emptyKeyValue;
+      emptyKeyValue += delta;
+      size += (previous == 0 ? 1 : 0) - (emptyKeyValue == 0 ? 1 : 0);
+      return emptyKeyValue;
+    }
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      long existing = keys[slot];
+      if (existing == key) {
+        int value = values[slot] + delta;
+        if (value == 0) {
+          shiftBack(slot);
+          size--;
+        } else {
+          values[slot] = value;
+        }
+        return value;
+      }
+      if (existing == EMPTY) {
+        if (delta == 0) {
+          return 0;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+          resize(keys.length << 1);
+        }
+        return delta;
+      }
+    }
+  }
+
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, EMPTY);
+      emptyKeyValue = 0;
+      size = 0;
+    }
+  }
+
+  public void forEach(LongIntConsumer action) {
+    if (emptyKeyValue != 0) {
+      action.accept(EMPTY, emptyKeyValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != EMPTY) {
+        action.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  private void shiftBack(int free) {
+    for (int slot = (free + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+      int home = slot(keys[slot]);
+      if (((slot - home) & mask) >= ((slot - free) & mask)) {
+        keys[free] = keys[slot];
+        values[free] = values[slot];
+        free = slot;
+      }
+    }
+    keys[free] = EMPTY;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    Arrays.fill(keys, EMPTY);
+    mask = capacity - 1;
+  }
+
+  private void resize(int capacity) {
+    long[] previousKeys = keys;
+    int[] previousValues = values;
+    allocate(capacity);
+    for (int i = 0; i < previousKeys.length; i++) {
+      if (previousKeys[i] != EMPTY) {
+        int slot = slot(previousKeys[i]);
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = previousKeys[i];
+        values[slot] = previousValues[i];
+      }
+    }
+  }
+
+  private int slot(long key) {
+    return (int) HashUtils.mix(key) & mask;
+  }
+}
@@ -0,0 +1,78 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Zero-initialised byte array addressed by long index, stored outside the Java heap in direct
+// ByteBuffer chunks. Chunks are only allocated on the first non-zero write, so untouched
+// stretches of a huge array cost nothing and read as 0. Direct buffers are only freed once the
+// garbage collector finds them unreachable, so release() drops the chunks as soon as the array is
+// done with rather than whenever its owner is collected.
+public class OffHeapByteArray {
+
+  public static final int CHUNK_BITS = 26;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private final long length;
+  private final ByteBuffer[] chunks;
+
+  public OffHeapByteArray(long length) {
+    if (length < 0 || ((length + CHUNK_MASK) >>> CHUNK_BITS) > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Unsupported length " + length);
+    }
+    this.length = length;
+    this.chunks = new ByteBuffer[(int) ((length + CHUNK_MASK) >>> CHUNK_BITS)];
+  }
+
+  public long length() {
+    return length;
+  }
+
+  public byte get(long index) {
+    ByteBuffer chunk = chunks[(int) (index >>> CHUNK_BITS)];
+    return chunk == null ? 0 : chunk.get((int) (index & CHUNK_MASK));
+  }
+
+  public void put(long index, byte value) {
+    int chunkIndex = (int) (index >>> CHUNK_BITS);
+    ByteBuffer chunk = chunks[chunkIndex];
+    if (chunk == null) {
+      if (value == 0) {
+        return;
+      }
+      chunk = allocateChunk(chunkIndex);
+    }
+    chunk.put((int) (index & CHUNK_MASK), value);
+  }
+
+  // Drops every chunk, after which the array reads as 0 again.
+  public void release() {
+    Arrays.fill(chunks, null);
+  }
+
+  // Number of bytes actually reserved off-heap.
+  public long allocatedBytes() {
+    long bytes = 0;
+    for (ByteBuffer chunk : chunks) {
+      bytes += chunk == null ? 0 : chunk.capacity();
+    }
+    return bytes;
+  }
+
+  // True when the chunk holding index has never been written, i.e. the whole chunk reads as 0.
+  public boolean isUnallocated(long index) {
+    return chunks[(int) (index >>> CHUNK_BITS)] == null;
+  }
+
+  // First index of the chunk after the one holding index.
+  public static long nextChunkStart(long index) {
+    return ((index >>> CHUNK_BITS) + 1) << CHUNK_BITS;
+  }
+
+  private ByteBuffer allocateChunk(int chunkIndex) {
+    long chunkLength = Math.min(CHUNK_SIZE, length - ((long) chunkIndex << CHUNK_BITS));
+    chunks[chunkIndex] = ByteBuffer.allocateDirect((int) chunkLength);
+    return chunks[chunkIndex];
+  }
+}
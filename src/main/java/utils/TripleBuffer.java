@@ -0,0 +1,61 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Lock-free hand-off of the latest value from one writer thread to one reader thread. Of the three
+// buffers the writer owns one, the reader owns one, and the third sits in between; publish and
+// refresh each swap their own buffer with the middle one in a single getAndSet, so neither side
+// ever waits and the reader never sees a buffer the writer is still filling. Values published
+// while the reader is not looking are overwritten, so the reader always gets the newest one.
+public class TripleBuffer<T> {
+
+  private static final int INDEX_MASK = 3;
+  private static final int FRESH = 4;
+
+  private final Object[] buffers = new Object[3];
+  // index of the middle buffer, plus FRESH when it was published after the reader last refreshed
+  private final AtomicInteger middle = new AtomicInteger(1);
+  private int back = 0;
+  private int front = 2;
+
+  public TripleBuffer(Supplier<T> bufferSupplier) {
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = bufferSupplier.get();
+    }
+  }
+
+  // Writer side: the buffer to fill before the next publish.
+  @SuppressWarnings("unchecked")
+  public T getWriteBuffer() {
+    return (T) buffers[back];
+  }
+
+  // Writer side: hands the filled buffer to the reader and takes back an unused one.
+  public void publish() {
+    back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+  }
+
+  // Writer side: whether the last published buffer is still waiting for the reader, in which case
+  // the next publish replaces it unseen. Only the writer sets it, so a true answer can turn false
+  // behind the caller's back but never the other way.
+  public boolean isPublishedUnread() {
+    return (middle.get() & FRESH) != 0;
+  }
+
+  // Reader side: moves to the newest published buffer, if anything was published since the last
+  // call. Returns whether getReadBuffer changed.
+  public boolean refresh() {
+    if ((middle.get() & FRESH) == 0) {
+      return false;
+    }
+    front = middle.getAndSet(front) & INDEX_MASK;
+    return true;
+  }
+
+  // Reader side: stays unchanged, and untouched by the writer, until the next refresh.
+  @SuppressWarnings("unchecked")
+  public T getReadBuffer() {
+    return (T) buffers[front];
+  }
+}
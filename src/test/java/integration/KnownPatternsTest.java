@@ -3,16 +3,41 @@ package integration;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 import models.grid.GridConfig;
 import models.grid.GridLocation;
+import models.cycles.CycleDetector;
+import models.cycles.ZobristHash;
+import models.grid.CellV2Adjacent;
+import models.grid.GridV10;
 import models.grid.GridV2;
 import models.grid.GridV3;
+import models.grid.GridV4;
+import models.grid.GridV5;
+import models.grid.GridV6;
+import models.grid.GridV7;
+import models.grid.GridV8;
+import models.grid.GridV9;
+import models.interfaces.GridCoordinate;
 import models.interfaces.IBoardLocation;
 import models.interfaces.ICell.CellState;
 import models.rulesets.ClassicRuleset;
 import models.rulesets.ClassicRulesetAdjacentAwareCells;
+import models.rulesets.ClassicRulesetAdjacentCounts;
+import models.rulesets.ClassicRulesetBitPacked;
+import models.rulesets.ClassicRulesetBlockTable;
+import models.rulesets.ClassicRulesetLookup;
+import models.rulesets.ClassicRulesetOffHeap;
+import models.rulesets.ClassicRulesetSparse;
+import models.rulesets.ClassicRulesetStriped;
+import models.rulesets.ClassicRulesetTiled;
+import models.rulesets.ClassicRulesetVectorized;
+import models.rulesets.HashLifeRuleset;
 import org.junit.jupiter.api.Test;
+import utils.OffHeapByteArray;
 
 /**
  * Integration tests using well-known Conway's Game of Life patterns.
@@ -42,6 +67,43 @@ class KnownPatternsTest {
     return grid;
   }
 
+  private GridV4 gridV4(int rows, int cols, int[]... aliveCells) throws Throwable {
+    return new GridV4(makeConfig(rows, cols, aliveCells));
+  }
+
+  private GridV5 gridV5(int rows, int cols, int[]... aliveCells) throws Throwable {
+    return new GridV5(makeConfig(rows, cols, aliveCells));
+  }
+
+  private GridV6 gridV6(int rows, int cols, int[]... aliveCells) throws Throwable {
+    return new GridV6(makeConfig(rows, cols, aliveCells));
+  }
+
+  private GridV7 gridV7(int rows, int cols, int[]... aliveCells) throws Throwable {
+    return new GridV7(makeConfig(rows, cols, aliveCells));
+  }
+
+  private GridV8 gridV8(int rows, int cols, int[]... aliveCells) throws Throwable {
+    return new GridV8(makeConfig(rows, cols, aliveCells));
+  }
+
+  private GridV9 gridV9(int rows, int cols, int[]... aliveCells) throws Throwable {
+    return new GridV9(makeConfig(rows, cols, aliveCells));
+  }
+
+  private int[][] randomSoup(long seed, int rows, int cols, double density) {
+    Random random = new Random(seed);
+    List<int[]> alive = new ArrayList<>();
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        if (random.nextDouble() < density) {
+          alive.add(new int[]{r, c});
+        }
+      }
+    }
+    return alive.toArray(new int[0][]);
+  }
+
   private CellState v2StateOf(GridV2 grid, int row, int col) {
     return grid.getCellAt(new GridLocation(row, col)).getState();
   }
@@ -178,6 +240,434 @@ class KnownPatternsTest {
     }
   }
 
+  @Test
+  void block_isStillLife_withBitPackedRuleset() throws Throwable {
+    ClassicRulesetBitPacked ruleset = new ClassicRulesetBitPacked();
+    GridV4 grid = gridV4(5, 5,
+        new int[]{1, 1}, new int[]{1, 2},
+        new int[]{2, 1}, new int[]{2, 2});
+
+    for (int tick = 0; tick < 5; tick++) {
+      assertTrue(ruleset.updateState(grid).isEmpty(),
+          "block should produce no changes on tick " + (tick + 1));
+    }
+
+    assertTrue(grid.isAlive(1, 1));
+    assertTrue(grid.isAlive(2, 2));
+    assertFalse(grid.isAlive(0, 0));
+    assertFalse(grid.isAlive(3, 3));
+  }
+
+  @Test
+  void blinker_oscillates_withBitPackedRuleset() throws Throwable {
+    ClassicRulesetBitPacked ruleset = new ClassicRulesetBitPacked();
+    GridV4 grid = gridV4(5, 5,
+        new int[]{2, 1}, new int[]{2, 2}, new int[]{2, 3});
+
+    assertEquals(4, ruleset.updateState(grid).size());
+    assertFalse(grid.isAlive(2, 1), "left cell should die");
+    assertTrue(grid.isAlive(2, 2), "center stays alive");
+    assertFalse(grid.isAlive(2, 3), "right cell should die");
+    assertTrue(grid.isAlive(1, 2), "top cell should birth");
+    assertTrue(grid.isAlive(3, 2), "bottom cell should birth");
+
+    assertEquals(4, ruleset.updateState(grid).size());
+    assertTrue(grid.isAlive(2, 1));
+    assertTrue(grid.isAlive(2, 3));
+    assertFalse(grid.isAlive(1, 2));
+    assertFalse(grid.isAlive(3, 2));
+  }
+
+  @Test
+  void randomSoup_bitPackedMatchesAdjacentAware_acrossWordBoundaries() throws Throwable {
+    // 150 columns spans three words per row, so the carries between words are exercised
+    int rows = 40, cols = 150;
+    int[][] soup = randomSoup(42, rows, cols, 0.35);
+    ClassicRulesetAdjacentAwareCells adjacentRuleset = new ClassicRulesetAdjacentAwareCells();
+    ClassicRulesetBitPacked packedRuleset = new ClassicRulesetBitPacked();
+    GridV3 v3Grid = gridV3WithInit(rows, cols, soup);
+    GridV4 v4Grid = gridV4(rows, cols, soup);
+
+    for (int tick = 0; tick < 20; tick++) {
+      int v3Flips = adjacentRuleset.updateState(v3Grid).size();
+      int v4Flips = packedRuleset.updateState(v4Grid).size();
+      assertEquals(v3Flips, v4Flips, "flip count mismatch at tick=" + (tick + 1));
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          assertEquals(v3StateOf(v3Grid, r, c) == CellState.ALIVE, v4Grid.isAlive(r, c),
+              "Mismatch at tick=" + (tick + 1) + " row=" + r + " col=" + c);
+        }
+      }
+    }
+  }
+
+  @Test
+  void randomSoup_adjacentCountsMatchesAdjacentAware() throws Throwable {
+    // thousands of flips in the first generations, so the deltas come from many chunks
+    int rows = 100, cols = 120;
+    int[][] soup = randomSoup(29, rows, cols, 0.35);
+    ClassicRulesetAdjacentAwareCells adjacentRuleset = new ClassicRulesetAdjacentAwareCells();
+    ClassicRulesetAdjacentCounts countsRuleset = new ClassicRulesetAdjacentCounts();
+    GridV3 v3Grid = gridV3WithInit(rows, cols, soup);
+    GridConfig config = makeConfig(rows, cols, soup);
+    GridV10 v10Grid = new GridV10(config);
+    countsRuleset.initializeBoardState(v10Grid, config);
+
+    for (int tick = 0; tick < 30; tick++) {
+      assertEquals(new HashSet<>(adjacentRuleset.updateState(v3Grid)),
+          new HashSet<>(countsRuleset.updateState(v10Grid)),
+          "flipped cells mismatch at tick=" + (tick + 1));
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          GridLocation location = new GridLocation(r, c);
+          assertEquals(v3Grid.getCellAt(location).getState(), v10Grid.getCellAt(location).getState(),
+              "Mismatch at tick=" + (tick + 1) + " row=" + r + " col=" + c);
+          assertEquals(((CellV2Adjacent) v3Grid.getCellAt(location)).getAdjacentAliveNeighbours(),
+              v10Grid.getNeighbourCount(r, c),
+              "Count mismatch at tick=" + (tick + 1) + " row=" + r + " col=" + c);
+        }
+      }
+    }
+  }
+
+  @Test
+  void blinker_oscillates_withHashLifeRuleset() throws Throwable {
+    HashLifeRuleset ruleset = new HashLifeRuleset();
+    GridV5 grid = gridV5(5, 5,
+        new int[]{2, 1}, new int[]{2, 2}, new int[]{2, 3});
+
+    assertEquals(4, ruleset.updateState(grid).size());
+    assertFalse(grid.isAlive(2, 1), "left cell should die");
+    assertTrue(grid.isAlive(2, 2), "center stays alive");
+    assertFalse(grid.isAlive(2, 3), "right cell should die");
+    assertTrue(grid.isAlive(1, 2), "top cell should birth");
+    assertTrue(grid.isAlive(3, 2), "bottom cell should birth");
+
+    assertEquals(4, ruleset.updateState(grid).size());
+    assertTrue(grid.isAlive(2, 1));
+    assertTrue(grid.isAlive(2, 3));
+    assertFalse(grid.isAlive(1, 2));
+    assertFalse(grid.isAlive(3, 2));
+  }
+
+  @Test
+  void randomSoup_hashLifeMatchesBitPacked_awayFromTheEdges() throws Throwable {
+    // GridV5 has no edges, so keep the soup far enough inside that the bounded engine's
+    // border never comes into play during the run
+    int rows = 64, cols = 64;
+    List<int[]> centred = new ArrayList<>();
+    for (int[] cell : randomSoup(7, 16, 16, 0.4)) {
+      centred.add(new int[]{cell[0] + 24, cell[1] + 24});
+    }
+    int[][] soup = centred.toArray(new int[0][]);
+    ClassicRulesetBitPacked packedRuleset = new ClassicRulesetBitPacked();
+    HashLifeRuleset hashLifeRuleset = new HashLifeRuleset();
+    GridV4 v4Grid = gridV4(rows, cols, soup);
+    GridV5 v5Grid = gridV5(rows, cols, soup);
+
+    for (int tick = 0; tick < 12; tick++) {
+      assertEquals(packedRuleset.updateState(v4Grid).size(), hashLifeRuleset.updateState(v5Grid).size(),
+          "flip count mismatch at tick=" + (tick + 1));
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          assertEquals(v4Grid.isAlive(r, c), v5Grid.isAlive(r, c),
+              "Mismatch at tick=" + (tick + 1) + " row=" + r + " col=" + c);
+        }
+      }
+    }
+  }
+
+  @Test
+  void block_isStillLife_withSparseRuleset() throws Throwable {
+    ClassicRulesetSparse ruleset = new ClassicRulesetSparse();
+    GridV6 grid = gridV6(5, 5,
+        new int[]{1, 1}, new int[]{1, 2},
+        new int[]{2, 1}, new int[]{2, 2});
+
+    for (int tick = 0; tick < 5; tick++) {
+      assertTrue(ruleset.updateState(grid).isEmpty(),
+          "block should produce no changes on tick " + (tick + 1));
+    }
+    assertEquals(4, grid.getAliveCells().size());
+    assertTrue(grid.isAlive(1, 1));
+    assertTrue(grid.isAlive(2, 2));
+  }
+
+  @Test
+  void randomSoup_sparseMatchesHashLife() throws Throwable {
+    // both engines are unbounded, so the soup may touch the window edges
+    int rows = 48, cols = 48;
+    int[][] soup = randomSoup(11, rows, cols, 0.3);
+    ClassicRulesetSparse sparseRuleset = new ClassicRulesetSparse();
+    HashLifeRuleset hashLifeRuleset = new HashLifeRuleset();
+    GridV6 v6Grid = gridV6(rows, cols, soup);
+    GridV5 v5Grid = gridV5(rows, cols, soup);
+
+    for (int tick = 0; tick < 30; tick++) {
+      assertEquals(hashLifeRuleset.updateState(v5Grid).size(), sparseRuleset.updateState(v6Grid).size(),
+          "flip count mismatch at tick=" + (tick + 1));
+      assertEquals(v5Grid.getRoot().getPopulation(), v6Grid.getAliveCells().size(),
+          "population mismatch at tick=" + (tick + 1));
+      for (int r = -20; r < rows + 20; r++) {
+        for (int c = -20; c < cols + 20; c++) {
+          assertEquals(v5Grid.isAlive(r, c), v6Grid.isAlive(r, c),
+              "Mismatch at tick=" + (tick + 1) + " row=" + r + " col=" + c);
+        }
+      }
+    }
+  }
+
+  @Test
+  void randomSoup_stripedMatchesBitPacked() throws Throwable {
+    // enough rows for several stripes, each with halo rows owned by its neighbours
+    int rows = 203, cols = 130;
+    int[][] soup = randomSoup(9, rows, cols, 0.35);
+    ClassicRulesetStriped stripedRuleset = new ClassicRulesetStriped(4);
+    ClassicRulesetBitPacked bitPackedRuleset = new ClassicRulesetBitPacked();
+    GridV4 stripedGrid = gridV4(rows, cols, soup);
+    GridV4 serialGrid = gridV4(rows, cols, soup);
+
+    for (int tick = 0; tick < 40; tick++) {
+      assertEquals(bitPackedRuleset.updateState(serialGrid).size(),
+          stripedRuleset.updateState(stripedGrid).size(),
+          "flip count mismatch at tick=" + (tick + 1));
+      assertArrayEquals(serialGrid.getWords(), stripedGrid.getWords(),
+          "Mismatch at tick=" + (tick + 1));
+    }
+  }
+
+  @Test
+  void randomSoup_blockTableMatchesBitPacked() throws Throwable {
+    // odd row and column counts leave half-filled blocks on the bottom and right edges, and 130
+    // columns put blocks across both word boundaries
+    int rows = 71, cols = 130;
+    int[][] soup = randomSoup(19, rows, cols, 0.4);
+    ClassicRulesetBlockTable blockTableRuleset = new ClassicRulesetBlockTable();
+    ClassicRulesetBitPacked bitPackedRuleset = new ClassicRulesetBitPacked();
+    GridV4 blockTableGrid = gridV4(rows, cols, soup);
+    GridV4 bitPackedGrid = gridV4(rows, cols, soup);
+
+    for (int tick = 0; tick < 40; tick++) {
+      assertEquals(bitPackedRuleset.updateState(bitPackedGrid).size(),
+          blockTableRuleset.updateState(blockTableGrid).size(),
+          "flip count mismatch at tick=" + (tick + 1));
+      assertArrayEquals(bitPackedGrid.getWords(), blockTableGrid.getWords(),
+          "Mismatch at tick=" + (tick + 1));
+    }
+  }
+
+  @Test
+  void block_putsItsTileToSleep_withTiledRuleset() throws Throwable {
+    ClassicRulesetTiled ruleset = new ClassicRulesetTiled();
+    GridV7 grid = gridV7(130, 130,
+        new int[]{1, 1}, new int[]{1, 2},
+        new int[]{2, 1}, new int[]{2, 2});
+    assertEquals(1, grid.getActiveTileCount());
+
+    assertTrue(ruleset.updateState(grid).isEmpty());
+    assertEquals(0, grid.getActiveTileCount(), "a still life should not keep its tile awake");
+    assertTrue(ruleset.updateState(grid).isEmpty());
+    assertEquals(4, grid.getAliveCellsLocations().size());
+  }
+
+  @Test
+  void glider_crossesTileBorders_withTiledRuleset() throws Throwable {
+    ClassicRulesetTiled ruleset = new ClassicRulesetTiled();
+    // starts just above and left of the corner shared by four tiles
+    GridV7 grid = gridV7(130, 130,
+        new int[]{60, 61}, new int[]{61, 62},
+        new int[]{62, 60}, new int[]{62, 61}, new int[]{62, 62});
+
+    for (int tick = 0; tick < 4 * 8; tick++) {
+      ruleset.updateState(grid);
+    }
+    assertEquals(5, grid.getAliveCellsLocations().size());
+    assertTrue(grid.isAlive(68, 69));
+    assertTrue(grid.isAlive(69, 70));
+    assertTrue(grid.isAlive(70, 68));
+    assertTrue(grid.isAlive(70, 69));
+    assertTrue(grid.isAlive(70, 70));
+  }
+
+  @Test
+  void randomSoup_tiledMatchesBitPacked() throws Throwable {
+    // several tiles in each direction, with partial tiles on the bottom and right edges
+    int rows = 150, cols = 200;
+    int[][] soup = randomSoup(5, rows, cols, 0.35);
+    ClassicRulesetTiled tiledRuleset = new ClassicRulesetTiled();
+    ClassicRulesetBitPacked bitPackedRuleset = new ClassicRulesetBitPacked();
+    GridV7 v7Grid = gridV7(rows, cols, soup);
+    GridV4 v4Grid = gridV4(rows, cols, soup);
+
+    for (int tick = 0; tick < 40; tick++) {
+      assertEquals(bitPackedRuleset.updateState(v4Grid).size(), tiledRuleset.updateState(v7Grid).size(),
+          "flip count mismatch at tick=" + (tick + 1));
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          assertEquals(v4Grid.isAlive(r, c), v7Grid.isAlive(r, c),
+              "Mismatch at tick=" + (tick + 1) + " row=" + r + " col=" + c);
+        }
+      }
+    }
+  }
+
+  @Test
+  void blinker_oscillates_withLookupRuleset() throws Throwable {
+    ClassicRulesetLookup ruleset = new ClassicRulesetLookup();
+    // touches the top and left edges, so part of its neighbourhood is border padding
+    GridV8 grid = gridV8(5, 5,
+        new int[]{1, 0}, new int[]{1, 1}, new int[]{1, 2});
+
+    assertEquals(4, ruleset.updateState(grid).size());
+    assertTrue(grid.isAlive(0, 1));
+    assertTrue(grid.isAlive(1, 1));
+    assertTrue(grid.isAlive(2, 1));
+    assertFalse(grid.isAlive(1, 0));
+    assertEquals(4, ruleset.updateState(grid).size());
+    assertTrue(grid.isAlive(1, 0));
+    assertTrue(grid.isAlive(1, 2));
+    assertFalse(grid.isAlive(0, 1));
+  }
+
+  @Test
+  void randomSoup_lookupMatchesBitPacked() throws Throwable {
+    int rows = 70, cols = 90;
+    int[][] soup = randomSoup(13, rows, cols, 0.5);
+    ClassicRulesetLookup lookupRuleset = new ClassicRulesetLookup();
+    ClassicRulesetBitPacked bitPackedRuleset = new ClassicRulesetBitPacked();
+    GridV8 v8Grid = gridV8(rows, cols, soup);
+    GridV4 v4Grid = gridV4(rows, cols, soup);
+
+    for (int tick = 0; tick < 40; tick++) {
+      assertEquals(bitPackedRuleset.updateState(v4Grid).size(), lookupRuleset.updateState(v8Grid).size(),
+          "flip count mismatch at tick=" + (tick + 1));
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          assertEquals(v4Grid.isAlive(r, c), v8Grid.isAlive(r, c),
+              "Mismatch at tick=" + (tick + 1) + " row=" + r + " col=" + c);
+        }
+      }
+    }
+  }
+
+  @Test
+  void randomSoup_vectorizedMatchesLookup() throws Throwable {
+    // exercises whichever kernel is available: SIMD under -Pvector, scalar otherwise.
+    // 203 columns leaves a scalar tail after the last full vector on every lane count
+    int rows = 60, cols = 203;
+    int[][] soup = randomSoup(17, rows, cols, 0.5);
+    ClassicRulesetVectorized vectorizedRuleset = new ClassicRulesetVectorized();
+    ClassicRulesetLookup lookupRuleset = new ClassicRulesetLookup();
+    GridV8 vectorizedGrid = gridV8(rows, cols, soup);
+    GridV8 scalarGrid = gridV8(rows, cols, soup);
+    // with jdk.incubator.vector on the module path (-Pvector) the scalar fallback is a failure
+    assertEquals(vectorModulePresent() ? "VectorStepKernel" : "ScalarStepKernel",
+        vectorizedRuleset.getStepKernel().getClass().getSimpleName());
+
+    for (int tick = 0; tick < 40; tick++) {
+      assertEquals(lookupRuleset.updateState(scalarGrid), vectorizedRuleset.updateState(vectorizedGrid),
+          "flipped cells mismatch at tick=" + (tick + 1) + " with "
+              + vectorizedRuleset.getStepKernel().getClass().getSimpleName());
+      assertArrayEquals(scalarGrid.getCells(), vectorizedGrid.getCells(),
+          "Mismatch at tick=" + (tick + 1));
+    }
+  }
+
+  private static boolean vectorModulePresent() {
+    try {
+      Class.forName("jdk.incubator.vector.IntVector");
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  @Test
+  void randomSoup_offHeapMatchesBitPacked() throws Throwable {
+    int rows = 70, cols = 90;
+    int[][] soup = randomSoup(23, rows, cols, 0.35);
+    ClassicRulesetOffHeap offHeapRuleset = new ClassicRulesetOffHeap();
+    ClassicRulesetBitPacked bitPackedRuleset = new ClassicRulesetBitPacked();
+    GridV9 v9Grid = gridV9(rows, cols, soup);
+    GridV4 v4Grid = gridV4(rows, cols, soup);
+
+    for (int tick = 0; tick < 40; tick++) {
+      assertEquals(bitPackedRuleset.updateState(v4Grid).size(), offHeapRuleset.updateState(v9Grid).size(),
+          "flip count mismatch at tick=" + (tick + 1));
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          assertEquals(v4Grid.isAlive(r, c), v9Grid.isAlive(r, c),
+              "Mismatch at tick=" + (tick + 1) + " row=" + r + " col=" + c);
+        }
+      }
+    }
+  }
+
+  @Test
+  void glider_movesOnBoardBeyondIntIndexes_withOffHeapRuleset() throws Throwable {
+    // 10^10 cells: more than 2^31, and only the chunk the glider lives in is ever allocated
+    ClassicRulesetOffHeap ruleset = new ClassicRulesetOffHeap();
+    int r0 = 60_000, c0 = 70_000;
+    GridV9 grid = gridV9(100_000, 100_000,
+        new int[]{r0, c0 + 1}, new int[]{r0 + 1, c0 + 2},
+        new int[]{r0 + 2, c0}, new int[]{r0 + 2, c0 + 1}, new int[]{r0 + 2, c0 + 2});
+
+    for (int tick = 0; tick < 4; tick++) {
+      ruleset.updateState(grid);
+    }
+    assertTrue(grid.isAlive(r0 + 1, c0 + 2));
+    assertTrue(grid.isAlive(r0 + 2, c0 + 3));
+    assertTrue(grid.isAlive(r0 + 3, c0 + 1));
+    assertTrue(grid.isAlive(r0 + 3, c0 + 2));
+    assertTrue(grid.isAlive(r0 + 3, c0 + 3));
+    assertFalse(grid.isAlive(r0, c0 + 1));
+    assertEquals(5, grid.getNeighbourCount(r0 + 2, c0 + 2));
+    assertTrue(grid.getCells().allocatedBytes() <= 2L << OffHeapByteArray.CHUNK_BITS);
+
+    grid.close();
+    assertEquals(0, grid.getCells().allocatedBytes());
+  }
+
+  // Steps until the detector reports a period (or maxGenerations pass) and returns it, or 0.
+  private int detectPeriod(GridV6 grid, int maxGenerations) {
+    ClassicRulesetSparse ruleset = new ClassicRulesetSparse();
+    ZobristHash hash = new ZobristHash();
+    CycleDetector detector = new CycleDetector();
+    hash.reset(grid.getAliveCellsLocations());
+    detector.record(hash.getHash());
+    for (int tick = 0; tick < maxGenerations; tick++) {
+      hash.update(ruleset.updateState(grid).stream()
+          .map(cell -> (GridCoordinate) cell)
+          .collect(Collectors.toList()));
+      int period = detector.record(hash.getHash());
+      if (period > 0) {
+        return period;
+      }
+    }
+    return 0;
+  }
+
+  @Test
+  void cycleDetector_findsStillLifeAndOscillatorPeriods() throws Throwable {
+    assertEquals(1, detectPeriod(gridV6(10, 10,
+        new int[]{1, 1}, new int[]{1, 2}, new int[]{2, 1}, new int[]{2, 2}), 10));
+    assertEquals(2, detectPeriod(gridV6(10, 10,
+        new int[]{2, 1}, new int[]{2, 2}, new int[]{2, 3}), 10));
+    // a lone glider never repeats a board
+    assertEquals(0, detectPeriod(gridV6(60, 60,
+        new int[]{0, 1}, new int[]{1, 2}, new int[]{2, 0}, new int[]{2, 1}, new int[]{2, 2}), 40));
+  }
+
+  @Test
+  void cycleDetector_findsPentadecathlonPeriod() throws Throwable {
+    // pentadecathlon seed: a row of ten cells settles into the period-15 oscillator
+    int[][] row = new int[10][];
+    for (int i = 0; i < 10; i++) {
+      row[i] = new int[]{20, 15 + i};
+    }
+    assertEquals(15, detectPeriod(gridV6(40, 40, row), 60));
+  }
+
   // ============================================================
   // FACTORY CONFIG BUG: ClassicRuleset + GridV3 is broken.
   //
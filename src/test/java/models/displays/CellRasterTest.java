@@ -0,0 +1,90 @@
+package models.displays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CellRasterTest {
+
+  private static final int BACKGROUND = 0x000000, RED = 0xff0000, GREEN = 0x00ff00;
+  private static final int[] PALETTE = {BACKGROUND, RED, GREEN};
+
+  @Test
+  void eachCellFillsItsSquare() {
+    int[] pixels = new int[6 * 4];
+    CellRaster raster = new CellRaster(pixels, 6, 4, 2, 3, 2, PALETTE);
+    raster.rasterize(new byte[]{1, 0, 2, 0, 2, 0});
+
+    int[] expected = {
+        RED, RED, BACKGROUND, BACKGROUND, GREEN, GREEN,
+        RED, RED, BACKGROUND, BACKGROUND, GREEN, GREEN,
+        BACKGROUND, BACKGROUND, GREEN, GREEN, BACKGROUND, BACKGROUND,
+        BACKGROUND, BACKGROUND, GREEN, GREEN, BACKGROUND, BACKGROUND};
+    assertArrayEquals(expected, pixels);
+  }
+
+  @Test
+  void deadCellsClearPreviousFrame() {
+    int[] pixels = new int[4 * 4];
+    CellRaster raster = new CellRaster(pixels, 4, 4, 2, 2, 2, PALETTE);
+    raster.rasterize(new byte[]{1, 1, 1, 1});
+    raster.rasterize(new byte[]{0, 0, 0, 0});
+    for (int pixel : pixels) {
+      assertEquals(BACKGROUND, pixel);
+    }
+  }
+
+  @Test
+  void cellsPastTheImageEdgeAreClipped() {
+    // 3x3 cells of 2 pixels on a 5x3 image: the last column and row are cut in half
+    int[] pixels = new int[5 * 3];
+    CellRaster raster = new CellRaster(pixels, 5, 3, 3, 3, 2, PALETTE);
+    raster.rasterize(new byte[]{0, 0, 1, 0, 0, 2, 1, 1, 1});
+
+    int[] expected = {
+        BACKGROUND, BACKGROUND, BACKGROUND, BACKGROUND, RED,
+        BACKGROUND, BACKGROUND, BACKGROUND, BACKGROUND, RED,
+        BACKGROUND, BACKGROUND, BACKGROUND, BACKGROUND, GREEN};
+    assertArrayEquals(expected, pixels);
+  }
+
+  @Test
+  void rasterizeCellsRepaintsOnlyTheGivenCells() {
+    int[] pixels = new int[4 * 2];
+    CellRaster raster = new CellRaster(pixels, 4, 2, 1, 2, 2, PALETTE);
+    byte[] cells = {1, 2};
+    raster.rasterize(cells);
+    cells[0] = 0;
+    cells[1] = 1;
+    DirtyRegions regions = new DirtyRegions(1, 2, 2, 4, 2);
+    raster.rasterizeCells(cells, new int[]{1}, 1, regions);
+
+    // cell 0 was not passed in, so it still shows the previous frame
+    assertArrayEquals(new int[]{RED, RED, RED, RED, RED, RED, RED, RED}, pixels);
+    assertFalse(regions.isEmpty());
+  }
+
+  @Test
+  void dirtyRegionsMergeAdjacentTilesInARow() {
+    int tile = DirtyRegions.TILE_SIZE;
+    DirtyRegions regions = new DirtyRegions(tile * 2, tile * 4, 2, tile * 8, tile * 3);
+    regions.mark(0, 0);
+    regions.mark(1, tile + 3);
+    regions.mark(0, tile * 3);
+    regions.mark(tile + 5, tile * 2);
+
+    List<int[]> rectangles = new ArrayList<>();
+    regions.forEachRegion((x, y, width, height) -> rectangles.add(new int[]{x, y, width, height}));
+
+    assertEquals(3, rectangles.size());
+    assertArrayEquals(new int[]{0, 0, tile * 4, tile * 2}, rectangles.get(0));
+    assertArrayEquals(new int[]{tile * 6, 0, tile * 2, tile * 2}, rectangles.get(1));
+    // the second row of tiles is cut off by the image height
+    assertArrayEquals(new int[]{tile * 4, tile * 2, tile * 2, tile}, rectangles.get(2));
+
+    regions.clear();
+    assertTrue(regions.isEmpty());
+  }
+}
@@ -0,0 +1,91 @@
+package models.displays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import models.grid.GridLocation;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoardLocation;
+import org.junit.jupiter.api.Test;
+
+class SnapshotDisplayTest {
+
+  // Keeps a copy of every snapshot it draws, as the render thread would see it.
+  private static class RecordingDisplay extends SnapshotDisplay {
+    byte[] drawnCells;
+    Set<Integer> drawnChanges;
+
+    @Override
+    public void initialize(int rows, int columns, Collection<IBoardLocation> alivePositions, int width, int height) {
+      initializeCells(rows, columns);
+      updateNextFrame(alivePositions.stream()
+          .map(location -> (GridLocation)location).collect(Collectors.toList()));
+    }
+
+    @Override
+    protected void draw(FrameSnapshot snapshot) {
+      drawnCells = snapshot.cells.clone();
+      drawnChanges = new HashSet<>();
+      for (int i = 0; i < snapshot.changed.size(); i++) {
+        drawnChanges.add(snapshot.changed.get(i));
+      }
+    }
+  }
+
+  @Test
+  void skippedFramesAreCarriedIntoTheNextChangedCells() {
+    RecordingDisplay display = new RecordingDisplay();
+    display.initialize(4, 4, Collections.<IBoardLocation>singletonList(new GridLocation(0, 0)), 0, 0);
+    assertTrue(display.render());
+    assertEquals(Collections.singleton(0), display.drawnChanges);
+
+    display.updateNextFrame(Collections.<GridCoordinate>singletonList(new GridLocation(1, 1)));
+    display.updateNextFrame(Collections.<GridCoordinate>singletonList(new GridLocation(2, 2)));
+    display.updateNextFrame(Collections.<GridCoordinate>singletonList(new GridLocation(1, 1)));
+    assertTrue(display.render());
+    assertEquals(new HashSet<>(Arrays.asList(5, 10)), display.drawnChanges);
+    assertEquals(0, display.drawnCells[5]);
+    assertNotEquals(0, display.drawnCells[10]);
+    assertFalse(display.render());
+  }
+
+  @Test
+  void snapshotsMatchTheBoardHoweverOftenTheyAreDrawn() {
+    int rows = 12, columns = 12;
+    Random random = new Random(42);
+    RecordingDisplay display = new RecordingDisplay();
+    display.initialize(rows, columns, Collections.<IBoardLocation>emptyList(), 0, 0);
+    boolean[] alive = new boolean[rows * columns];
+    byte[] onScreen = new byte[rows * columns];
+    for (int generation = 0; generation < 500; generation++) {
+      List<GridCoordinate> flips = new ArrayList<>();
+      Set<Integer> flipped = new HashSet<>();
+      for (int i = random.nextInt(6); i > 0; i--) {
+        int index = random.nextInt(rows * columns);
+        if (flipped.add(index)) {
+          flips.add(new GridLocation(index / columns, index % columns));
+          alive[index] = !alive[index];
+        }
+      }
+      display.updateNextFrame(flips);
+      if (random.nextInt(4) != 0 || !display.render()) {
+        continue;
+      }
+      for (int index = 0; index < alive.length; index++) {
+        assertEquals(alive[index], display.drawnCells[index] != 0);
+        if (display.drawnCells[index] != onScreen[index]) {
+          assertTrue(display.drawnChanges.contains(index));
+        }
+      }
+      onScreen = display.drawnCells;
+    }
+  }
+}
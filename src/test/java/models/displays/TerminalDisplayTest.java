@@ -0,0 +1,57 @@
+package models.displays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import models.displays.TerminalDisplay.Glyphs;
+import models.grid.GridLocation;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoardLocation;
+import org.junit.jupiter.api.Test;
+
+class TerminalDisplayTest {
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+  private String renderedFrame(TerminalDisplay display) {
+    out.reset();
+    assertTrue(display.render());
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void brailleDrawsEightCellsPerCharacter() {
+    TerminalDisplay display = new TerminalDisplay(Glyphs.BRAILLE, out);
+    display.initialize(4, 4, Arrays.<IBoardLocation>asList(
+        new GridLocation(0, 0), new GridLocation(3, 1), new GridLocation(1, 2)), 0, 0);
+
+    // dots 1 and 8 in the first character, dot 2 in the second
+    assertTrue(renderedFrame(display).startsWith("\033[1;1H\u2881\u2802"));
+  }
+
+  @Test
+  void onlyChangedCharactersAreRewritten() {
+    TerminalDisplay display = new TerminalDisplay(Glyphs.HALF_BLOCK, out);
+    display.initialize(2, 20, Arrays.<IBoardLocation>asList(
+        new GridLocation(0, 0), new GridLocation(1, 10)), 0, 0);
+    assertTrue(renderedFrame(display).startsWith("\033[1;1H\u2580\033[1;11H\u2584\033[2;1H"));
+
+    display.updateNextFrame(Collections.<GridCoordinate>singletonList(new GridLocation(0, 10)));
+    String frame = renderedFrame(display);
+    assertTrue(frame.startsWith("\033[1;11H\u2588\033[2;1Hgeneration 1"));
+    assertFalse(frame.contains("\u2580"));
+  }
+
+  @Test
+  void nothingToDrawWithoutANewGeneration() {
+    TerminalDisplay display = new TerminalDisplay(Glyphs.HALF_BLOCK, out);
+    display.initialize(2, 2, Collections.<IBoardLocation>emptyList(), 0, 0);
+    renderedFrame(display);
+    out.reset();
+    assertFalse(display.render());
+    assertEquals(0, out.size());
+  }
+}
@@ -0,0 +1,124 @@
+package models.grid;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import models.configs.BoardFactory;
+import models.configs.GameConfig;
+import models.configs.GameEngine;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardLocation;
+import models.rulesets.GameOfLifeRuleset;
+import org.junit.jupiter.api.Test;
+
+class TopologyTest {
+
+  private static final GameEngine[] WRAPPING_ENGINES = {
+      GameEngine.V2, GameEngine.V3, GameEngine.V8, GameEngine.V8_SIMD, GameEngine.V8_ISOTROPIC,
+      GameEngine.V10};
+
+  // ---- helpers ----
+
+  private List<IBoardLocation> cells(int[]... cells) {
+    List<IBoardLocation> alive = new ArrayList<>();
+    for (int[] cell : cells) {
+      alive.add(new GridLocation(cell[0], cell[1]));
+    }
+    return alive;
+  }
+
+  private List<IBoardLocation> glider() {
+    return cells(new int[]{0, 1}, new int[]{1, 2}, new int[]{2, 0}, new int[]{2, 1}, new int[]{2, 2});
+  }
+
+  // Runs the cells for the given generations on a rows x columns board and returns the survivors.
+  private Set<IBoardLocation> run(GameEngine engine, Topology topology, int rows, int columns,
+      List<IBoardLocation> alive, int generations) throws Throwable {
+    GridConfig gridConfig = GridConfig.builder()
+        .rows(rows).columns(columns).aliveCells(new ArrayList<>(alive)).topology(topology).build();
+    GameOfLifeRuleset ruleset = engine.newRuleset();
+    IBoard board = BoardFactory.createBoard(GameConfig.builder()
+        .rows(rows).columns(columns).boardConfig(gridConfig).ruleset(ruleset)
+        .GridClass(engine.getGridClass()).build());
+    for (int i = 0; i < generations; i++) {
+      ruleset.updateState(board);
+    }
+    return new HashSet<>(board.getAliveCellsLocations());
+  }
+
+  // ---- tests ----
+
+  @Test
+  void gliderComesBackRoundATorus() throws Throwable {
+    // a glider moves one cell diagonally every 4 generations
+    for (GameEngine engine : WRAPPING_ENGINES) {
+      assertEquals(new HashSet<>(glider()), run(engine, Topology.TORUS, 12, 12, glider(), 48),
+          engine.toString());
+    }
+  }
+
+  @Test
+  void gliderBreaksUpAtABoundedEdge() throws Throwable {
+    for (GameEngine engine : WRAPPING_ENGINES) {
+      assertEquals(4, run(engine, Topology.BOUNDED, 12, 12, glider(), 48).size(), engine.toString());
+    }
+  }
+
+  @Test
+  void gliderSurvivesAKleinBottle() throws Throwable {
+    for (GameEngine engine : WRAPPING_ENGINES) {
+      assertEquals(5, run(engine, Topology.KLEIN_BOTTLE, 16, 20, glider(), 256).size(), engine.toString());
+    }
+  }
+
+  @Test
+  void wrappingEnginesAgree() throws Throwable {
+    Random random = new Random(3);
+    List<IBoardLocation> soup = new ArrayList<>();
+    for (int r = 0; r < 30; r++) {
+      for (int c = 0; c < 45; c++) {
+        if (random.nextDouble() < 0.3) {
+          soup.add(new GridLocation(r, c));
+        }
+      }
+    }
+    for (Topology topology : Topology.values()) {
+      Set<IBoardLocation> expected = run(GameEngine.V2, topology, 30, 45, soup, 30);
+      for (GameEngine engine : WRAPPING_ENGINES) {
+        assertEquals(expected, run(engine, topology, 30, 45, soup, 30), engine + " on " + topology);
+      }
+    }
+  }
+
+  @Test
+  void neighboursWrapAcrossEdges() throws Throwable {
+    GridV2 torus = new GridV2(GridConfig.builder().rows(3).columns(4).aliveCells(cells())
+        .topology(Topology.TORUS).build());
+    assertEquals(2 * 4 + 3, torus.adjacentIndex(0, 0, -1, -1));
+    assertEquals(3, torus.adjacentIndex(0, 0, 0, -1));
+    assertEquals(8, torus.getAdjacentCells(torus.getCellAt(new GridLocation(0, 0))).size());
+
+    // crossing the top of a Klein bottle mirrors the column
+    GridV2 klein = new GridV2(GridConfig.builder().rows(3).columns(4).aliveCells(cells())
+        .topology(Topology.KLEIN_BOTTLE).build());
+    assertEquals(2 * 4 + 3, klein.adjacentIndex(0, 0, -1, 0));
+    assertEquals(2 * 4, klein.adjacentIndex(0, 0, -1, -1));
+    assertEquals(3, klein.adjacentIndex(0, 0, 0, -1));
+
+    GridV2 bounded = new GridV2(GridConfig.builder().rows(3).columns(4).aliveCells(cells()).build());
+    assertEquals(-1, bounded.adjacentIndex(0, 0, -1, 0));
+    assertEquals(3, bounded.getAdjacentCells(bounded.getCellAt(new GridLocation(0, 0))).size());
+  }
+
+  @Test
+  void onlyWrappingEnginesSupportTorus() {
+    assertTrue(GameEngine.V8.supports(Topology.TORUS));
+    assertFalse(GameEngine.V4.supports(Topology.TORUS));
+    assertFalse(GameEngine.V5.supports(Topology.KLEIN_BOTTLE));
+    assertTrue(GameEngine.V5.supports(Topology.BOUNDED));
+  }
+}
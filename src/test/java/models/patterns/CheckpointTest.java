@@ -0,0 +1,207 @@
+package models.patterns;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.CRC32;
+import models.configs.BoardFactory;
+import models.configs.GameConfig;
+import models.configs.GameConfigFactory;
+import models.configs.GameEngine;
+import models.generation.config.strategy.CheckpointFileStrategy;
+import models.grid.GridConfig;
+import models.grid.GridLocation;
+import models.grid.GridV3;
+import models.grid.GridV4;
+import models.grid.Topology;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckpointTest {
+
+  @TempDir
+  Path dir;
+
+  // ---- helpers ----
+
+  private Path save(IBoard board, int rows, int cols, long generation) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new CheckpointWriter(bytes).write(board, rows, cols, generation);
+    Path path = dir.resolve("board.ckpt");
+    Files.write(path, bytes.toByteArray());
+    return path;
+  }
+
+  private GameConfig soup(GameEngine engine) {
+    return GameConfigFactory.simpleRandomConfig(0.3, 40, 70, 30, engine);
+  }
+
+  private GridV4 gridV4(int rows, int cols, int[]... aliveCells) throws Throwable {
+    List<IBoardLocation> alive = new ArrayList<>();
+    for (int[] pos : aliveCells) {
+      alive.add(new GridLocation(pos[0], pos[1]));
+    }
+    return new GridV4(GridConfig.builder().rows(rows).columns(cols).aliveCells(alive).build());
+  }
+
+  private List<IBoardLocation> read(CheckpointReader reader) throws IOException {
+    List<IBoardLocation> cells = new ArrayList<>();
+    reader.readCells((row, column) -> cells.add(new GridLocation(row, column)));
+    return cells;
+  }
+
+  private Set<IBoardLocation> alive(IBoard board) {
+    return new HashSet<>(board.getAliveCellsLocations());
+  }
+
+  // ---- tests ----
+
+  @Test
+  void restoresGridV3StateWithoutReplayingTheCells() throws Throwable {
+    GameConfig config = soup(GameEngine.V3);
+    GridV3 original = (GridV3) BoardFactory.createBoard(config);
+    for (int i = 0; i < 10; i++) {
+      config.getRuleset().updateState(original);
+    }
+
+    GameConfig restoredConfig = GameConfigFactory.checkpointFileConfig(save(original, 40, 70, 10), 30, GameEngine.V3);
+    GridV3 restored = (GridV3) BoardFactory.createBoard(restoredConfig);
+
+    assertEquals(alive(original), alive(restored));
+    for (int row = 0; row < 40; row++) {
+      for (int col = 0; col < 70; col++) {
+        assertEquals(original.getCellAt(row, col).getAdjacentAliveNeighbours(),
+            restored.getCellAt(row, col).getAdjacentAliveNeighbours(), "counter at " + row + "," + col);
+      }
+    }
+    assertEquals(original.getUpdateLocations().keySet(), restored.getUpdateLocations().keySet());
+
+    for (int i = 0; i < 20; i++) {
+      config.getRuleset().updateState(original);
+      restoredConfig.getRuleset().updateState(restored);
+    }
+    assertEquals(alive(original), alive(restored));
+  }
+
+  @Test
+  void otherEnginesRestoreFromTheDecodedCells() throws Throwable {
+    GameConfig config = soup(GameEngine.V4);
+    IBoard original = BoardFactory.createBoard(config);
+    config.getRuleset().updateState(original);
+
+    GameConfig restoredConfig = GameConfigFactory.checkpointFileConfig(save(original, 40, 70, 1), 30, GameEngine.V8);
+    IBoard restored = BoardFactory.createBoard(restoredConfig);
+    assertEquals(alive(original), alive(restored));
+  }
+
+  @Test
+  void headerCarriesSizeAndGeneration() throws Throwable {
+    IBoard board = BoardFactory.createBoard(soup(GameEngine.V4));
+    CheckpointReader reader = new CheckpointReader(save(board, 40, 70, 123456789012L));
+    assertEquals(40, reader.getRows());
+    assertEquals(70, reader.getColumns());
+    assertEquals(123456789012L, reader.getGeneration());
+    assertEquals(board.getAliveCellsLocations().size(), reader.getPopulation());
+  }
+
+  @Test
+  void runsAreSmallerThanABitmapForSparseBoards() throws Throwable {
+    // one glider on a 1000 x 1000 board, where a plain bitmap would take 125,000 bytes: 34 bytes
+    // of header and checksum, 3 for the first dead run, 2 for each of the next two and 1 for each
+    // of the three live runs
+    Path path = save(gridV4(1000, 1000, new int[]{500, 501}, new int[]{501, 502},
+        new int[]{502, 500}, new int[]{502, 501}, new int[]{502, 502}), 1000, 1000, 0);
+    assertEquals(34 + 3 + 2 * 2 + 3, Files.size(path));
+  }
+
+  @Test
+  void fullBoardRoundTrips() throws Throwable {
+    IBoard board = BoardFactory.createBoard(GameConfigFactory.simpleRandomConfig(1.0, 9, 13, 30, GameEngine.V4));
+    List<IBoardLocation> cells = read(new CheckpointReader(save(board, 9, 13, 0)));
+    assertEquals(9 * 13, cells.size());
+    assertEquals(new GridLocation(8, 12), cells.get(cells.size() - 1));
+  }
+
+  @Test
+  void topologyRoundTrips() throws Throwable {
+    IBoard board = BoardFactory.createBoard(soup(GameEngine.V4));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new CheckpointWriter(bytes).write(board, 40, 70, Topology.KLEIN_BOTTLE, 7);
+    Path path = dir.resolve("klein.ckpt");
+    Files.write(path, bytes.toByteArray());
+
+    GridConfig restored = CheckpointFileStrategy.builder().path(path).build().getConfig(0, 0);
+    assertEquals(Topology.KLEIN_BOTTLE, restored.getTopology());
+    assertEquals(Topology.BOUNDED, new CheckpointReader(save(board, 40, 70, 7)).getTopology());
+  }
+
+  @Test
+  void versionOneCheckpointsStillLoad() throws Throwable {
+    // version 1 had no topology byte after the population
+    IBoard board = BoardFactory.createBoard(soup(GameEngine.V4));
+    byte[] v2 = Files.readAllBytes(save(board, 40, 70, 7));
+    ByteArrayOutputStream v1 = new ByteArrayOutputStream();
+    v1.write(v2, 0, 29);
+    v1.write(v2, 30, v2.length - 30 - 4);
+    byte[] body = v1.toByteArray();
+    body[4] = 1;
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    Path path = dir.resolve("v1.ckpt");
+    Files.write(path, body);
+    Files.write(path, ByteBuffer.allocate(4).putInt((int) crc.getValue()).array(), StandardOpenOption.APPEND);
+
+    CheckpointReader reader = new CheckpointReader(path);
+    assertEquals(Topology.BOUNDED, reader.getTopology());
+    assertEquals(7, reader.getGeneration());
+    assertEquals(alive(board), new HashSet<>(read(reader)));
+  }
+
+  @Test
+  void readerDoesNotHoldTheFile() throws Throwable {
+    // a run that loads a checkpoint may save over it while the reader is still in use
+    IBoard board = BoardFactory.createBoard(soup(GameEngine.V4));
+    Path path = save(board, 40, 70, 0);
+    CheckpointReader reader = new CheckpointReader(path);
+    Files.write(path, new byte[0]);
+    assertEquals(alive(board), new HashSet<>(read(reader)));
+  }
+
+  @Test
+  void corruptFileIsRejected() throws Throwable {
+    Path path = save(BoardFactory.createBoard(soup(GameEngine.V4)), 40, 70, 0);
+    byte[] bytes = Files.readAllBytes(path);
+    bytes[bytes.length / 2] ^= 0x10;
+    Files.write(path, bytes);
+    IOException e = assertThrows(IOException.class, () -> new CheckpointReader(path));
+    assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+
+    Files.write(path, "x = 3, y = 3\nbo$2bo$3o!\n".getBytes());
+    assertThrows(IOException.class, () -> new CheckpointReader(path));
+  }
+
+  @Test
+  void randomBoardsRoundTrip() throws Throwable {
+    Random random = new Random(7);
+    for (int trial = 0; trial < 20; trial++) {
+      int rows = 1 + random.nextInt(50), cols = 1 + random.nextInt(200);
+      GameConfig config = GameConfigFactory.simpleRandomConfig(random.nextDouble(), rows, cols, 30, GameEngine.V6);
+      IBoard board = BoardFactory.createBoard(config);
+      IBoard restored = BoardFactory.createBoard(
+          GameConfigFactory.checkpointFileConfig(save(board, rows, cols, trial), 30, GameEngine.V6));
+      assertEquals(alive(board), alive(restored));
+    }
+  }
+}
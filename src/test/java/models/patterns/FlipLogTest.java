@@ -0,0 +1,141 @@
+package models.patterns;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import models.configs.BoardFactory;
+import models.configs.GameConfig;
+import models.configs.GameConfigFactory;
+import models.configs.GameEngine;
+import models.grid.GridLocation;
+import models.interfaces.GridCoordinate;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardLocation;
+import org.junit.jupiter.api.Test;
+
+class FlipLogTest {
+
+  private static final int ROWS = 40, COLS = 70, GENERATIONS = 55, KEYFRAME_INTERVAL = 10;
+
+  // ---- helpers ----
+
+  // Records GENERATIONS generations of a soup and returns the log, with the board after each
+  // generation, starting from generation 0, in boards.
+  private byte[] record(List<Set<IBoardLocation>> boards) throws Throwable {
+    GameConfig config = GameConfigFactory.simpleRandomConfig(0.3, ROWS, COLS, 30, GameEngine.V4);
+    IBoard board = BoardFactory.createBoard(config);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    FlipLogWriter writer = new FlipLogWriter(bytes, ROWS, COLS, KEYFRAME_INTERVAL);
+    writer.start(board);
+    boards.add(new HashSet<>(board.getAliveCellsLocations()));
+    for (int i = 0; i < GENERATIONS; i++) {
+      writer.record(config.getRuleset().updateState(board), board);
+      boards.add(new HashSet<>(board.getAliveCellsLocations()));
+    }
+    writer.flush();
+    return bytes.toByteArray();
+  }
+
+  private FlipLogReader reader(byte[] log) throws IOException {
+    return new FlipLogReader(new ByteArrayInputStream(log));
+  }
+
+  private void apply(Set<IBoardLocation> cells, List<GridCoordinate> flips) {
+    for (GridCoordinate flip : flips) {
+      GridLocation location = new GridLocation(flip.getRow(), flip.getColumn());
+      if (!cells.remove(location)) {
+        cells.add(location);
+      }
+    }
+  }
+
+  // ---- tests ----
+
+  @Test
+  void replayMatchesTheRecordedRun() throws Throwable {
+    List<Set<IBoardLocation>> boards = new ArrayList<>();
+    FlipLogReader reader = reader(record(boards));
+    assertEquals(ROWS, reader.getRows());
+    assertEquals(COLS, reader.getColumns());
+
+    Set<IBoardLocation> cells = new HashSet<>(reader.getCells());
+    assertEquals(boards.get(0), cells);
+    for (int generation = 1; generation <= GENERATIONS; generation++) {
+      apply(cells, reader.nextFlips());
+      assertEquals(boards.get(generation), cells, "generation " + generation);
+      assertEquals(generation, reader.getGeneration());
+    }
+    assertNull(reader.nextFlips());
+  }
+
+  @Test
+  void seekLandsOnAnyGeneration() throws Throwable {
+    List<Set<IBoardLocation>> boards = new ArrayList<>();
+    byte[] log = record(boards);
+    for (int target : new int[]{0, 1, 9, 10, 11, 37, 50, GENERATIONS}) {
+      FlipLogReader reader = reader(log);
+      reader.seek(target);
+      assertEquals(target, reader.getGeneration());
+      Set<IBoardLocation> cells = new HashSet<>(reader.getCells());
+      assertEquals(boards.get(target), cells, "seek to " + target);
+      if (target < GENERATIONS) {
+        apply(cells, reader.nextFlips());
+        assertEquals(boards.get(target + 1), cells, "after seek to " + target);
+      }
+    }
+  }
+
+  @Test
+  void seekPastTheEndStopsAtTheLastGeneration() throws Throwable {
+    List<Set<IBoardLocation>> boards = new ArrayList<>();
+    byte[] log = record(boards);
+    FlipLogReader reader = reader(log);
+    reader.seek(GENERATIONS + 3);
+    assertEquals(GENERATIONS, reader.getGeneration());
+    assertEquals(boards.get(GENERATIONS), new HashSet<>(reader.getCells()));
+
+    // the keyframe for 60 was never written, and the records before it were skipped
+    assertThrows(IOException.class, () -> reader(log).seek(GENERATIONS + 5));
+  }
+
+  @Test
+  void logCutShortEndsAtTheLastWholeGeneration() throws Throwable {
+    // the log ends with generation 55's flips, after the keyframe for 50
+    byte[] log = record(new ArrayList<>());
+    FlipLogReader reader = reader(Arrays.copyOf(log, log.length - 3));
+    int generations = 0;
+    while (reader.nextFlips() != null) {
+      generations++;
+    }
+    assertEquals(GENERATIONS - 1, generations);
+  }
+
+  @Test
+  void rejectsACountLargerThanItsRecord() throws Throwable {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(FlipLogWriter.MAGIC);
+    out.writeByte(FlipLogWriter.VERSION);
+    out.writeInt(ROWS);
+    out.writeInt(COLS);
+    out.writeInt(KEYFRAME_INTERVAL);
+    // generation 0 with no live cells, then flips claiming 2^28 - 1 cells in a 4-byte record
+    out.write(new byte[]{FlipLogWriter.KEYFRAME, 2, 0, 0});
+    out.write(new byte[]{FlipLogWriter.FLIPS, 4, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x7f});
+    IOException e = assertThrows(IOException.class, () -> reader(bytes.toByteArray()).nextFlips());
+    assertTrue(e.getMessage().startsWith("bad flip log record"), e.getMessage());
+  }
+
+  @Test
+  void rejectsOtherFiles() {
+    assertThrows(IOException.class, () -> reader("x = 3, y = 3\nbo$2bo$3o!\n".getBytes()));
+  }
+}
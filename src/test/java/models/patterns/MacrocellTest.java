@@ -0,0 +1,142 @@
+package models.patterns;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import models.generation.config.strategy.MacrocellFileStrategy;
+import models.grid.GridConfig;
+import models.grid.GridLocation;
+import models.grid.GridV5;
+import models.grid.QuadNode;
+import models.grid.QuadNodeTable;
+import models.interfaces.IBoardLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MacrocellTest {
+
+  @TempDir
+  Path dir;
+
+  // ---- helpers ----
+
+  private QuadNode read(String macrocell) throws IOException {
+    return new MacrocellReader(new BufferedReader(new StringReader(macrocell)), new QuadNodeTable()).read();
+  }
+
+  private GridV5 gridV5(int rows, int cols, QuadNode universe) throws Throwable {
+    return new GridV5(GridConfig.builder()
+        .rows(rows).columns(cols).aliveCells(new ArrayList<>()).universe(universe).build());
+  }
+
+  private String write(GridV5 grid) throws IOException {
+    StringWriter out = new StringWriter();
+    new MacrocellWriter(out).write(grid, "B3/S23");
+    return out.toString();
+  }
+
+  // ---- tests ----
+
+  @Test
+  void readsLeafAtGollyCoordinates() throws Throwable {
+    // a glider in the top left leaf of a level 4 root, which spans -8..7 on both axes
+    QuadNode root = read("[M2] (golly 4.2)\n#R B3/S23\n$.*$..*$***$\n4 1 0 0 0\n");
+    assertEquals(4, root.getLevel());
+    assertEquals(5, root.getPopulation());
+
+    GridV5 grid = gridV5(4, 4, root);
+    assertTrue(grid.isAlive(-7, -7));
+    assertTrue(grid.isAlive(-6, -6));
+    assertTrue(grid.isAlive(-5, -8));
+    assertTrue(grid.isAlive(-5, -6));
+    assertFalse(grid.isAlive(-7, -8));
+    assertEquals(5, grid.getRoot().getPopulation());
+  }
+
+  @Test
+  void roundTripKeepsEveryCell() throws Throwable {
+    List<IBoardLocation> alive = new ArrayList<>();
+    int[][] cells = {{0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2}, {40, 50}, {41, 50}, {42, 50}, {99, 0}};
+    for (int[] cell : cells) {
+      alive.add(new GridLocation(cell[0], cell[1]));
+    }
+    GridV5 grid = new GridV5(GridConfig.builder().rows(100).columns(100).aliveCells(alive).build());
+
+    GridV5 restored = gridV5(100, 100, read(write(grid)));
+    assertEquals(cells.length, restored.getRoot().getPopulation());
+    for (int[] cell : cells) {
+      assertTrue(restored.isAlive(cell[0], cell[1]));
+    }
+    assertEquals(grid.getAliveCellsLocations().size(), restored.getAliveCellsLocations().size());
+  }
+
+  @Test
+  void identicalRegionsAreWrittenOnce() throws Throwable {
+    // 32 x 32 blocks on a 256 x 256 board: one leaf and one line per level
+    List<IBoardLocation> alive = new ArrayList<>();
+    for (int row = 0; row < 256; row += 8) {
+      for (int column = 0; column < 256; column += 8) {
+        alive.add(new GridLocation(row, column));
+        alive.add(new GridLocation(row, column + 1));
+        alive.add(new GridLocation(row + 1, column));
+        alive.add(new GridLocation(row + 1, column + 1));
+      }
+    }
+    GridV5 grid = new GridV5(GridConfig.builder().rows(256).columns(256).aliveCells(alive).build());
+    String macrocell = write(grid);
+
+    assertTrue(macrocell.split("\n").length < 20, macrocell);
+    assertEquals(4096, read(macrocell).getPopulation());
+  }
+
+  @Test
+  void loadsAndSavesFarMoreCellsThanAnyList() throws Throwable {
+    // a completely live 2^23 x 2^23 square: 21 node lines for 2^46 cells
+    StringBuilder macrocell = new StringBuilder("[M2]\n");
+    macrocell.append("********$********$********$********$********$********$********$********$\n");
+    for (int level = 4; level <= 23; level++) {
+      int child = level - 3;
+      macrocell.append(level).append(' ').append(child).append(' ').append(child).append(' ')
+          .append(child).append(' ').append(child).append('\n');
+    }
+    QuadNode root = read(macrocell.toString());
+    assertEquals(1L << 46, root.getPopulation());
+
+    GridV5 grid = gridV5(10, 10, root);
+    assertEquals(100, grid.getAliveCellsLocations().size());
+    assertEquals(2 + 21, write(grid).split("\n").length);
+  }
+
+  @Test
+  void loadedFileKeepsItsRuleAndGeneration() throws Throwable {
+    GridV5 grid = new GridV5(GridConfig.builder().rows(8).columns(8)
+        .aliveCells(new ArrayList<>(Arrays.asList(
+            new GridLocation(1, 2), new GridLocation(2, 3), new GridLocation(3, 1))))
+        .build());
+    StringWriter out = new StringWriter();
+    new MacrocellWriter(out).write(grid, 1234, "B36/S23");
+    Path path = dir.resolve("saved.mc");
+    Files.write(path, out.toString().getBytes(StandardCharsets.UTF_8));
+
+    GridConfig config = MacrocellFileStrategy.builder().path(path).build().getConfig(8, 8);
+    assertEquals("B36/S23", config.getFileRule());
+    assertEquals(1234, config.getGeneration());
+    // collected from the universe only when asked for, for grids other than GridV5
+    assertEquals(3, config.getAliveCells().size());
+  }
+
+  @Test
+  void rejectsForwardReferences() {
+    assertThrows(IOException.class, () -> read("[M2]\n4 1 0 0 0\n"));
+    assertThrows(IOException.class, () -> read("x = 3, y = 3\nbo$2bo$3o!\n"));
+  }
+}
@@ -0,0 +1,123 @@
+package models.patterns;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RleReaderWriterTest {
+
+  // ---- helpers ----
+
+  private List<String> readCells(String rle, RleReader reader) throws IOException {
+    List<String> cells = new ArrayList<>();
+    reader.readHeader();
+    reader.readCells((row, column) -> cells.add(row + "," + column));
+    return cells;
+  }
+
+  private List<String> readCells(String rle) throws IOException {
+    return readCells(rle, new RleReader(new StringReader(rle)));
+  }
+
+  // ---- reader ----
+
+  @Test
+  void readsGliderWithHeaderAndComments() throws IOException {
+    String rle = "#N Glider\n#C comment\nx = 3, y = 3, rule = B3/S23\nbo$2bo$3o!\n";
+    RleReader reader = new RleReader(new StringReader(rle));
+    List<String> cells = readCells(rle, reader);
+
+    assertEquals(3, reader.getWidth());
+    assertEquals(3, reader.getHeight());
+    assertEquals("B3/S23", reader.getRule());
+    assertEquals(Arrays.asList("0,1", "1,2", "2,0", "2,1", "2,2"), cells);
+  }
+
+  @Test
+  void readsRunCountsAcrossLinesAndBlankRows() throws IOException {
+    // 12 dead then 2 live split over a line break, then 3 row ends
+    String rle = "x = 14, y = 5\n1\n2b2o3$\r\nA.o!";
+    assertEquals(Arrays.asList("0,12", "0,13", "3,0", "3,2"), readCells(rle));
+  }
+
+  @Test
+  void readsRuleWithCommasToTheEndOfTheLine() throws IOException {
+    // Golly's bounded-grid suffix: a 100 x 100 torus
+    RleReader reader = new RleReader(new StringReader("x = 100, y = 100, rule = B3/S23:T100,100\no!"));
+    reader.readHeader();
+    assertEquals(100, reader.getWidth());
+    assertEquals(100, reader.getHeight());
+    assertEquals("B3/S23:T100,100", reader.getRule());
+  }
+
+  @Test
+  void ruleDefaultsToConway() throws IOException {
+    RleReader reader = new RleReader(new StringReader("x = 1, y = 1\no!"));
+    reader.readHeader();
+    assertEquals("B3/S23", reader.getRule());
+  }
+
+  @Test
+  void rejectsBadInput() {
+    assertThrows(IOException.class, () -> readCells("#C only comments\n"));
+    assertThrows(IOException.class, () -> readCells("x = three, y = 1\no!"));
+    assertThrows(IOException.class, () -> readCells("x = 3, , y = 1\no!"));
+    IOException error = assertThrows(IOException.class, () -> readCells("x = 3, y = 2\n3o$\nz!"));
+    assertTrue(error.getMessage().startsWith("RLE line 3"));
+  }
+
+  // ---- writer ----
+
+  @Test
+  void writesGliderLikeGolly() throws IOException {
+    boolean[][] glider = {{false, true, false}, {false, false, true}, {true, true, true}};
+    StringWriter out = new StringWriter();
+    new RleWriter(out).write((row, column) -> glider[row][column], 3, 3, "B3/S23");
+    assertEquals("x = 3, y = 3, rule = B3/S23\nbo$2bo$3o!\n", out.toString());
+  }
+
+  @Test
+  void writerFoldsBlankRowsAndWrapsLines() throws IOException {
+    StringWriter out = new StringWriter();
+    // a live cell at both ends of rows 0 and 4 of a 200-wide board
+    new RleWriter(out).write((row, column) -> (row == 0 || row == 4) && (column == 0 || column == 199),
+        6, 200, "B3/S23");
+    String[] lines = out.toString().split("\n");
+    assertEquals("o198bo4$o198bo!", lines[1]);
+
+    StringWriter wide = new StringWriter();
+    new RleWriter(wide).write((row, column) -> column % 2 == 0, 1, 200, "B3/S23");
+    for (String line : wide.toString().split("\n")) {
+      assertTrue(line.length() <= 70);
+    }
+  }
+
+  @Test
+  void randomBoardSurvivesRoundTrip() throws IOException {
+    Random random = new Random(7);
+    int rows = 300, columns = 500;
+    boolean[][] board = new boolean[rows][columns];
+    Set<String> alive = new HashSet<>();
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        if (random.nextDouble() < 0.3) {
+          board[row][column] = true;
+          alive.add(row + "," + column);
+        }
+      }
+    }
+    StringWriter out = new StringWriter();
+    new RleWriter(out).write((row, column) -> board[row][column], rows, columns, "B3/S23");
+
+    assertEquals(alive, new HashSet<>(readCells(out.toString())));
+  }
+}
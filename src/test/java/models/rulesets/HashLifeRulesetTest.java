@@ -0,0 +1,107 @@
+package models.rulesets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import models.grid.GridConfig;
+import models.grid.GridLocation;
+import models.grid.GridV5;
+import models.grid.QuadNode;
+import models.grid.QuadNodeTable;
+import models.interfaces.IBoardLocation;
+import org.junit.jupiter.api.Test;
+
+class HashLifeRulesetTest {
+
+  // ---- helpers ----
+
+  private GridConfig config(int rows, int cols, int[]... aliveCells) {
+    List<IBoardLocation> alive = new ArrayList<>();
+    for (int[] pos : aliveCells) {
+      alive.add(new GridLocation(pos[0], pos[1]));
+    }
+    return GridConfig.builder().rows(rows).columns(cols).aliveCells(alive).build();
+  }
+
+  private static final int[][] GLIDER = {{0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2}};
+
+  private void assertGliderAt(GridV5 grid, long row, long col) {
+    for (int[] cell : GLIDER) {
+      assertTrue(grid.isAlive(row + cell[0], col + cell[1]),
+          "expected glider cell at " + (row + cell[0]) + "," + (col + cell[1]));
+    }
+    assertEquals(5, grid.getRoot().getPopulation());
+  }
+
+  // ---- node interning ----
+
+  @Test
+  void nodeTable_returnsSameInstance_forIdenticalChildren() {
+    QuadNodeTable table = new QuadNodeTable();
+    QuadNode alive = table.cell(true), dead = table.cell(false);
+    QuadNode first = table.node(alive, dead, dead, alive);
+    QuadNode second = table.node(alive, dead, dead, alive);
+    assertSame(first, second);
+    assertSame(table.empty(5), table.empty(5));
+    assertEquals(0, table.empty(5).getPopulation());
+  }
+
+  // ---- stepping ----
+
+  @Test
+  void glider_movesOneCellDiagonallyEvery4Generations() throws Throwable {
+    GridV5 grid = new GridV5(config(32, 32, GLIDER));
+    HashLifeRuleset ruleset = new HashLifeRuleset();
+    for (int tick = 0; tick < 4; tick++) {
+      ruleset.updateState(grid);
+    }
+    assertEquals(4, grid.getGeneration());
+    assertGliderAt(grid, 1, 1);
+  }
+
+  @Test
+  void jump_advances2PowKGenerations_inOneStep() throws Throwable {
+    GridV5 grid = new GridV5(config(32, 32, GLIDER));
+    new HashLifeRuleset().jump(grid, 10);
+    assertEquals(1024, grid.getGeneration());
+    // the glider has left the 32x32 window but is still simulated
+    assertGliderAt(grid, 256, 256);
+    assertTrue(grid.getAliveCellsLocations().isEmpty());
+  }
+
+  @Test
+  void jump_matchesRepeatedSingleSteps() throws Throwable {
+    int[][] rPentomino = {{10, 11}, {10, 12}, {11, 10}, {11, 11}, {12, 11}};
+    GridV5 jumped = new GridV5(config(24, 24, rPentomino));
+    GridV5 stepped = new GridV5(config(24, 24, rPentomino));
+    HashLifeRuleset ruleset = new HashLifeRuleset();
+
+    ruleset.jump(jumped, 6);
+    for (int tick = 0; tick < 64; tick++) {
+      ruleset.jump(stepped, 0);
+    }
+
+    assertEquals(stepped.getRoot().getPopulation(), jumped.getRoot().getPopulation());
+    for (long r = -40; r < 64; r++) {
+      for (long c = -40; c < 64; c++) {
+        assertEquals(stepped.isAlive(r, c), jumped.isAlive(r, c), "mismatch at " + r + "," + c);
+      }
+    }
+  }
+
+  @Test
+  void collectingTheNodeTable_keepsResultsCorrect() throws Throwable {
+    int[][] rPentomino = {{10, 11}, {10, 12}, {11, 10}, {11, 11}, {12, 11}};
+    GridV5 small = new GridV5(config(24, 24, rPentomino), new QuadNodeTable(64));
+    GridV5 large = new GridV5(config(24, 24, rPentomino));
+    HashLifeRuleset ruleset = new HashLifeRuleset(2);
+
+    for (int tick = 0; tick < 10; tick++) {
+      ruleset.updateState(small);
+      ruleset.updateState(large);
+      assertEquals(large.getRoot().getPopulation(), small.getRoot().getPopulation(),
+          "population mismatch at step " + (tick + 1));
+    }
+  }
+}
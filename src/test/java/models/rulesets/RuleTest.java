@@ -0,0 +1,239 @@
+package models.rulesets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import models.configs.BoardFactory;
+import models.configs.GameConfig;
+import models.configs.GameEngine;
+import models.grid.GridConfig;
+import models.grid.GridLocation;
+import models.grid.GridV8;
+import models.interfaces.IBoard;
+import models.interfaces.IBoardLocation;
+import org.junit.jupiter.api.Test;
+
+class RuleTest {
+
+  private static final int ROWS = 64, COLS = 96, GENERATIONS = 20;
+
+  // ---- helpers ----
+
+  // A soup kept GENERATIONS cells away from the edges, so that nothing reaches them and the
+  // bounded grids agree with the unbounded HashLife universe.
+  private List<IBoardLocation> soup(long seed, double density) {
+    Random random = new Random(seed);
+    List<IBoardLocation> alive = new ArrayList<>();
+    for (int r = GENERATIONS; r < ROWS - GENERATIONS; r++) {
+      for (int c = GENERATIONS; c < COLS - GENERATIONS; c++) {
+        if (random.nextDouble() < density) {
+          alive.add(new GridLocation(r, c));
+        }
+      }
+    }
+    return alive;
+  }
+
+  // Runs the soup for GENERATIONS generations on the engine under the rule.
+  private Set<IBoardLocation> run(GameEngine engine, Rule rule, List<IBoardLocation> soup) throws Throwable {
+    GridConfig gridConfig = GridConfig.builder()
+        .rows(ROWS).columns(COLS).aliveCells(new ArrayList<>(soup)).build();
+    GameConfig config = GameConfig.builder()
+        .rows(ROWS)
+        .columns(COLS)
+        .boardConfig(gridConfig)
+        .rule(rule)
+        .ruleset(engine.newRuleset(rule))
+        .GridClass(engine.getGridClass())
+        .build();
+    IBoard board = BoardFactory.createBoard(config);
+    for (int i = 0; i < GENERATIONS; i++) {
+      config.getRuleset().updateState(board);
+    }
+    return new HashSet<>(board.getAliveCellsLocations());
+  }
+
+  private void assertEnginesAgree(Rule rule, double density) throws Throwable {
+    List<IBoardLocation> soup = soup(11, density);
+    Set<IBoardLocation> expected = run(GameEngine.V2, rule, soup);
+    for (GameEngine engine : GameEngine.values()) {
+      assertTrue(engine.supports(rule), engine + " under " + rule);
+      assertEquals(expected, run(engine, rule, soup), engine + " under " + rule);
+    }
+  }
+
+  // One generation of V8_ISOTROPIC from the given cells on a 12 x 12 board.
+  private Set<IBoardLocation> step(String rule, int[]... cells) throws Throwable {
+    List<IBoardLocation> alive = new ArrayList<>();
+    for (int[] cell : cells) {
+      alive.add(new GridLocation(cell[0], cell[1]));
+    }
+    GridV8 grid = new GridV8(GridConfig.builder().rows(12).columns(12).aliveCells(alive).build());
+    new IsotropicRuleset(Rule.parse(rule)).updateState(grid);
+    return new HashSet<>(grid.getAliveCellsLocations());
+  }
+
+  private Set<IBoardLocation> cells(int[]... cells) {
+    Set<IBoardLocation> set = new HashSet<>();
+    for (int[] cell : cells) {
+      set.add(new GridLocation(cell[0], cell[1]));
+    }
+    return set;
+  }
+
+  // ---- tests ----
+
+  @Test
+  void parsesAndPrintsCanonically() {
+    assertEquals("B3/S23", Rule.parse("B3/S23").toString());
+    assertEquals("B36/S23", Rule.parse(" b63/s32 ").toString());
+    assertEquals("B/S012345678", Rule.parse("B/S876543210").toString());
+    assertEquals(Rule.CONWAY, Rule.parse("b3/s23"));
+    assertNotEquals(Rule.CONWAY, Rule.parse("B36/S23"));
+  }
+
+  @Test
+  void tableHoldsBirthThenSurvival() {
+    Rule highLife = Rule.parse("B36/S23");
+    byte[] table = highLife.getNextStateTable();
+    assertEquals(18, table.length);
+    for (int n = 0; n <= 8; n++) {
+      assertEquals(n == 3 || n == 6 ? 1 : 0, table[n], "birth on " + n);
+      assertEquals(n == 2 || n == 3 ? 1 : 0, table[9 + n], "survival on " + n);
+      assertEquals(table[9 + n], highLife.nextState(1, n));
+    }
+  }
+
+  @Test
+  void rejectsMalformedRules() {
+    for (String rule : new String[]{"", "B3", "S23/B3", "B39/S23", "B3/S2x", "B3/S23/C2"}) {
+      assertThrows(IllegalArgumentException.class, () -> Rule.parse(rule), rule);
+    }
+  }
+
+  @Test
+  void birthOnZeroNeedsAnEngineThatStepsEveryCell() {
+    Rule rule = Rule.parse("B0/S8");
+    assertTrue(rule.isBirthOnZero());
+    assertThrows(IllegalArgumentException.class, () -> GameEngine.V3.newRuleset(rule));
+    assertTrue(GameEngine.V4.newRuleset(rule) instanceof ClassicRulesetBitPacked);
+  }
+
+  @Test
+  void lettersSplitEachCountIntoItsSymmetryClasses() {
+    for (int count = 1; count <= 7; count++) {
+      Set<Character> seen = new HashSet<>();
+      for (int ring = 0; ring < 256; ring++) {
+        if (Integer.bitCount(ring) != count) {
+          continue;
+        }
+        char letter = HenselNotation.letterOf(ring);
+        assertTrue(HenselNotation.letters(count).indexOf(letter) >= 0, count + " " + ring);
+        assertEquals(letter, HenselNotation.letterOf(HenselNotation.rotate(ring)));
+        assertEquals(letter, HenselNotation.letterOf(HenselNotation.reflect(ring)));
+        seen.add(letter);
+      }
+      assertEquals(HenselNotation.letters(count).length(), seen.size(), "classes of " + count);
+    }
+  }
+
+  @Test
+  void parsesHenselLetters() {
+    Rule rule = Rule.parse("B2-a/S12");
+    assertFalse(rule.isTotalistic());
+    assertEquals("B2-a/S12", rule.toString());
+    assertEquals(rule, Rule.parse("b2ceikn/s21"));
+    assertEquals("B2ce3-k/S", Rule.parse("B2ec3acijnqrye/S").toString());
+    assertThrows(IllegalStateException.class, rule::getNextStateTable);
+
+    // every letter of a count is the count itself
+    Rule conway = Rule.parse("B3cekainyqjr/S2cekain3");
+    assertTrue(conway.isTotalistic());
+    assertEquals(Rule.CONWAY, conway);
+    assertEquals("B3/S23", conway.toString());
+  }
+
+  @Test
+  void rejectsMalformedHenselLetters() {
+    for (String rule : new String[]{"B1a/S", "B2-/S", "B0c/S", "Ba/S", "B2x/S"}) {
+      assertThrows(IllegalArgumentException.class, () -> Rule.parse(rule), rule);
+    }
+  }
+
+  @Test
+  void lettersSelectArrangements() throws Throwable {
+    // above and below a domino, the two live neighbours touch (2a)
+    assertEquals(cells(new int[]{4, 5}, new int[]{4, 6}, new int[]{6, 5}, new int[]{6, 6}),
+        step("B2a/S", new int[]{5, 5}, new int[]{5, 6}));
+    assertEquals(cells(), step("B2-a/S", new int[]{5, 5}, new int[]{5, 6}));
+    // between two cells one apart, they are corners on one side (2c) above and below, and
+    // opposite edges (2i) in the gap
+    assertEquals(cells(new int[]{4, 6}, new int[]{6, 6}), step("B2c/S", new int[]{5, 5}, new int[]{5, 7}));
+    assertEquals(cells(new int[]{5, 6}), step("B2i/S", new int[]{5, 5}, new int[]{5, 7}));
+    // a plus (4e) and a cross (4c)
+    assertEquals(cells(new int[]{5, 5}), step("B4e/S",
+        new int[]{4, 5}, new int[]{6, 5}, new int[]{5, 4}, new int[]{5, 6}));
+    assertEquals(cells(new int[]{5, 5}), step("B4c/S",
+        new int[]{4, 4}, new int[]{4, 6}, new int[]{6, 4}, new int[]{6, 6}));
+  }
+
+  @Test
+  void nonTotalisticRulesNeedTheIsotropicEngine() {
+    Rule rule = Rule.parse("B2-a/S12");
+    assertThrows(IllegalArgumentException.class, () -> GameEngine.V8.newRuleset(rule));
+    assertThrows(IllegalArgumentException.class, () -> new ClassicRuleset(rule));
+    assertTrue(GameEngine.V8_ISOTROPIC.newRuleset(rule) instanceof IsotropicRuleset);
+  }
+
+  @Test
+  void isotropicRuleCommutesWithRotation() throws Throwable {
+    Rule rule = Rule.parse("B2-a3j/S12-e");
+    List<IBoardLocation> soup = new ArrayList<>();
+    Random random = new Random(5);
+    for (int r = 0; r < 40; r++) {
+      for (int c = 0; c < 40; c++) {
+        if (random.nextDouble() < 0.15) {
+          soup.add(new GridLocation(r, c));
+        }
+      }
+    }
+    List<IBoardLocation> rotated = new ArrayList<>();
+    for (IBoardLocation location : soup) {
+      GridLocation cell = (GridLocation) location;
+      rotated.add(new GridLocation(cell.getColumn(), 39 - cell.getRow()));
+    }
+    GridV8 grid = new GridV8(GridConfig.builder().rows(40).columns(40).aliveCells(soup).build());
+    GridV8 rotatedGrid = new GridV8(GridConfig.builder().rows(40).columns(40).aliveCells(rotated).build());
+    IsotropicRuleset ruleset = new IsotropicRuleset(rule);
+    for (int i = 0; i < 10; i++) {
+      ruleset.updateState(grid);
+      ruleset.updateState(rotatedGrid);
+    }
+    Set<IBoardLocation> expected = new HashSet<>();
+    for (IBoardLocation location : grid.getAliveCellsLocations()) {
+      GridLocation cell = (GridLocation) location;
+      expected.add(new GridLocation(cell.getColumn(), 39 - cell.getRow()));
+    }
+    assertFalse(expected.isEmpty());
+    assertEquals(expected, new HashSet<>(rotatedGrid.getAliveCellsLocations()));
+  }
+
+  @Test
+  void enginesAgreeOnHighLife() throws Throwable {
+    assertEnginesAgree(Rule.parse("B36/S23"), 0.35);
+  }
+
+  @Test
+  void enginesAgreeOnDayAndNight() throws Throwable {
+    assertEnginesAgree(Rule.parse("B3678/S34678"), 0.5);
+  }
+
+  @Test
+  void enginesAgreeOnConway() throws Throwable {
+    assertEnginesAgree(Rule.CONWAY, 0.3);
+  }
+}
@@ -0,0 +1,75 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void emptyHistogramReportsZero() {
+    LatencyHistogram histogram = new LatencyHistogram("empty");
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(99));
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  void smallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram("small");
+    for (long nanos = 1; nanos <= 20; nanos++) {
+      histogram.record(nanos);
+    }
+    assertEquals(10, histogram.getPercentile(50));
+    assertEquals(20, histogram.getPercentile(100));
+    assertEquals(20, histogram.getMax());
+  }
+
+  @Test
+  void percentilesStayWithinBucketResolution() {
+    LatencyHistogram histogram = new LatencyHistogram("uniform");
+    for (long micros = 1; micros <= 1000; micros++) {
+      histogram.record(micros * 1000);
+    }
+    assertEquals(500_000, histogram.getPercentile(50), 500_000 / 32.0);
+    assertEquals(990_000, histogram.getPercentile(99), 990_000 / 32.0);
+    assertEquals(1_000_000, histogram.getMax());
+    assertTrue(histogram.getPercentile(50) >= 500_000);
+  }
+
+  @Test
+  void bucketsCoverTheWholeLongRange() {
+    LatencyHistogram histogram = new LatencyHistogram("huge");
+    histogram.record(Long.MAX_VALUE);
+    histogram.record(-5);
+    assertEquals(2, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(50));
+    assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+  }
+
+  @Test
+  void resetClearsEverything() {
+    LatencyHistogram histogram = new LatencyHistogram("reset");
+    histogram.record(12_345);
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getPercentile(50));
+  }
+
+  @Test
+  void copyFromTakesTheSourcesCounts() {
+    LatencyHistogram source = new LatencyHistogram("source");
+    for (long nanos = 1; nanos <= 20; nanos++) {
+      source.record(nanos);
+    }
+    LatencyHistogram copy = new LatencyHistogram("copy");
+    copy.record(999);
+    copy.copyFrom(source);
+    source.record(1_000_000);
+    assertEquals(20, copy.getCount());
+    assertEquals(20, copy.getMax());
+    assertEquals(10, copy.getPercentile(50));
+    assertTrue(copy.summary().startsWith("copy: n=20"));
+  }
+}
@@ -0,0 +1,92 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class TripleBufferTest {
+
+  @Test
+  void readerSeesNothingUntilPublished() {
+    TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[1]);
+    assertFalse(buffer.refresh());
+    buffer.getWriteBuffer()[0] = 7;
+    buffer.publish();
+    assertTrue(buffer.refresh());
+    assertEquals(7, buffer.getReadBuffer()[0]);
+    assertFalse(buffer.refresh());
+    assertEquals(7, buffer.getReadBuffer()[0]);
+  }
+
+  @Test
+  void readerGetsTheNewestOfSeveralPublishes() {
+    TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[1]);
+    for (long value = 1; value <= 5; value++) {
+      buffer.getWriteBuffer()[0] = value;
+      buffer.publish();
+    }
+    assertTrue(buffer.refresh());
+    assertEquals(5, buffer.getReadBuffer()[0]);
+  }
+
+  @Test
+  void writerSeesWhetherItsLastPublishWasRead() {
+    TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[1]);
+    assertFalse(buffer.isPublishedUnread());
+    buffer.publish();
+    assertTrue(buffer.isPublishedUnread());
+    buffer.refresh();
+    assertFalse(buffer.isPublishedUnread());
+  }
+
+  @Test
+  void writerNeverTouchesTheReadBuffer() {
+    TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[1]);
+    buffer.getWriteBuffer()[0] = 1;
+    buffer.publish();
+    buffer.refresh();
+    long[] read = buffer.getReadBuffer();
+    for (int i = 0; i < 10; i++) {
+      assertNotSame(read, buffer.getWriteBuffer());
+      buffer.getWriteBuffer()[0] = 100 + i;
+      buffer.publish();
+    }
+    assertEquals(1, read[0]);
+  }
+
+  @Test
+  void concurrentFramesAreNeitherTornNorOutOfOrder() throws InterruptedException {
+    int frames = 200_000;
+    TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[64]);
+    Thread writer = new Thread(() -> {
+      for (long frame = 1; frame <= frames; frame++) {
+        long[] values = buffer.getWriteBuffer();
+        for (int i = 0; i < values.length; i++) {
+          values[i] = frame;
+        }
+        buffer.publish();
+      }
+    });
+    AtomicReference<String> failure = new AtomicReference<>();
+    writer.start();
+    long last = 0;
+    while (last < frames && failure.get() == null) {
+      if (!buffer.refresh()) {
+        continue;
+      }
+      long[] values = buffer.getReadBuffer();
+      for (long value : values) {
+        if (value != values[0]) {
+          failure.set("torn frame " + values[0] + " / " + value);
+        }
+      }
+      if (values[0] <= last) {
+        failure.set("frame " + values[0] + " after " + last);
+      }
+      last = values[0];
+    }
+    writer.join();
+    assertNull(failure.get());
+  }
+}